@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus.registry;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.bus.Event;
+import reactor.bus.EventBus;
+import reactor.core.dispatch.SynchronousDispatcher;
+import reactor.fn.Consumer;
+import reactor.fn.Function;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static reactor.bus.selector.Selectors.$;
+
+/**
+ * {@link EventBus#notify(Object, Event)} throughput with a {@link CachingRegistry}, a {@link SimpleCachingRegistry} or an
+ * {@link IndexedRegistry}, for a varying number of {@code registrations}. Keys are notified in turn so that every
+ * registration is selected, the number of notifying threads is the number of JMH threads (e.g. {@code -t 4}). Events
+ * are notified one by one or in batches with {@link EventBus#notifyAll(Iterable, Function)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryBenchmarks {
+
+	private static final int BATCH_SIZE = 256;
+
+	private static final Function<Event<String>, String> EVENT_DATA = new Function<Event<String>, String>() {
+		@Override
+		public String apply(Event<String> ev) {
+			return ev.getData();
+		}
+	};
+
+	@Param({"CACHING", "SIMPLE_CACHING", "INDEXED"})
+	public String registry;
+
+	@Param({"1", "100", "10000"})
+	public int registrations;
+
+	private EventBus      eventBus;
+	private Object[]      keys;
+	private Event<String> event;
+
+	@Setup
+	public void setup() {
+		Registry<Consumer<? extends Event<?>>> consumerRegistry;
+		if ("CACHING".equals(registry)) {
+			consumerRegistry = new CachingRegistry<Consumer<? extends Event<?>>>(true, true, null);
+		} else if ("INDEXED".equals(registry)) {
+			consumerRegistry = new IndexedRegistry<Consumer<? extends Event<?>>>(null);
+		} else {
+			consumerRegistry = new SimpleCachingRegistry<Consumer<? extends Event<?>>>(true, true, null);
+		}
+		eventBus = new EventBus(consumerRegistry, SynchronousDispatcher.INSTANCE, null, null, null);
+
+		keys = new Object[registrations];
+		for (int i = 0; i < registrations; i++) {
+			keys[i] = "key-" + i;
+			eventBus.on($(keys[i]), new Consumer<Event<String>>() {
+				@Override
+				public void accept(Event<String> ev) {
+					Blackhole.consumeCPU(1);
+				}
+			});
+		}
+		event = Event.wrap("benchmark");
+	}
+
+	@Benchmark
+	public EventBus notifyKey(KeyIndex index) {
+		return eventBus.notify(keys[index.next(keys.length)], event);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public EventBus notifyAllKeys(KeyIndex index) {
+		List<Event<String>> batch = index.batch;
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			batch.set(i, Event.wrap(keys[index.next(keys.length)].toString()));
+		}
+		return eventBus.notifyAll(batch, EVENT_DATA);
+	}
+
+	@State(Scope.Thread)
+	public static class KeyIndex {
+		private final List<Event<String>> batch = new ArrayList<Event<String>>(Collections.nCopies(BATCH_SIZE,
+				(Event<String>) null));
+
+		private int index;
+
+		int next(int size) {
+			if (++index >= size) {
+				index = 0;
+			}
+			return index;
+		}
+	}
+
+}
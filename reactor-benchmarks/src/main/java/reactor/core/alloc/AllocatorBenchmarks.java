@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.alloc;
+
+import org.openjdk.jmh.annotations.*;
+import reactor.fn.Supplier;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation and release throughput of the {@link Allocator} implementations in {@code reactor.core.alloc}. The
+ * number of concurrent allocating threads is the number of JMH threads (e.g. {@code -t 4}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllocatorBenchmarks {
+
+	@Param({"RING_BUFFER", "REFERENCE_COUNTING", "STRIPED"})
+	public String allocator;
+
+	@Param({"1024", "8192"})
+	public int poolSize;
+
+	@Param({"16"})
+	public int batchSize;
+
+	private Allocator<Pooled> pool;
+
+	@Setup
+	public void setup() {
+		Supplier<Pooled> factory = new Supplier<Pooled>() {
+			@Override
+			public Pooled get() {
+				return new Pooled();
+			}
+		};
+		if ("RING_BUFFER".equals(allocator)) {
+			RingBufferAllocator<Pooled> ringBufferAllocator = new RingBufferAllocator<Pooled>("benchmark", poolSize, factory);
+			ringBufferAllocator.start();
+			pool = ringBufferAllocator;
+		} else if ("STRIPED".equals(allocator)) {
+			pool = new StripedAllocator<Pooled>(poolSize, factory);
+		} else {
+			pool = new ReferenceCountingAllocator<Pooled>(poolSize, factory);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (pool instanceof RingBufferAllocator) {
+			((RingBufferAllocator) pool).shutdown();
+		}
+	}
+
+	@Benchmark
+	public Reference<Pooled> allocateAndRelease() {
+		Reference<Pooled> ref = pool.allocate();
+		ref.release();
+		return ref;
+	}
+
+	@Benchmark
+	public List<Reference<Pooled>> allocateAndReleaseBatch() {
+		List<Reference<Pooled>> refs = pool.allocateBatch(batchSize);
+		pool.release(refs);
+		return refs;
+	}
+
+	public static final class Pooled implements Recyclable {
+		long value;
+
+		@Override
+		public void recycle() {
+			value = 0;
+		}
+	}
+
+}
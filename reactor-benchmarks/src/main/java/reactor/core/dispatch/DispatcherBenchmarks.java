@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.dispatch;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.Environment;
+import reactor.core.Dispatcher;
+import reactor.core.config.DispatcherType;
+import reactor.fn.Consumer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producer side throughput of every {@link Dispatcher} in {@code reactor.core.dispatch}. The number of producers is
+ * the number of JMH threads (e.g. {@code -t 4}), the ring size is the {@code backlog} parameter and the cost of each
+ * task is {@code work} {@link Blackhole#consumeCPU(long) CPU tokens}, so uneven task sizes can be simulated by
+ * comparing several values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatcherBenchmarks {
+
+	@Param({"SYNCHRONOUS", "TAIL_RECURSE", "RING_BUFFER", "MPSC", "WORK_QUEUE", "WORK_STEALING",
+			"THREAD_POOL_EXECUTOR"})
+	public String type;
+
+	@Param({"1024", "8192"})
+	public int backlog;
+
+	@Param({"4"})
+	public int consumers;
+
+	@Param({"0", "100"})
+	public int work;
+
+	@Param({"64"})
+	public int batchSize;
+
+	private Dispatcher       dispatcher;
+	private Consumer<Object> consumer;
+	private List<Object>     batch;
+
+	@Setup
+	public void setup() {
+		if ("TAIL_RECURSE".equals(type)) {
+			dispatcher = new TailRecurseDispatcher();
+		} else {
+			dispatcher = Environment.newDispatcher(backlog, consumers, DispatcherType.valueOf(type));
+		}
+
+		final long tokens = work;
+		consumer = new Consumer<Object>() {
+			@Override
+			public void accept(Object o) {
+				Blackhole.consumeCPU(tokens);
+			}
+		};
+
+		batch = new ArrayList<Object>(batchSize);
+		for (int i = 0; i < batchSize; i++) {
+			batch.add(i);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		dispatcher.awaitAndShutdown(5, TimeUnit.SECONDS);
+	}
+
+	@Benchmark
+	public void dispatch() {
+		dispatcher.dispatch(this, consumer, null);
+	}
+
+	@Benchmark
+	public void dispatchAll() {
+		dispatcher.dispatchAll(batch, consumer, null);
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn.timer;
+
+import org.openjdk.jmh.annotations.*;
+import reactor.fn.Consumer;
+import reactor.fn.Pausable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registration and cancellation cost of {@link HashWheelTimer} and {@link HierarchicalWheelTimer} timeouts while
+ * {@code outstanding} other timeouts are pending, the number of scheduling threads is the number of JMH threads (e.g.
+ * {@code -t 4}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerBenchmarks {
+
+	@Param({"HASH_WHEEL", "HIERARCHICAL_WHEEL"})
+	public String type;
+
+	@Param({"10"})
+	public int resolution;
+
+	@Param({"512"})
+	public int wheelSize;
+
+	@Param({"0", "100000"})
+	public int outstanding;
+
+	private Timer          timer;
+	private Consumer<Long> consumer;
+
+	@Setup
+	public void setup() {
+		if ("HIERARCHICAL_WHEEL".equals(type)) {
+			timer = new HierarchicalWheelTimer(resolution, wheelSize, new HashWheelTimer.SleepWait());
+		} else {
+			timer = new HashWheelTimer(resolution, wheelSize, new HashWheelTimer.SleepWait());
+		}
+		consumer = new Consumer<Long>() {
+			@Override
+			public void accept(Long now) {
+			}
+		};
+		for (int i = 0; i < outstanding; i++) {
+			timer.submit(consumer, 1, TimeUnit.HOURS);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		timer.cancel();
+	}
+
+	@Benchmark
+	public Pausable submitAndCancel() {
+		return timer.submit(consumer, 30, TimeUnit.SECONDS).cancel();
+	}
+
+	@Benchmark
+	public Pausable scheduleAndCancel() {
+		return timer.schedule(consumer, 30, TimeUnit.SECONDS, 100).cancel();
+	}
+
+}
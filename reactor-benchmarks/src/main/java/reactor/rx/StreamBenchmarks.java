@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.rx;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.fn.Consumer;
+import reactor.fn.Function;
+import reactor.fn.Predicate;
+import reactor.rx.stream.GroupedStream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of common synchronous {@link reactor.rx.Stream} chains over {@code elements} values. Each invocation
+ * assembles and drains a whole pipeline, so results are in pipelines per millisecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamBenchmarks {
+
+	@Param({"1000"})
+	public int elements;
+
+	@Param({"32"})
+	public int bufferSize;
+
+	@Param({"8"})
+	public int groups;
+
+	private List<Integer> values;
+
+	private final Function<Integer, Integer> increment = new Function<Integer, Integer>() {
+		@Override
+		public Integer apply(Integer i) {
+			return i + 1;
+		}
+	};
+
+	private final Predicate<Integer> even = new Predicate<Integer>() {
+		@Override
+		public boolean test(Integer i) {
+			return (i & 1) == 0;
+		}
+	};
+
+	@Setup
+	public void setup() {
+		values = new ArrayList<Integer>(elements);
+		for (int i = 0; i < elements; i++) {
+			values.add(i);
+		}
+	}
+
+	@Benchmark
+	public void mapFilter(final Blackhole bh) {
+		Streams.from(values)
+				.map(increment)
+				.filter(even)
+				.consume(sink(bh));
+	}
+
+	@Benchmark
+	public void buffer(final Blackhole bh) {
+		Streams.from(values)
+				.buffer(bufferSize)
+				.consume(sink(bh));
+	}
+
+	@Benchmark
+	public void groupBy(final Blackhole bh) {
+		final int modulo = groups;
+		Streams.from(values)
+				.groupBy(new Function<Integer, Integer>() {
+					@Override
+					public Integer apply(Integer i) {
+						return i % modulo;
+					}
+				})
+				.consume(new Consumer<GroupedStream<Integer, Integer>>() {
+					@Override
+					public void accept(GroupedStream<Integer, Integer> group) {
+						group.consume(sink(bh));
+					}
+				});
+	}
+
+	private static <T> Consumer<T> sink(final Blackhole bh) {
+		return new Consumer<T>() {
+			@Override
+			public void accept(T t) {
+				bh.consume(t);
+			}
+		};
+	}
+
+}
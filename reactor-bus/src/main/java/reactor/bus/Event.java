@@ -17,6 +17,7 @@
 package reactor.bus;
 
 import reactor.core.alloc.Recyclable;
+import reactor.core.alloc.Reference;
 import reactor.core.support.Assert;
 import reactor.core.support.UUIDUtils;
 import reactor.fn.Consumer;
@@ -25,9 +26,14 @@ import reactor.fn.tuple.Tuple2;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Wrapper for an object that needs to be processed by {@link reactor.fn.Consumer}s.
+ * <p>
+ * An event allocated from a {@link reactor.bus.alloc.EventAllocator} by {@link EventBus#notify(Object, Object,
+ * reactor.bus.alloc.EventAllocator)} is recycled once routed. A consumer keeping it beyond its {@code accept} method
+ * must {@link #retain()} it, then {@link #release()} it when done.
  *
  * @param <T>
  *     The type of the wrapped object
@@ -39,7 +45,16 @@ import java.util.*;
 public class Event<T> implements Serializable, Recyclable {
 
   private static final long serialVersionUID = -2476263092040373361L;
+
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<Event, UUID>    ID      =
+      AtomicReferenceFieldUpdater.newUpdater(Event.class, UUID.class, "id");
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<Event, Headers> HEADERS =
+      AtomicReferenceFieldUpdater.newUpdater(Event.class, Headers.class, "headers");
+
   private final transient Consumer<Throwable> errorConsumer;
+  private transient       Reference<Event<T>> reference;
   private volatile        UUID                id;
   private volatile        Headers             headers;
   private volatile        Object              replyTo;
@@ -132,9 +147,12 @@ public class Event<T> implements Serializable, Recyclable {
    *
    * @return Unique {@link UUID} of this event.
    */
-  public synchronized UUID getId() {
+  @SuppressWarnings("unchecked")
+  public UUID getId() {
+    UUID id = this.id;
     if (null == id) {
-      id = UUIDUtils.create();
+      ID.compareAndSet(this, null, UUIDUtils.create());
+      id = this.id;
     }
     return id;
   }
@@ -144,9 +162,12 @@ public class Event<T> implements Serializable, Recyclable {
    *
    * @return The Event's Headers
    */
-  public synchronized Headers getHeaders() {
+  @SuppressWarnings("unchecked")
+  public Headers getHeaders() {
+    Headers headers = this.headers;
     if (null == headers) {
-      headers = new Headers();
+      HEADERS.compareAndSet(this, null, new Headers());
+      headers = this.headers;
     }
     return headers;
   }
@@ -261,11 +282,41 @@ public class Event<T> implements Serializable, Recyclable {
     }
   }
 
+  /**
+   * Keep this event from being recycled once routed, if it's pooled, until it's {@link #release() released}.
+   *
+   * @return {@literal this}
+   */
+  public Event<T> retain() {
+    Reference<Event<T>> reference = this.reference;
+    if (null != reference) {
+      reference.retain();
+    }
+    return this;
+  }
+
+  /**
+   * Release this event, which is recycled once every {@link #retain() retain} has been released, if it's pooled.
+   */
+  public void release() {
+    Reference<Event<T>> reference = this.reference;
+    if (null != reference) {
+      reference.release();
+    }
+  }
+
+  /**
+   * Attach this event to the pool {@link Reference} it has been allocated from.
+   */
+  void setReference(Reference<Event<T>> reference) {
+    this.reference = reference;
+  }
+
   @Override
   public void recycle() {
     this.id = null;
     if (null != this.headers) {
-      this.headers.headers.clear();
+      this.headers.clear();
     }
     this.replyTo = null;
     this.key = null;
@@ -293,6 +344,9 @@ public class Event<T> implements Serializable, Recyclable {
   /**
    * Headers are a Map-like structure of name-value pairs. Header names are case-insensitive, as determined by {@link
    * String#CASE_INSENSITIVE_ORDER}. A header can be removed by setting its value to {@code null}.
+   * <p>
+   * Headers are kept in a flat array of name-value pairs sorted by name, which is replaced as a whole on every change.
+   * Reading headers is lock-free and never sees a partial change, updating them is lock-free as well.
    */
   public static class Headers implements Serializable, Iterable<Tuple2<String, Object>> {
 
@@ -305,19 +359,22 @@ public class Event<T> implements Serializable, Recyclable {
      */
     public static final String ORIGIN = "x-reactor-origin";
 
-    private static final long serialVersionUID = 4984692586458514948L;
+    // the serialized form changed from a monitor and a map to an array of entries
+    private static final long serialVersionUID = -6147562380614785384L;
 
-    private final Object monitor = UUIDUtils.create();
-    private final Map<String, Object> headers;
+    private static final Object[] EMPTY = new Object[0];
 
-    private Headers(boolean sealed, Map<String, Object> headers) {
-      Map<String, Object> copy = new TreeMap<String, Object>(String.CASE_INSENSITIVE_ORDER);
-      copyHeaders(headers, copy);
-      if (sealed) {
-        this.headers = Collections.unmodifiableMap(copy);
-      } else {
-        this.headers = copy;
-      }
+    private static final AtomicReferenceFieldUpdater<Headers, Object[]> ENTRIES =
+        AtomicReferenceFieldUpdater.newUpdater(Headers.class, Object[].class, "entries");
+
+    private final boolean sealed;
+
+    // name-value pairs sorted by name, never modified once published
+    private volatile Object[] entries = EMPTY;
+
+    private Headers(boolean sealed, Object[] entries) {
+      this.sealed = sealed;
+      this.entries = entries;
     }
 
     /**
@@ -328,14 +385,14 @@ public class Event<T> implements Serializable, Recyclable {
      *     The map to copy.
      */
     public Headers(Map<String, Object> headers) {
-      this(false, headers);
+      this(false, with(EMPTY, headers));
     }
 
     /**
      * Create an empty Headers
      */
     public Headers() {
-      this(false, null);
+      this(false, EMPTY);
     }
 
     /**
@@ -350,11 +407,12 @@ public class Event<T> implements Serializable, Recyclable {
     public Headers setAll(Map<String, Object> headers) {
       if (null == headers || headers.isEmpty()) {
         return this;
-      } else {
-        synchronized (this.monitor) {
-          copyHeaders(headers, this.headers);
-        }
       }
+      checkNotSealed();
+      Object[] current;
+      do {
+        current = entries;
+      } while (!ENTRIES.compareAndSet(this, current, with(current, headers)));
       return this;
     }
 
@@ -369,9 +427,11 @@ public class Event<T> implements Serializable, Recyclable {
      * @return {@code this}
      */
     public <V> Headers set(String name, V value) {
-      synchronized (this.monitor) {
-        setHeader(name, value, headers);
-      }
+      checkNotSealed();
+      Object[] current;
+      do {
+        current = entries;
+      } while (!ENTRIES.compareAndSet(this, current, with(current, name, value)));
       return this;
     }
 
@@ -395,9 +455,7 @@ public class Event<T> implements Serializable, Recyclable {
      * @return The origin header, may be {@code null}.
      */
     public String getOrigin() {
-      synchronized (this.monitor) {
-        return (String) headers.get(ORIGIN);
-      }
+      return get(ORIGIN);
     }
 
     /**
@@ -410,10 +468,7 @@ public class Event<T> implements Serializable, Recyclable {
      * @return {@code this}
      */
     public Headers setOrigin(String id) {
-      synchronized (this.monitor) {
-        setHeader(ORIGIN, id, headers);
-      }
-      return this;
+      return set(ORIGIN, id);
     }
 
     /**
@@ -426,9 +481,9 @@ public class Event<T> implements Serializable, Recyclable {
      */
     @SuppressWarnings("unchecked")
     public <V> V get(String name) {
-      synchronized (monitor) {
-        return (V) headers.get(name);
-      }
+      Object[] entries = this.entries;
+      int i = indexOf(entries, name);
+      return i >= 0 ? (V) entries[2 * i + 1] : null;
     }
 
     /**
@@ -440,9 +495,7 @@ public class Event<T> implements Serializable, Recyclable {
      * @return {@code true} if a value exists, {@code false} otherwise.
      */
     public boolean contains(String name) {
-      synchronized (monitor) {
-        return headers.containsKey(name);
-      }
+      return indexOf(entries, name) >= 0;
     }
 
     /**
@@ -451,9 +504,12 @@ public class Event<T> implements Serializable, Recyclable {
      * @return The unmodifiable header map
      */
     public Map<String, Object> asMap() {
-      synchronized (monitor) {
-        return Collections.unmodifiableMap(headers);
+      Object[] entries = this.entries;
+      Map<String, Object> map = new TreeMap<String, Object>(String.CASE_INSENSITIVE_ORDER);
+      for (int i = 0; i < entries.length; i += 2) {
+        map.put((String) entries[i], entries[i + 1]);
       }
+      return Collections.unmodifiableMap(map);
     }
 
     /**
@@ -462,9 +518,7 @@ public class Event<T> implements Serializable, Recyclable {
      * @return A read-only version of the headers.
      */
     public Headers readOnly() {
-      synchronized (monitor) {
-        return new Headers(true, headers);
-      }
+      return new Headers(true, entries);
     }
 
     /**
@@ -472,34 +526,111 @@ public class Event<T> implements Serializable, Recyclable {
      */
     @Override
     public Iterator<Tuple2<String, Object>> iterator() {
-      synchronized (this.monitor) {
-        List<Tuple2<String, Object>> headers = new ArrayList<Tuple2<String, Object>>(this.headers.size());
-        for (Map.Entry<String, Object> header : this.headers.entrySet()) {
-          headers.add(Tuple.of(header.getKey(), header.getValue()));
+      final Object[] entries = this.entries;
+      return new Iterator<Tuple2<String, Object>>() {
+        int i = 0;
+
+        @Override
+        public boolean hasNext() {
+          return i < entries.length;
         }
-        return Collections.unmodifiableList(headers).iterator();
-      }
+
+        @Override
+        public Tuple2<String, Object> next() {
+          if (i >= entries.length) {
+            throw new NoSuchElementException();
+          }
+          Tuple2<String, Object> header = Tuple.of((String) entries[i], entries[i + 1]);
+          i += 2;
+          return header;
+        }
+
+        @Override
+        public void remove() {
+          throw new UnsupportedOperationException();
+        }
+      };
     }
 
     @Override
     public String toString() {
-      return headers.toString();
+      Object[] entries = this.entries;
+      StringBuilder sb = new StringBuilder("{");
+      for (int i = 0; i < entries.length; i += 2) {
+        if (i > 0) {
+          sb.append(", ");
+        }
+        sb.append(entries[i]).append('=').append(entries[i + 1]);
+      }
+      return sb.append('}').toString();
+    }
+
+    void clear() {
+      entries = EMPTY;
     }
 
-    private void copyHeaders(Map<String, Object> source, Map<String, Object> target) {
-      if (source != null) {
-        for (Map.Entry<String, Object> entry : source.entrySet()) {
-          setHeader(entry.getKey(), entry.getValue(), target);
+    private void checkNotSealed() {
+      if (sealed) {
+        throw new UnsupportedOperationException("These headers are read-only");
+      }
+    }
+
+    private static Object[] with(Object[] entries, Map<String, Object> headers) {
+      if (null != headers) {
+        for (Map.Entry<String, Object> entry : headers.entrySet()) {
+          entries = with(entries, entry.getKey(), entry.getValue());
         }
       }
+      return entries;
     }
 
-    private void setHeader(String name, Object value, Map<String, Object> target) {
-      if (value == null) {
-        target.remove(name);
+    /**
+     * Return a copy of {@code entries} with the header {@code name} set to {@code value}, or removed if {@code value}
+     * is {@code null}.
+     */
+    private static Object[] with(Object[] entries, String name, Object value) {
+      int i = indexOf(entries, name);
+      Object[] updated;
+      if (i >= 0) {
+        if (null == value) {
+          updated = new Object[entries.length - 2];
+          System.arraycopy(entries, 0, updated, 0, 2 * i);
+          System.arraycopy(entries, 2 * i + 2, updated, 2 * i, entries.length - 2 * i - 2);
+        } else {
+          updated = entries.clone();
+          updated[2 * i + 1] = value;
+        }
+      } else if (null == value) {
+        return entries;
       } else {
-        target.put(name, value);
+        i = -(i + 1);
+        updated = new Object[entries.length + 2];
+        System.arraycopy(entries, 0, updated, 0, 2 * i);
+        updated[2 * i] = name;
+        updated[2 * i + 1] = value;
+        System.arraycopy(entries, 2 * i, updated, 2 * i + 2, entries.length - 2 * i);
+      }
+      return updated;
+    }
+
+    /**
+     * Return the index of the pair named {@code name}, or {@code -(insertion index) - 1} if there's none.
+     */
+    private static int indexOf(Object[] entries, String name) {
+      int low = 0;
+      int high = entries.length / 2 - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        int cmp = String.CASE_INSENSITIVE_ORDER.compare((String) entries[2 * mid], name);
+        if (cmp < 0) {
+          low = mid + 1;
+        } else if (cmp > 0) {
+          high = mid - 1;
+        } else {
+          return mid;
+        }
       }
+      return -(low + 1);
     }
   }
 
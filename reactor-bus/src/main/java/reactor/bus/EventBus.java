@@ -22,6 +22,7 @@ import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.Environment;
+import reactor.bus.alloc.EventAllocator;
 import reactor.bus.filter.PassThroughFilter;
 import reactor.bus.publisher.BusPublisher;
 import reactor.bus.registry.CachingRegistry;
@@ -35,6 +36,8 @@ import reactor.bus.selector.Selector;
 import reactor.bus.selector.Selectors;
 import reactor.bus.spec.EventBusSpec;
 import reactor.core.Dispatcher;
+import reactor.core.alloc.Reference;
+import reactor.core.dispatch.PartitionedDispatcher;
 import reactor.core.dispatch.SynchronousDispatcher;
 import reactor.core.support.Assert;
 import reactor.core.support.UUIDUtils;
@@ -47,7 +50,10 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -73,6 +79,8 @@ public class EventBus implements Bus<Event<?>>, Consumer<Event<?>> {
 	private final Router                                 router;
 	private final Consumer<Throwable>                    dispatchErrorHandler;
 	private final Consumer<Throwable>                    uncaughtErrorHandler;
+	private final Consumer<List<Event<?>>>               batchRouter = new BatchRouter();
+	private final Consumer<Event<?>>                     pooledRouter = new PooledRouter();
 
 	private volatile UUID id;
 
@@ -361,6 +369,22 @@ public class EventBus implements Bus<Event<?>>, Consumer<Event<?>> {
 		return new BusPublisher<>(this, broadcastSelector);
 	}
 
+	/**
+	 * Attach a Publisher to the {@link Bus} with the specified {@link Selector}, buffering up to {@code bufferSize}
+	 * events for each subscriber that doesn't request them fast enough.
+	 *
+	 * @param broadcastSelector the {@link Selector}/{@literal Object} tuple to listen to
+	 * @param bufferSize        the number of events to buffer for each subscriber
+	 * @param overflowStrategy  what to do with events arriving when a subscriber buffer is full
+	 * @return a new {@link BusPublisher}
+	 * @since 2.0
+	 */
+	public BusPublisher<Event<?>> on(Selector broadcastSelector,
+	                                 int bufferSize,
+	                                 BusPublisher.OverflowStrategy overflowStrategy) {
+		return new BusPublisher<Event<?>>(this, broadcastSelector, bufferSize, overflowStrategy);
+	}
+
 	@Override
 	public EventBus notify(Object key, Event<?> ev) {
 		Assert.notNull(key, "Key cannot be null.");
@@ -371,6 +395,108 @@ public class EventBus implements Bus<Event<?>>, Consumer<Event<?>> {
 		return this;
 	}
 
+	/**
+	 * Notify this component that the given {@code data} is ready to be processed, wrapped in an {@link Event}
+	 * allocated from {@code allocator} rather than created. The event is recycled as soon as it has been routed, unless
+	 * a consumer {@link Event#retain() retained} it, in which case it's recycled once released.
+	 *
+	 * @param key       The key to be matched by {@link Selector Selectors}
+	 * @param data      The data to route
+	 * @param allocator The allocator of the event wrapping the data
+	 * @return {@literal this}
+	 * @since 2.0
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> EventBus notify(Object key, T data, EventAllocator allocator) {
+		Assert.notNull(key, "Key cannot be null.");
+		Assert.notNull(data, "Data cannot be null.");
+		Assert.notNull(allocator, "Event allocator cannot be null.");
+		Reference<Event<T>> ref = allocator.get((Class<T>) data.getClass());
+		Event<T> ev = ref.get();
+		ev.setReference(ref);
+		ev.setKey(key);
+		ev.setData(data);
+		try {
+			dispatcher.dispatch(ev, pooledRouter, dispatchErrorHandler);
+		} catch (RuntimeException e) {
+			ref.release();
+			throw e;
+		}
+		return this;
+	}
+
+	/**
+	 * Notify this component that the given {@link Event Events} are ready to be processed. The whole batch is
+	 * dispatched as a single task and the {@link Registration Registrations} matching {@code key} are selected once for
+	 * all of them, so consumers registered while the batch is routed won't receive its remaining events.
+	 *
+	 * @param key    The key to be matched by {@link Selector Selectors}
+	 * @param events The {@literal Events} to route in order
+	 * @return {@literal this}
+	 * @since 2.0
+	 */
+	public EventBus notifyAll(Object key, Iterable<? extends Event<?>> events) {
+		Assert.notNull(key, "Key cannot be null.");
+		Assert.notNull(events, "Events cannot be null.");
+		List<Event<?>> batch = new ArrayList<Event<?>>();
+		for (Event<?> ev : events) {
+			Assert.notNull(ev, "Event cannot be null.");
+			ev.setKey(key);
+			batch.add(ev);
+		}
+		return dispatchBatch(batch);
+	}
+
+	/**
+	 * Notify this component that the given {@link Event Events} are ready to be processed, each one with the key
+	 * {@code keyMapper} returns for it. The whole batch is dispatched as a single task and the {@link Registration
+	 * Registrations} matching each distinct key are selected once for all the events with that key.
+	 *
+	 * @param events    The {@literal Events} to route in order
+	 * @param keyMapper The function returning the key to be matched by {@link Selector Selectors} for an event
+	 * @return {@literal this}
+	 * @since 2.0
+	 */
+	public <E extends Event<?>> EventBus notifyAll(Iterable<E> events, Function<? super E, ?> keyMapper) {
+		Assert.notNull(events, "Events cannot be null.");
+		Assert.notNull(keyMapper, "Key mapper cannot be null.");
+		List<Event<?>> batch = new ArrayList<Event<?>>();
+		Object key;
+		for (E ev : events) {
+			Assert.notNull(ev, "Event cannot be null.");
+			Assert.notNull(key = keyMapper.apply(ev), "Key cannot be null.");
+			ev.setKey(key);
+			batch.add(ev);
+		}
+		return dispatchBatch(batch);
+	}
+
+	private EventBus dispatchBatch(List<Event<?>> batch) {
+		if (batch.isEmpty()) {
+			return this;
+		}
+		if (dispatcher instanceof PartitionedDispatcher) {
+			// split the batch so that each event is routed on the partition of its key
+			PartitionedDispatcher partitioned = (PartitionedDispatcher) dispatcher;
+			List<Event<?>>[] batches = new List[partitioned.partitions()];
+			for (Event<?> ev : batch) {
+				int partition = partitioned.partition(ev.getKey());
+				if (null == batches[partition]) {
+					batches[partition] = new ArrayList<Event<?>>();
+				}
+				batches[partition].add(ev);
+			}
+			for (int i = 0; i < batches.length; i++) {
+				if (null != batches[i]) {
+					partitioned.getPartition(i).dispatch(batches[i], batchRouter, dispatchErrorHandler);
+				}
+			}
+		} else {
+			dispatcher.dispatch(batch, batchRouter, dispatchErrorHandler);
+		}
+		return this;
+	}
+
 	/**
 	 * Pass values accepted by this {@code Stream} into the given {@link Bus}, notifying with the given key.
 	 *
@@ -592,6 +718,46 @@ public class EventBus implements Bus<Event<?>>, Consumer<Event<?>> {
 		router.route(event.getKey(), event, consumerRegistry.select(event.getKey()), null, dispatchErrorHandler);
 	}
 
+	private final class PooledRouter implements Consumer<Event<?>> {
+		@Override
+		public void accept(Event<?> ev) {
+			try {
+				EventBus.this.accept(ev);
+			} finally {
+				ev.release();
+			}
+		}
+	}
+
+	private final class BatchRouter implements Consumer<List<Event<?>>> {
+		@Override
+		public void accept(List<Event<?>> batch) {
+			Object lastKey = null;
+			List<Registration<? extends Consumer<? extends Event<?>>>> regs = null;
+			Map<Object, List<Registration<? extends Consumer<? extends Event<?>>>>> selections = null;
+
+			int size = batch.size();
+			for (int i = 0; i < size; i++) {
+				Event<?> ev = batch.get(i);
+				Object key = ev.getKey();
+				if (null == regs || !key.equals(lastKey)) {
+					if (null != regs) {
+						if (null == selections) {
+							selections = new HashMap<Object, List<Registration<? extends Consumer<? extends Event<?>>>>>();
+						}
+						selections.put(lastKey, regs);
+						regs = selections.get(key);
+					}
+					if (null == regs) {
+						regs = consumerRegistry.select(key);
+					}
+					lastKey = key;
+				}
+				router.route(key, ev, regs, null, dispatchErrorHandler);
+			}
+		}
+	}
+
 	public static class ReplyToEvent<T> extends Event<T> {
 		private static final long serialVersionUID = 1937884784799135647L;
 		private final Bus replyToObservable;
@@ -19,7 +19,7 @@ package reactor.bus.alloc;
 import reactor.bus.Event;
 import reactor.core.alloc.Allocator;
 import reactor.core.alloc.Reference;
-import reactor.core.alloc.ReferenceCountingAllocator;
+import reactor.core.alloc.StripedAllocator;
 
 import java.util.HashMap;
 
@@ -82,7 +82,7 @@ public abstract class EventAllocator {
   protected abstract <T> Allocator<Event<T>> makeAllocator(Class<T> klass);
 
   /**
-   * Default Event Allocator, uses {@link reactor.core.alloc.ReferenceCountingAllocator} for
+   * Default Event Allocator, uses {@link reactor.core.alloc.StripedAllocator} for
    * allocating and recycling events.
    *
    * @return newly constructed event alloator.
@@ -92,7 +92,7 @@ public abstract class EventAllocator {
       @SuppressWarnings("unchecked")
       @Override
       protected <T> Allocator<Event<T>> makeAllocator(Class<T> klass) {
-        return new ReferenceCountingAllocator<Event<T>>(new EventFactorySupplier(klass));
+        return new StripedAllocator<Event<T>>(new EventFactorySupplier(klass));
       }
     };
   }
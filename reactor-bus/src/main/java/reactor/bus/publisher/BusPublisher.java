@@ -19,21 +19,35 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.bus.Bus;
-import reactor.bus.EventBus;
+import reactor.bus.Event;
 import reactor.bus.registry.Registration;
 import reactor.bus.selector.Selector;
-import reactor.core.Dispatcher;
-import reactor.core.dispatch.SynchronousDispatcher;
-import reactor.core.reactivestreams.SerializedSubscriber;
+import reactor.core.support.Assert;
+import reactor.core.support.SpecificationExceptions;
 import reactor.fn.Consumer;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Emit signals whenever an Event arrives from the {@link reactor.bus.selector.Selector} topic from the {@link
  * reactor.bus.Bus}.
  * This stream will never emit a {@link org.reactivestreams.Subscriber#onComplete()}.
  * <p>
+ * Each {@link Subscriber} gets events as it {@link Subscription#request(long) requests} them. Events arriving faster
+ * than it requests are kept in a bounded buffer, and handled according to an {@link OverflowStrategy} once this buffer
+ * is full. A buffered {@link Event} is {@link Event#retain() retained} until it's delivered or dropped, so pooled
+ * events aren't recycled while they wait. The {@link BusSubscription#getLag() lag} of every subscriber can be inspected with {@link
+ * #getSubscriptions()}.
+ * <p>
  * Create such stream with the provided factory, E.g.:
  * <pre>
  * {@code
@@ -45,49 +59,83 @@ import javax.annotation.Nonnull;
  */
 public final class BusPublisher<T> implements Publisher<T> {
 
-	private final Selector      selector;
-	private final Bus<T> observable;
-	private final boolean    ordering;
+	/**
+	 * The default number of events buffered for each subscriber. Can be configured using the {@code
+	 * reactor.bus.publisher.bufferSize} system property. Defaults to 1024.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = Integer.parseInt(
+			System.getProperty("reactor.bus.publisher.bufferSize", "" + 1024)
+	);
+
+	/**
+	 * What to do with an event arriving when a subscriber buffer is full.
+	 */
+	public enum OverflowStrategy {
+		/**
+		 * Drop the oldest buffered event to make room for the new one
+		 */
+		DROP_OLDEST,
+		/**
+		 * Drop the new event
+		 */
+		DROP_NEWEST,
+		/**
+		 * Cancel the subscription and signal an {@link IllegalStateException} to the subscriber
+		 */
+		FAIL,
+		/**
+		 * Block the thread routing the event until the subscriber requests more. This blocks the {@link
+		 * reactor.core.Dispatcher} of the {@link Bus}, which must not be the one the subscriber requests from.
+		 */
+		BLOCK
+	}
+
+	private final Selector              selector;
+	private final Bus<T>                observable;
+	private final int                   bufferSize;
+	private final OverflowStrategy      overflowStrategy;
+	private final List<BusSubscription> subscriptions = new CopyOnWriteArrayList<BusSubscription>();
 
 
 	public BusPublisher(final @Nonnull Bus<T> observable,
 	                    final @Nonnull Selector selector) {
+		this(observable, selector, DEFAULT_BUFFER_SIZE, OverflowStrategy.FAIL);
+	}
 
+	/**
+	 * Create a {@link BusPublisher} buffering up to {@code bufferSize} events for each subscriber.
+	 *
+	 * @param observable       the {@link Bus} to listen to
+	 * @param selector         the {@link Selector} of the events to publish
+	 * @param bufferSize       the number of events to buffer for each subscriber
+	 * @param overflowStrategy what to do with events arriving when a subscriber buffer is full
+	 */
+	public BusPublisher(final @Nonnull Bus<T> observable,
+	                    final @Nonnull Selector selector,
+	                    int bufferSize,
+	                    final @Nonnull OverflowStrategy overflowStrategy) {
+		Assert.isTrue(bufferSize > 0, "The buffer size must be strictly positive");
 		this.selector = selector;
 		this.observable = observable;
-		Dispatcher dispatcher = EventBus.class.isAssignableFrom(observable.getClass()) ?
-				((EventBus)observable).getDispatcher() : SynchronousDispatcher.INSTANCE;
-		this.ordering = dispatcher.supportsOrdering();
+		this.bufferSize = bufferSize;
+		this.overflowStrategy = overflowStrategy;
 	}
 
 	@Override
 	public void subscribe(Subscriber<? super T> s) {
-		final Subscriber<? super T> subscriber;
-		if(!ordering) {
-			subscriber = SerializedSubscriber.create(s);
-		}else{
-			subscriber = s;
-		}
-
-		subscriber.onSubscribe(new Subscription() {
-
-			final Registration<Consumer<? extends T>> registration = observable.on(selector, new Consumer<T>() {
-				@Override
-				public void accept(T event) {
-					subscriber.onNext(event);
-				}
-			});
-
-			@Override
-			public void request(long n) {
-				//IGNORE
-			}
+		BusSubscription subscription = new BusSubscription(s);
+		subscriptions.add(subscription);
+		subscription.registration = observable.on(selector, subscription);
+		s.onSubscribe(subscription);
+	}
 
-			@Override
-			public void cancel() {
-				registration.cancel();
-			}
-		});
+	/**
+	 * Return the active subscriptions, to monitor how far behind each subscriber is.
+	 *
+	 * @return the active {@link BusSubscription BusSubscriptions}
+	 */
+	public List<BusSubscription> getSubscriptions() {
+		return Collections.unmodifiableList(new ArrayList<BusSubscription>(subscriptions));
 	}
 
 	@Override
@@ -95,6 +143,221 @@ public final class BusPublisher<T> implements Publisher<T> {
 		return "BusPublisher{" +
 				"selector=" + selector +
 				", bus=" + observable +
+				", bufferSize=" + bufferSize +
+				", overflowStrategy=" + overflowStrategy +
 				'}';
 	}
+
+	/**
+	 * The {@link Subscription} of a single {@link Subscriber}, which buffers its events until they're requested.
+	 * Signals to the subscriber are serialized, whichever thread routes an event or requests more.
+	 */
+	public final class BusSubscription implements Subscription, Consumer<T> {
+
+		private final Subscriber<? super T> subscriber;
+		private final ArrayDeque<T>         buffer;
+		private final ReentrantLock         lock      = new ReentrantLock();
+		private final Condition             notFull   = lock.newCondition();
+		private final AtomicLong            requested = new AtomicLong();
+		private final AtomicInteger         wip       = new AtomicInteger();
+		private final AtomicLong            dropped   = new AtomicLong();
+
+		private volatile Registration<?> registration;
+		private volatile boolean         cancelled;
+		private volatile Throwable       error;
+
+		BusSubscription(Subscriber<? super T> subscriber) {
+			this.subscriber = subscriber;
+			this.buffer = new ArrayDeque<T>(Math.min(bufferSize, 16));
+		}
+
+		@Override
+		public void accept(T event) {
+			if (cancelled) {
+				return;
+			}
+			lock.lock();
+			try {
+				if (buffer.size() >= bufferSize) {
+					switch (overflowStrategy) {
+						case DROP_OLDEST:
+							release(buffer.pollFirst());
+							dropped.incrementAndGet();
+							break;
+						case DROP_NEWEST:
+							dropped.incrementAndGet();
+							return;
+						case FAIL:
+							if (null == error) {
+								error = new IllegalStateException("The buffer of " + subscriber + " is full (" + bufferSize +
+										" events), it can't keep up with " + selector);
+							}
+							break;
+						case BLOCK:
+							while (buffer.size() >= bufferSize && !cancelled) {
+								notFull.awaitUninterruptibly();
+							}
+							break;
+					}
+				}
+				if (!cancelled && null == error) {
+					retain(event);
+					buffer.offerLast(event);
+				}
+			} finally {
+				lock.unlock();
+			}
+			drain();
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0l) {
+				if (null == error) {
+					error = SpecificationExceptions.spec_3_09_exception(n);
+				}
+			} else {
+				long r, u;
+				do {
+					r = requested.get();
+					u = r + n;
+					if (u < 0l) {
+						u = Long.MAX_VALUE;
+					}
+				} while (!requested.compareAndSet(r, u));
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			if (cancelled) {
+				return;
+			}
+			cancelled = true;
+			Registration<?> registration = this.registration;
+			if (null != registration) {
+				registration.cancel();
+			}
+			subscriptions.remove(this);
+			lock.lock();
+			try {
+				T event;
+				while (null != (event = buffer.pollFirst())) {
+					release(event);
+				}
+				notFull.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Return the number of events routed to the subscriber but not yet delivered because it didn't request them.
+		 *
+		 * @return the number of buffered events
+		 */
+		public int getLag() {
+			lock.lock();
+			try {
+				return buffer.size();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Return the number of events dropped because the buffer was full.
+		 *
+		 * @return the number of dropped events
+		 */
+		public long getDropped() {
+			return dropped.get();
+		}
+
+		/**
+		 * Return the number of events requested by the subscriber and not delivered yet.
+		 *
+		 * @return the outstanding demand
+		 */
+		public long getRequested() {
+			return requested.get();
+		}
+
+		public Subscriber<? super T> getSubscriber() {
+			return subscriber;
+		}
+
+		private void drain() {
+			if (wip.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			for (; ; ) {
+				if (cancelled) {
+					return;
+				}
+				Throwable e = error;
+				if (null != e) {
+					cancel();
+					subscriber.onError(e);
+					return;
+				}
+
+				long r = requested.get();
+				long emitted = 0l;
+				while (emitted != r && !cancelled) {
+					T event;
+					lock.lock();
+					try {
+						event = buffer.pollFirst();
+						if (null != event && overflowStrategy == OverflowStrategy.BLOCK) {
+							notFull.signal();
+						}
+					} finally {
+						lock.unlock();
+					}
+					if (null == event) {
+						break;
+					}
+					try {
+						subscriber.onNext(event);
+					} finally {
+						release(event);
+					}
+					emitted++;
+				}
+				if (emitted != 0l && r != Long.MAX_VALUE) {
+					requested.addAndGet(-emitted);
+				}
+
+				missed = wip.addAndGet(-missed);
+				if (missed == 0) {
+					return;
+				}
+			}
+		}
+
+		private void retain(T event) {
+			if (event instanceof Event) {
+				((Event<?>) event).retain();
+			}
+		}
+
+		private void release(T event) {
+			if (event instanceof Event) {
+				((Event<?>) event).release();
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "BusSubscription{" +
+					"subscriber=" + subscriber +
+					", lag=" + getLag() +
+					", requested=" + requested +
+					", dropped=" + dropped +
+					'}';
+		}
+	}
 }
@@ -20,37 +20,45 @@ import com.gs.collections.api.block.procedure.Procedure;
 import com.gs.collections.api.list.MutableList;
 import com.gs.collections.impl.list.mutable.FastList;
 import com.gs.collections.impl.list.mutable.MultiReaderFastList;
-import com.gs.collections.impl.map.mutable.UnifiedMap;
 import reactor.bus.selector.Selector;
 import reactor.fn.Consumer;
-import reactor.jarjar.jsr166e.ConcurrentHashMapV8;
 
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Implementation of {@link Registry} that uses a partitioned cache that partitions on thread
- * id.
+ * Implementation of {@link Registry} that caches selections in a size-bounded cache shared by all threads. Registering
+ * or removing a {@link Registration} only invalidates the cached selections it affects.
  *
  * @author Jon Brisbin
  */
 public class CachingRegistry<T> implements Registry<T> {
 
-	private final NewThreadLocalRegsFn newThreadLocalRegsFn = new NewThreadLocalRegsFn();
-
-	private final boolean                                                                        useCache;
-	private final boolean                                                                        cacheNotFound;
-	private final Consumer<Object>                                                               onNotFound;
-	private final MultiReaderFastList<Registration<? extends T>>                                 registrations;
-	private final ConcurrentHashMapV8<Long, UnifiedMap<Object, List<Registration<? extends T>>>> threadLocalCache;
+	/**
+	 * The default maximum number of cached selections. Can be configured using the {@code
+	 * reactor.bus.registry.cacheSize} system property. Defaults to 8192.
+	 */
+	public static final int DEFAULT_CACHE_SIZE = Integer.parseInt(
+			System.getProperty("reactor.bus.registry.cacheSize", "" + 8192)
+	);
+
+	private final boolean                                        useCache;
+	private final boolean                                        cacheNotFound;
+	private final Consumer<Object>                               onNotFound;
+	private final MultiReaderFastList<Registration<? extends T>> registrations;
+	private final SelectionCache<T>                              cache;
+
+	CachingRegistry(boolean useCache, boolean cacheNotFound, Consumer<Object> onNotFound) {
+		this(useCache, cacheNotFound, onNotFound, DEFAULT_CACHE_SIZE);
+	}
 
-	 CachingRegistry(boolean useCache, boolean cacheNotFound, Consumer<Object> onNotFound) {
+	CachingRegistry(boolean useCache, boolean cacheNotFound, Consumer<Object> onNotFound, int cacheSize) {
 		this.useCache = useCache;
 		this.cacheNotFound = cacheNotFound;
 		this.onNotFound = onNotFound;
 		this.registrations = MultiReaderFastList.newList();
-		this.threadLocalCache = new ConcurrentHashMapV8<Long, UnifiedMap<Object, List<Registration<? extends T>>>>();
+		this.cache = new SelectionCache<T>(cacheSize);
 	}
 
 	@Override
@@ -66,7 +74,7 @@ public class CachingRegistry<T> implements Registry<T> {
 			}
 		});
 		if (useCache) {
-			threadLocalCache.clear();
+			cache.invalidate(sel);
 		}
 
 		return reg;
@@ -86,11 +94,11 @@ public class CachingRegistry<T> implements Registry<T> {
 					if (reg.getSelector().matches(key)) {
 						registrationIterator.remove();
 						modified.compareAndSet(false, true);
+						if (useCache) {
+							cache.invalidate(reg);
+						}
 					}
 				}
-				if (useCache && modified.get()) {
-					threadLocalCache.clear();
-				}
 			}
 		});
 		return modified.get();
@@ -99,17 +107,15 @@ public class CachingRegistry<T> implements Registry<T> {
 	@Override
 	@SuppressWarnings("unchecked")
 	public List<Registration<? extends T>> select(Object key) {
-		// use a thread-local cache
-		UnifiedMap<Object, List<Registration<? extends T>>> allRegs = threadLocalRegs();
-
 		// maybe pull Registrations from cache for this key
 		List<Registration<? extends T>> selectedRegs = null;
-		if (useCache && (null != (selectedRegs = allRegs.get(key)))) {
+		if (useCache && (null != (selectedRegs = cache.get(key)))) {
 			return selectedRegs;
 		}
 
 		// cache not used or cache miss
 		cacheMiss(key);
+		long generation = cache.generation();
 		selectedRegs = FastList.newList();
 
 		// find Registrations based on Selector
@@ -119,7 +125,7 @@ public class CachingRegistry<T> implements Registry<T> {
 			}
 		}
 		if (useCache && (!selectedRegs.isEmpty() || cacheNotFound)) {
-			allRegs.put(key, selectedRegs);
+			cache.put(key, selectedRegs, generation);
 		}
 
 		// nothing found, maybe invoke handler
@@ -134,7 +140,7 @@ public class CachingRegistry<T> implements Registry<T> {
 	@Override
 	public void clear() {
 		registrations.clear();
-		threadLocalCache.clear();
+		cache.clear();
 	}
 
 	@Override
@@ -142,16 +148,43 @@ public class CachingRegistry<T> implements Registry<T> {
 		return FastList.newList(registrations).iterator();
 	}
 
-	protected void cacheMiss(Object key) {
+	/**
+	 * Return the number of selections served from the cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getCacheHits() {
+		return cache.hits();
 	}
 
-	private UnifiedMap<Object, List<Registration<? extends T>>> threadLocalRegs() {
-		Long threadId = Thread.currentThread().getId();
-		UnifiedMap<Object, List<Registration<? extends T>>> regs;
-		if (null == (regs = threadLocalCache.get(threadId))) {
-			regs = threadLocalCache.computeIfAbsent(threadId, newThreadLocalRegsFn);
-		}
-		return regs;
+	/**
+	 * Return the number of selections that weren't cached.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getCacheMisses() {
+		return cache.misses();
+	}
+
+	/**
+	 * Return the number of selections evicted from the cache to keep it within its maximum size.
+	 *
+	 * @return the number of cache evictions
+	 */
+	public long getCacheEvictions() {
+		return cache.evictions();
+	}
+
+	/**
+	 * Return the number of selections currently cached.
+	 *
+	 * @return the cache size
+	 */
+	public long getCacheSize() {
+		return cache.size();
+	}
+
+	protected void cacheMiss(Object key) {
 	}
 
 	private final class RemoveRegistration implements Runnable {
@@ -162,19 +195,12 @@ public class CachingRegistry<T> implements Registry<T> {
 			registrations.withWriteLockAndDelegate(new Procedure<MutableList<Registration<? extends T>>>() {
 				@Override
 				public void value(MutableList<Registration<? extends T>> regs) {
-					regs.remove(reg);
-					threadLocalCache.clear();
+					if (regs.remove(reg) && useCache) {
+						cache.invalidate(reg);
+					}
 				}
 			});
 		}
 	}
 
-	private final class NewThreadLocalRegsFn
-			implements ConcurrentHashMapV8.Fun<Long, UnifiedMap<Object, List<Registration<? extends T>>>> {
-		@Override
-		public UnifiedMap<Object, List<Registration<? extends T>>> apply(Long aLong) {
-			return UnifiedMap.newMap();
-		}
-	}
-
 }
@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus.registry;
+
+import reactor.bus.selector.ClassSelector;
+import reactor.bus.selector.ObjectSelector;
+import reactor.bus.selector.Selector;
+import reactor.bus.selector.UriPathSelector;
+import reactor.bus.selector.UriPathTemplate;
+import reactor.fn.Consumer;
+import reactor.jarjar.jsr166e.ConcurrentHashMapV8;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of {@link Registry} that indexes {@link Registration Registrations} by the kind of their {@link
+ * Selector} so that selecting a key doesn't need to test every {@link Selector}:
+ * <ul>
+ * <li>plain {@link ObjectSelector ObjectSelectors} are looked up by their object in a hash index,</li>
+ * <li>{@link ClassSelector ClassSelectors} are looked up by each type of the key's class hierarchy,</li>
+ * <li>{@link UriPathSelector UriPathSelectors} are merged into a trie of their leading path segments, either literal
+ * or whole {@code {name}} variables, which is walked along the segments of the key,</li>
+ * <li>any other {@link Selector} is tested in turn.</li>
+ * </ul>
+ * Selected {@link Registration Registrations} are returned in registration order, as a list that must not be modified.
+ * Registering and unregistering are serialized, selecting is lock-free.
+ *
+ * @since 2.0
+ */
+public class IndexedRegistry<T> implements Registry<T> {
+
+	private static final Pattern LITERAL_SEGMENT  = Pattern.compile("[\\w\\-~%]*");
+	private static final Pattern VARIABLE_SEGMENT = Pattern.compile("\\{[^/{}]+\\}");
+
+	private final ConcurrentHashMapV8<Object, List<Registration<? extends T>>>   objects      =
+			new ConcurrentHashMapV8<Object, List<Registration<? extends T>>>();
+	private final ConcurrentHashMapV8<Class<?>, List<Registration<? extends T>>> types        =
+			new ConcurrentHashMapV8<Class<?>, List<Registration<? extends T>>>();
+	private final ConcurrentHashMapV8<Class<?>, Class<?>[]>                      hierarchies  =
+			new ConcurrentHashMapV8<Class<?>, Class<?>[]>();
+	private final List<Registration<? extends T>>                                others       =
+			new CopyOnWriteArrayList<Registration<? extends T>>();
+	private final PathNode                                                       paths        = new PathNode();
+	private final Object                                                         monitor      = new Object();
+	private final Comparator<Registration<?>>                                    order        =
+			new Comparator<Registration<?>>() {
+				@Override
+				public int compare(Registration<?> r1, Registration<?> r2) {
+					long o1 = ((IndexedRegistration<?>) r1).order;
+					long o2 = ((IndexedRegistration<?>) r2).order;
+					return o1 < o2 ? -1 : (o1 == o2 ? 0 : 1);
+				}
+			};
+	private final Consumer<Object>                                               onNotFound;
+
+	private long nextOrder;
+
+	IndexedRegistry(Consumer<Object> onNotFound) {
+		this.onNotFound = onNotFound;
+	}
+
+	@Override
+	public Registration<T> register(Selector sel, T obj) {
+		synchronized (monitor) {
+			IndexedRegistration<T> reg = new IndexedRegistration<T>(this, sel, obj, nextOrder++);
+			index(reg).add(reg);
+			return reg;
+		}
+	}
+
+	@Override
+	public boolean unregister(Object key) {
+		synchronized (monitor) {
+			List<Registration<? extends T>> regs = select(key, false);
+			for (Registration<? extends T> reg : regs) {
+				remove(reg);
+			}
+			return !regs.isEmpty();
+		}
+	}
+
+	@Override
+	public List<Registration<? extends T>> select(Object key) {
+		return select(key, true);
+	}
+
+	@Override
+	public void clear() {
+		synchronized (monitor) {
+			objects.clear();
+			types.clear();
+			others.clear();
+			paths.clear();
+		}
+	}
+
+	@Override
+	public Iterator<Registration<? extends T>> iterator() {
+		List<Registration<? extends T>> regs = new ArrayList<Registration<? extends T>>(others);
+		for (List<Registration<? extends T>> l : objects.values()) {
+			regs.addAll(l);
+		}
+		for (List<Registration<? extends T>> l : types.values()) {
+			regs.addAll(l);
+		}
+		paths.collectAll(regs);
+		Collections.sort(regs, order);
+		return regs.iterator();
+	}
+
+	private List<Registration<? extends T>> select(Object key, boolean notify) {
+		List<Registration<? extends T>> selected = null;
+
+		if (null != key) {
+			selected = mergeAll(null, objects.get(key));
+
+			if (!types.isEmpty()) {
+				Class<?>[] keyTypes = hierarchy(key.getClass());
+				for (Class<?> type : keyTypes) {
+					selected = mergeAll(selected, types.get(type));
+				}
+				if (key instanceof Class) {
+					for (Class<?> type : hierarchy((Class<?>) key)) {
+						if (!contains(keyTypes, type)) {
+							selected = mergeAll(selected, types.get(type));
+						}
+					}
+				}
+			}
+		}
+
+		if (key instanceof String && !paths.isEmpty()) {
+			selected = paths.select((String) key, 0, selected);
+		}
+
+		selected = mergeMatching(selected, others, key);
+
+		if (null == selected) {
+			if (notify && null != onNotFound) {
+				onNotFound.accept(key);
+			}
+			return Collections.emptyList();
+		}
+		if (!(selected instanceof ArrayList)) {
+			// an index list, which must not leak
+			return Collections.unmodifiableList(selected);
+		}
+		if (selected.size() > 1) {
+			Collections.sort(selected, order);
+		}
+		return selected;
+	}
+
+	/**
+	 * Add all the {@link Registration Registrations} of {@code regs}, which an index already matched, to {@code
+	 * selected}. Index lists are returned as-is when nothing else was selected and copied otherwise, so that they're
+	 * never modified.
+	 */
+	private List<Registration<? extends T>> mergeAll(List<Registration<? extends T>> selected,
+	                                                 List<Registration<? extends T>> regs) {
+		if (null == regs || regs.isEmpty()) {
+			return selected;
+		}
+		if (null == selected) {
+			return regs;
+		}
+		selected = owned(selected);
+		selected.addAll(regs);
+		return selected;
+	}
+
+	/**
+	 * Add the {@link Registration Registrations} of {@code regs} whose {@link Selector} matches {@code key}, which may
+	 * be {@literal null}, to {@code selected}.
+	 */
+	private List<Registration<? extends T>> mergeMatching(List<Registration<? extends T>> selected,
+	                                                      List<Registration<? extends T>> regs,
+	                                                      Object key) {
+		for (Registration<? extends T> reg : regs) {
+			if (matches(reg.getSelector(), key)) {
+				selected = owned(selected);
+				selected.add(reg);
+			}
+		}
+		return selected;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static boolean matches(Selector selector, Object key) {
+		return selector.matches(key);
+	}
+
+	private List<Registration<? extends T>> owned(List<Registration<? extends T>> selected) {
+		if (null == selected) {
+			return new ArrayList<Registration<? extends T>>();
+		} else if (!(selected instanceof ArrayList)) {
+			return new ArrayList<Registration<? extends T>>(selected);
+		}
+		return selected;
+	}
+
+	private static boolean contains(Class<?>[] types, Class<?> type) {
+		for (Class<?> t : types) {
+			if (t == type) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Class<?>[] hierarchy(Class<?> type) {
+		Class<?>[] hierarchy = hierarchies.get(type);
+		if (null == hierarchy) {
+			Set<Class<?>> all = new LinkedHashSet<Class<?>>();
+			for (Class<?> c = type; null != c; c = c.getSuperclass()) {
+				all.add(c);
+				addInterfaces(c, all);
+			}
+			hierarchy = all.toArray(new Class<?>[all.size()]);
+			hierarchies.put(type, hierarchy);
+		}
+		return hierarchy;
+	}
+
+	private static void addInterfaces(Class<?> type, Set<Class<?>> all) {
+		for (Class<?> i : type.getInterfaces()) {
+			if (all.add(i)) {
+				addInterfaces(i, all);
+			}
+		}
+	}
+
+	private List<Registration<? extends T>> index(IndexedRegistration<?> reg) {
+		Selector sel = reg.selector;
+		if (sel.getClass() == ObjectSelector.class && null != sel.getObject()) {
+			List<Registration<? extends T>> regs = objects.get(sel.getObject());
+			if (null == regs) {
+				regs = new CopyOnWriteArrayList<Registration<? extends T>>();
+				objects.put(sel.getObject(), regs);
+			}
+			return regs;
+		} else if (sel.getClass() == ClassSelector.class) {
+			Class<?> type = (Class<?>) sel.getObject();
+			List<Registration<? extends T>> regs = types.get(type);
+			if (null == regs) {
+				regs = new CopyOnWriteArrayList<Registration<? extends T>>();
+				types.put(type, regs);
+			}
+			return regs;
+		} else if (sel.getClass() == UriPathSelector.class) {
+			return paths.node(reg.uriTemplate).regs;
+		}
+		return others;
+	}
+
+	private void remove(Registration<? extends T> reg) {
+		IndexedRegistration<?> indexed = (IndexedRegistration<?>) reg;
+		List<Registration<? extends T>> regs = index(indexed);
+		regs.remove(reg);
+		Selector sel = indexed.selector;
+		if (regs.isEmpty()) {
+			if (sel.getClass() == ObjectSelector.class) {
+				objects.remove(sel.getObject(), regs);
+			} else if (sel.getClass() == ClassSelector.class) {
+				types.remove(sel.getObject(), regs);
+			}
+		}
+	}
+
+	private static final class IndexedRegistration<V> extends CachableRegistration<V> {
+		final IndexedRegistry<? super V> registry;
+		final Selector                   selector;
+		final long                       order;
+		final String                     uriTemplate;
+
+		IndexedRegistration(IndexedRegistry<? super V> registry, Selector selector, V object, long order) {
+			super(selector, object, null);
+			this.registry = registry;
+			this.selector = selector;
+			this.order = order;
+			this.uriTemplate = selector instanceof UriPathSelector ?
+					((UriPathTemplate) selector.getObject()).getTemplate() :
+					null;
+		}
+
+		@Override
+		public Registration<V> cancel() {
+			if (!isCancelled()) {
+				synchronized (registry.monitor) {
+					registry.remove(this);
+				}
+			}
+			return super.cancel();
+		}
+	}
+
+	/**
+	 * A node of the trie of {@link UriPathSelector} path segments, either literal or whole variables. The {@link
+	 * Registration Registrations} of a node all share its path as prefix and still need to be tested.
+	 */
+	private final class PathNode {
+		final ConcurrentHashMapV8<String, PathNode> children = new ConcurrentHashMapV8<String, PathNode>();
+		final List<Registration<? extends T>>       regs     = new CopyOnWriteArrayList<Registration<? extends T>>();
+
+		volatile PathNode variable;
+
+		PathNode node(String template) {
+			PathNode node = this;
+			for (String segment : template.split("/", -1)) {
+				PathNode child;
+				if (LITERAL_SEGMENT.matcher(segment).matches()) {
+					child = node.children.get(segment);
+					if (null == child) {
+						child = new PathNode();
+						node.children.put(segment, child);
+					}
+				} else if (VARIABLE_SEGMENT.matcher(segment).matches()) {
+					child = node.variable;
+					if (null == child) {
+						child = new PathNode();
+						node.variable = child;
+					}
+				} else {
+					break;
+				}
+				node = child;
+			}
+			return node;
+		}
+
+		/**
+		 * Add the {@link Registration Registrations} of this node and of the nodes matching the segments of {@code
+		 * path} from {@code start} to {@code selected}.
+		 */
+		List<Registration<? extends T>> select(String path, int start, List<Registration<? extends T>> selected) {
+			selected = mergeMatching(selected, regs, path);
+			if (start > path.length()) {
+				return selected;
+			}
+			int end = path.indexOf('/', start);
+			if (end < 0) {
+				end = path.length();
+			}
+			PathNode child = children.get(path.substring(start, end));
+			if (null != child) {
+				selected = child.select(path, end + 1, selected);
+			}
+			child = variable;
+			if (null != child) {
+				selected = child.select(path, end + 1, selected);
+			}
+			return selected;
+		}
+
+		boolean isEmpty() {
+			return regs.isEmpty() && children.isEmpty() && null == variable;
+		}
+
+		void collectAll(List<Registration<? extends T>> all) {
+			all.addAll(regs);
+			for (PathNode child : children.values()) {
+				child.collectAll(all);
+			}
+			PathNode child = variable;
+			if (null != child) {
+				child.collectAll(all);
+			}
+		}
+
+		void clear() {
+			regs.clear();
+			children.clear();
+			variable = null;
+		}
+	}
+
+}
@@ -48,4 +48,15 @@ public abstract class Registries {
 		}
 	}
 
+	/**
+	 * Create a {@link Registry} that indexes exact-match, type and URI path selectors instead of caching selections.
+	 *
+	 * @param onNotFound the callback to invoke when a selection finds nothing, may be {@literal null}
+	 * @param <T>        the type of registered objects
+	 * @return a new {@link IndexedRegistry}
+	 */
+	public static <T> Registry<T> createIndexed(Consumer<Object> onNotFound) {
+		return new IndexedRegistry<T>(onNotFound);
+	}
+
 }
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus.registry;
+
+import reactor.bus.selector.Selector;
+import reactor.jarjar.jsr166e.ConcurrentHashMapV8;
+import reactor.jarjar.jsr166e.LongAdder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A size-bounded cache of {@link Registry#select(Object) selections}, shared by all threads. Hits are lock-free: each
+ * entry is stamped with the clock of the latest cached selection when it's read, which only writes the entry when the
+ * clock moved, so that hot keys are read without contention. Once the cache outgrows its maximum size, the thread
+ * winning the eviction lock evicts a batch of the least recently stamped entries, others carry on without waiting.
+ * <p>
+ * Entries are invalidated one by one: {@link #invalidate(Selector)} drops the keys a new {@link Registration} could
+ * match and {@link #invalidate(Registration)} the selections holding a removed one, which are indexed by {@link
+ * Registration} so that they're found without scanning the cache. A selection computed while the registry was
+ * modified is never cached, since it may miss the modification.
+ *
+ * @since 2.0
+ */
+final class SelectionCache<T> {
+
+	private static final Object NULL_KEY = new Object();
+
+	private final ConcurrentHashMapV8<Object, Entry>                 entries    =
+			new ConcurrentHashMapV8<Object, Entry>();
+	private final ConcurrentHashMapV8<Registration<?>, Set<Entry>>    holders    =
+			new ConcurrentHashMapV8<Registration<?>, Set<Entry>>();
+	private final ConcurrentHashMapV8.Fun<Registration<?>, Set<Entry>> newHolders =
+			new ConcurrentHashMapV8.Fun<Registration<?>, Set<Entry>>() {
+				@Override
+				public Set<Entry> apply(Registration<?> reg) {
+					return ConcurrentHashMapV8.newKeySet();
+				}
+			};
+	private final Comparator<Entry> leastRecentFirst = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry e1, Entry e2) {
+			return e1.stamp < e2.stamp ? -1 : (e1.stamp == e2.stamp ? 0 : 1);
+		}
+	};
+	private final ReentrantLock evictionLock = new ReentrantLock();
+	private final AtomicLong    generation   = new AtomicLong();
+	private final AtomicLong    clock        = new AtomicLong();
+	private final LongAdder     hits         = new LongAdder();
+	private final LongAdder     misses       = new LongAdder();
+	private final LongAdder     evictions    = new LongAdder();
+	private final int           maxSize;
+	private final int           evictionBatch;
+
+	SelectionCache(int maxSize) {
+		this.maxSize = Math.max(1, maxSize);
+		this.evictionBatch = Math.max(1, this.maxSize / 8);
+	}
+
+	/**
+	 * Return the cached selection for {@code key}, if any.
+	 */
+	List<Registration<? extends T>> get(Object key) {
+		Entry entry = entries.get(mask(key));
+		if (null == entry) {
+			misses.increment();
+			return null;
+		}
+		long now = clock.get();
+		if (entry.stamp != now) {
+			entry.stamp = now;
+		}
+		hits.increment();
+		return entry.regs;
+	}
+
+	/**
+	 * Return the current generation, to be passed to {@link #put(Object, List, long)} once a selection is computed.
+	 */
+	long generation() {
+		return generation.get();
+	}
+
+	/**
+	 * Cache a selection unless the registry was modified since {@code generation} was read.
+	 */
+	void put(Object key, List<Registration<? extends T>> regs, long generation) {
+		if (generation != this.generation.get()) {
+			return;
+		}
+		Entry entry = new Entry(mask(key), regs, clock.incrementAndGet());
+		Entry previous = entries.put(entry.key, entry);
+		if (null != previous) {
+			unindex(previous);
+		}
+		for (Registration<? extends T> reg : regs) {
+			holders.computeIfAbsent(reg, newHolders).add(entry);
+		}
+		if (generation != this.generation.get()) {
+			// an invalidation may have missed the entry
+			remove(entry);
+			return;
+		}
+		if (entries.size() > maxSize) {
+			evict();
+		}
+	}
+
+	/**
+	 * Drop the selections of keys that {@code selector} matches, before a {@link Registration} using it becomes
+	 * selectable.
+	 */
+	void invalidate(Selector selector) {
+		generation.incrementAndGet();
+		for (Entry entry : entries.values()) {
+			if (matches(selector, entry.key == NULL_KEY ? null : entry.key)) {
+				remove(entry);
+			}
+		}
+	}
+
+	/**
+	 * Drop the selections holding {@code reg}, once it has been removed.
+	 */
+	void invalidate(Registration<? extends T> reg) {
+		generation.incrementAndGet();
+		Set<Entry> selections = holders.remove(reg);
+		if (null != selections) {
+			for (Entry entry : selections) {
+				remove(entry);
+			}
+		}
+	}
+
+	void clear() {
+		generation.incrementAndGet();
+		entries.clear();
+		holders.clear();
+	}
+
+	long size() {
+		return entries.size();
+	}
+
+	long hits() {
+		return hits.sum();
+	}
+
+	long misses() {
+		return misses.sum();
+	}
+
+	long evictions() {
+		return evictions.sum();
+	}
+
+	private boolean remove(Entry entry) {
+		if (entries.remove(entry.key, entry)) {
+			unindex(entry);
+			return true;
+		}
+		return false;
+	}
+
+	private void unindex(Entry entry) {
+		for (Registration<? extends T> reg : entry.regs) {
+			Set<Entry> selections = holders.get(reg);
+			if (null != selections) {
+				selections.remove(entry);
+			}
+		}
+	}
+
+	private void evict() {
+		if (!evictionLock.tryLock()) {
+			return;
+		}
+		try {
+			int size = entries.size();
+			if (size <= maxSize) {
+				return;
+			}
+			List<Entry> candidates = new ArrayList<Entry>(entries.values());
+			Collections.sort(candidates, leastRecentFirst);
+			int toEvict = Math.min(candidates.size(), size - maxSize + evictionBatch);
+			for (int i = 0; i < toEvict; i++) {
+				if (remove(candidates.get(i))) {
+					evictions.increment();
+				}
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private static Object mask(Object key) {
+		return null == key ? NULL_KEY : key;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static boolean matches(Selector selector, Object key) {
+		return selector.matches(key);
+	}
+
+	private final class Entry {
+		final Object                          key;
+		final List<Registration<? extends T>> regs;
+
+		volatile long stamp;
+
+		Entry(Object key, List<Registration<? extends T>> regs, long stamp) {
+			this.key = key;
+			this.regs = regs;
+			this.stamp = stamp;
+		}
+	}
+
+}
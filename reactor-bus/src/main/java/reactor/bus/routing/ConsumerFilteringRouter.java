@@ -53,7 +53,6 @@ public class ConsumerFilteringRouter implements Router {
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public <E extends Event<?>> void route(Object key, E event,
 	                      List<Registration<? extends Consumer<? extends Event<?>>>> consumers,
 	                      Consumer<E> completionConsumer,
@@ -63,33 +62,59 @@ public class ConsumerFilteringRouter implements Router {
 			int size = regs.size();
 			// old-school for loop is much more efficient than using an iterator
 			for (int i = 0; i < size; i++) {
-				Registration<? extends Consumer<? extends Event<?>>> reg = regs.get(i);
+				invoke(regs.get(i), event, errorConsumer);
+			}
+		}
+		complete(event, completionConsumer, errorConsumer);
+	}
 
-				if (null == reg || reg.isCancelled() || reg.isPaused()) {
-					continue;
-				}
-				try {
-					((Consumer<E>)reg.getObject()).accept(event);
-				} catch (CancelConsumerException cancel) {
-					reg.cancel();
-				} catch (Throwable t) {
-					if (null != errorConsumer) {
-						errorConsumer.accept(Exceptions.addValueAsLastCause(t, event));
-					} else {
-						logger.error("Event routing failed for {}: {}", reg.getObject(), t.getMessage(), t);
-						if (RuntimeException.class.isInstance(t)) {
-							throw (RuntimeException) t;
-						} else {
-							throw new IllegalStateException(t);
-						}
-					}
-				} finally {
-					if (reg.isCancelAfterUse()) {
-						reg.cancel();
-					}
+	/**
+	 * Invoke the consumer of {@code reg} with {@code event}, unless it's cancelled or paused.
+	 *
+	 * @param reg           The registration to invoke, may be {@code null}
+	 * @param event         The event to route
+	 * @param errorConsumer The consumer that is invoked if the consumer fails. May be {@code null}, in which case the
+	 *                      failure is rethrown.
+	 */
+	@SuppressWarnings("unchecked")
+	protected <E extends Event<?>> void invoke(Registration<? extends Consumer<? extends Event<?>>> reg,
+	                                           E event,
+	                                           Consumer<Throwable> errorConsumer) {
+		if (null == reg || reg.isCancelled() || reg.isPaused()) {
+			return;
+		}
+		try {
+			((Consumer<E>)reg.getObject()).accept(event);
+		} catch (CancelConsumerException cancel) {
+			reg.cancel();
+		} catch (Throwable t) {
+			if (null != errorConsumer) {
+				errorConsumer.accept(Exceptions.addValueAsLastCause(t, event));
+			} else {
+				logger.error("Event routing failed for {}: {}", reg.getObject(), t.getMessage(), t);
+				if (RuntimeException.class.isInstance(t)) {
+					throw (RuntimeException) t;
+				} else {
+					throw new IllegalStateException(t);
 				}
 			}
+		} finally {
+			if (reg.isCancelAfterUse()) {
+				reg.cancel();
+			}
 		}
+	}
+
+	/**
+	 * Notify the {@code completionConsumer}, if any, that {@code event} has been routed.
+	 *
+	 * @param event              The routed event
+	 * @param completionConsumer The consumer to notify. May be {@code null}
+	 * @param errorConsumer      The consumer that is invoked if the completion consumer fails. May be {@code null}
+	 */
+	protected <E extends Event<?>> void complete(E event,
+	                                             Consumer<E> completionConsumer,
+	                                             Consumer<Throwable> errorConsumer) {
 		if (null != completionConsumer) {
 			try {
 				completionConsumer.accept(event);
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package reactor.bus.routing;
+
+import reactor.bus.Event;
+import reactor.bus.filter.Filter;
+import reactor.bus.registry.Registration;
+import reactor.core.Dispatcher;
+import reactor.core.support.Assert;
+import reactor.fn.Consumer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ConsumerFilteringRouter} that fans the consumers selected for an event out across a worker {@link
+ * Dispatcher}, so that keys with many consumers don't serialize all of their work on the dispatching thread.
+ * <p>
+ * When more than {@code inlineThreshold} consumers are selected, they are split into at most {@code parallelism}
+ * chunks: the first chunk is routed by the calling thread while the others are dispatched to the workers. The
+ * completion consumer, if any, is notified once every chunk has been routed, by the thread routing the last one.
+ * Smaller selections, events routed from a worker thread and events routed once the workers are shut down are routed
+ * inline, just like {@link ConsumerFilteringRouter} does.
+ * <p>
+ * Consumers of the same event may run concurrently, so they must not rely on being invoked in registration order.
+ * A pooled event is {@link Event#retain() retained} until all of its chunks have been routed.
+ *
+ * @since 2.0
+ */
+public class ParallelRouter extends ConsumerFilteringRouter {
+
+	/**
+	 * The default number of consumers up to which an event is routed inline.
+	 */
+	public static final int DEFAULT_INLINE_THRESHOLD = 32;
+
+	private final Dispatcher workers;
+	private final int        parallelism;
+	private final int        inlineThreshold;
+
+	/**
+	 * Creates a new {@code ParallelRouter} that will use the {@code filter} to filter consumers and fan them out across
+	 * {@code parallelism} chunks routed by the {@code workers}.
+	 *
+	 * @param filter      The filter to use. Must not be {@code null}.
+	 * @param workers     The dispatcher routing the chunks. Must not be {@code null}.
+	 * @param parallelism The maximum number of chunks an event is routed in
+	 */
+	public ParallelRouter(Filter filter, Dispatcher workers, int parallelism) {
+		this(filter, workers, parallelism, DEFAULT_INLINE_THRESHOLD);
+	}
+
+	/**
+	 * Creates a new {@code ParallelRouter} that will use the {@code filter} to filter consumers and fan them out across
+	 * {@code parallelism} chunks routed by the {@code workers}.
+	 *
+	 * @param filter          The filter to use. Must not be {@code null}.
+	 * @param workers         The dispatcher routing the chunks. Must not be {@code null}.
+	 * @param parallelism     The maximum number of chunks an event is routed in
+	 * @param inlineThreshold The number of consumers up to which an event is routed inline
+	 */
+	public ParallelRouter(Filter filter, Dispatcher workers, int parallelism, int inlineThreshold) {
+		super(filter);
+		Assert.notNull(workers, "workers must not be null");
+		Assert.isTrue(parallelism > 0, "parallelism must be strictly positive");
+		Assert.isTrue(inlineThreshold >= 0, "inlineThreshold must be positive");
+
+		this.workers = workers;
+		this.parallelism = parallelism;
+		this.inlineThreshold = inlineThreshold;
+	}
+
+	@Override
+	public <E extends Event<?>> void route(Object key, E event,
+	                      List<Registration<? extends Consumer<? extends Event<?>>>> consumers,
+	                      Consumer<E> completionConsumer,
+	                      Consumer<Throwable> errorConsumer) {
+		if (null == consumers || consumers.size() <= inlineThreshold || parallelism == 1 ||
+				workers.inContext() || !workers.alive()) {
+			super.route(key, event, consumers, completionConsumer, errorConsumer);
+			return;
+		}
+
+		List<Registration<? extends Consumer<? extends Event<?>>>> regs = getFilter().filter(consumers, key);
+		int size = regs.size();
+		if (size <= inlineThreshold) {
+			for (int i = 0; i < size; i++) {
+				invoke(regs.get(i), event, errorConsumer);
+			}
+			complete(event, completionConsumer, errorConsumer);
+			return;
+		}
+
+		// snapshot the selection as the workers read it while the registry might be updated
+		Object[] selection = regs.toArray();
+		int threshold = Math.max(1, inlineThreshold);
+		int chunks = Math.min(parallelism, (size + threshold - 1) / threshold);
+		int chunkSize = (size + chunks - 1) / chunks;
+		chunks = (size + chunkSize - 1) / chunkSize;
+
+		event.retain();
+		Fanout<E> fanout = new Fanout<E>(event, selection, chunks, completionConsumer, errorConsumer);
+		for (int i = 1; i < chunks; i++) {
+			Chunk<E> chunk = new Chunk<E>(fanout, i * chunkSize, Math.min(size, (i + 1) * chunkSize));
+			try {
+				workers.dispatch(chunk, fanout, errorConsumer);
+			} catch (RuntimeException e) {
+				// the workers shut down or can't take more, route the chunk here so the fan-out still completes
+				fanout.accept(chunk);
+			}
+		}
+		fanout.accept(new Chunk<E>(fanout, 0, chunkSize));
+	}
+
+	/**
+	 * Returns the {@code Dispatcher} routing the chunks
+	 *
+	 * @return The {@code Dispatcher}.
+	 */
+	public Dispatcher getWorkers() {
+		return workers;
+	}
+
+	private static final class Chunk<E extends Event<?>> {
+		final Fanout<E> fanout;
+		final int       start;
+		final int       end;
+
+		Chunk(Fanout<E> fanout, int start, int end) {
+			this.fanout = fanout;
+			this.start = start;
+			this.end = end;
+		}
+	}
+
+	private final class Fanout<E extends Event<?>> implements Consumer<Chunk<E>> {
+		final E                   event;
+		final Object[]            selection;
+		final AtomicInteger       pending;
+		final Consumer<E>         completionConsumer;
+		final Consumer<Throwable> errorConsumer;
+
+		Fanout(E event, Object[] selection, int chunks, Consumer<E> completionConsumer,
+		       Consumer<Throwable> errorConsumer) {
+			this.event = event;
+			this.selection = selection;
+			this.pending = new AtomicInteger(chunks);
+			this.completionConsumer = completionConsumer;
+			this.errorConsumer = errorConsumer;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void accept(Chunk<E> chunk) {
+			try {
+				for (int i = chunk.start; i < chunk.end; i++) {
+					invoke((Registration<? extends Consumer<? extends Event<?>>>) selection[i], event, errorConsumer);
+				}
+			} finally {
+				if (pending.decrementAndGet() == 0) {
+					try {
+						complete(event, completionConsumer, errorConsumer);
+					} finally {
+						event.release();
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package reactor.bus.selector;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -29,9 +30,16 @@ import reactor.io.buffer.Buffer;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
+ * A {@link Selector} matching JSON documents and objects on a {@link JsonPath}.
+ * <p>
+ * Simple paths, made of a chain of properties optionally ending with an equality filter, match {@link String},
+ * {@code byte[]} and {@link Buffer} keys by streaming over their JSON tokens, without parsing the whole document.
+ * Other paths and keys are matched on a parsed tree. Both forms of the path are compiled once per selector.
+ *
  * @author Jon Brisbin
  */
 public class JsonPathSelector extends ObjectSelector<JsonPath> {
@@ -39,13 +47,15 @@ public class JsonPathSelector extends ObjectSelector<JsonPath> {
 	// Only need one of these
 	private static ObjectMapper MAPPER = new ObjectMapper();
 
-	private final ObjectMapper  mapper;
-	private final Configuration jsonPathConfig;
+	private final ObjectMapper      mapper;
+	private final Configuration     jsonPathConfig;
+	private final StreamingJsonPath streamingPath;
 
 	public JsonPathSelector(ObjectMapper mapper, String jsonPath, Filter... filters) {
 		super(JsonPath.compile(jsonPath, filters));
 		this.mapper = mapper;
 		this.jsonPathConfig = Configuration.builder().jsonProvider(new Jackson2JsonProvider(mapper)).build();
+		this.streamingPath = filters.length == 0 ? StreamingJsonPath.compile(jsonPath) : null;
 	}
 
 	public JsonPathSelector(String jsonPath, Filter... filters) {
@@ -66,6 +76,22 @@ public class JsonPathSelector extends ObjectSelector<JsonPath> {
 			return false;
 		}
 
+		if (null != streamingPath) {
+			JsonParser parser = parser(key);
+			if (null != parser) {
+				try {
+					return streamingPath.matches(parser);
+				} catch (IOException e) {
+					throw new InvalidJsonException(e.getMessage(), e);
+				} finally {
+					try {
+						parser.close();
+					} catch (IOException ignored) {
+					}
+				}
+			}
+		}
+
 		Object result = read(key);
 		if (null == result) {
 			return false;
@@ -82,6 +108,31 @@ public class JsonPathSelector extends ObjectSelector<JsonPath> {
 		}
 	}
 
+	private JsonParser parser(Object key) {
+		Class<?> type = key.getClass();
+		try {
+			if (type == String.class) {
+				return mapper.getFactory().createParser((String) key);
+			} else if (type == byte[].class) {
+				return mapper.getFactory().createParser((byte[]) key);
+			} else if (type == Buffer.class) {
+				ByteBuffer buffer = ((Buffer) key).byteBuffer();
+				if (null == buffer) {
+					return null;
+				} else if (buffer.hasArray()) {
+					return mapper.getFactory().createParser(buffer.array(),
+							buffer.arrayOffset() + buffer.position(),
+							buffer.remaining());
+				} else {
+					return mapper.getFactory().createParser(((Buffer) key).asBytes());
+				}
+			}
+		} catch (IOException e) {
+			throw new InvalidJsonException(e.getMessage(), e);
+		}
+		return null;
+	}
+
 	private Object read(Object key) {
 		Class<?> type = key.getClass();
 		if (type == String.class) {
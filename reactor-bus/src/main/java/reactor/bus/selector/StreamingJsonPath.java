@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus.selector;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A JsonPath evaluated over the tokens of a {@link JsonParser} rather than over a parsed tree, for the simple paths
+ * content-based routing mostly uses: a chain of properties, such as {@code $.a.b} or {@code $['a']['b']}, optionally
+ * ending with a single equality filter, such as {@code $.a[?(@.b.c == 'value')]}. Properties that aren't on the path
+ * are skipped without being decoded and the evaluation stops at the first decisive token.
+ * <p>
+ * A path matches like its {@link com.jayway.jsonpath.JsonPath} counterpart: a chain of properties matches if it
+ * resolves to a value that isn't {@literal null} nor an empty array or object, a filter matches if an element of the
+ * array it applies to, or the object it applies to, passes it. Paths that don't resolve don't match.
+ *
+ * @since 2.0
+ */
+final class StreamingJsonPath {
+
+	private final String[] properties;
+	private final String[] filterProperties;
+	private final Object   filterValue;
+	private final String   filterText;
+
+	private StreamingJsonPath(String[] properties, String[] filterProperties, Object filterValue, String filterText) {
+		this.properties = properties;
+		this.filterProperties = filterProperties;
+		this.filterValue = filterValue;
+		this.filterText = filterText;
+	}
+
+	/**
+	 * Compile {@code path} if it's simple enough to be evaluated over a {@link JsonParser}.
+	 *
+	 * @param path the JsonPath to compile
+	 * @return the compiled path, or {@literal null} if it must be evaluated over a parsed tree
+	 */
+	static StreamingJsonPath compile(String path) {
+		Cursor c = new Cursor(path.trim());
+		if (!c.consume("$")) {
+			return null;
+		}
+		List<String> properties = new ArrayList<String>();
+		while (!c.done()) {
+			if (c.consume("[?(")) {
+				return compileFilter(c, properties.toArray(new String[properties.size()]));
+			}
+			String property = c.property();
+			if (null == property) {
+				return null;
+			}
+			properties.add(property);
+		}
+		return new StreamingJsonPath(properties.toArray(new String[properties.size()]), null, null, null);
+	}
+
+	private static StreamingJsonPath compileFilter(Cursor c, String[] properties) {
+		c.skipWhitespaces();
+		if (!c.consume("@")) {
+			return null;
+		}
+		List<String> filterProperties = new ArrayList<String>();
+		String property;
+		while (null != (property = c.property())) {
+			filterProperties.add(property);
+		}
+		c.skipWhitespaces();
+		if (filterProperties.isEmpty() || !c.consume("==")) {
+			return null;
+		}
+		c.skipWhitespaces();
+		int start = c.pos;
+		int end = c.path.indexOf(')', start);
+		if (end < 0 || !c.path.substring(end).equals(")]")) {
+			return null;
+		}
+		String text = c.path.substring(start, end).trim();
+		Object value;
+		if (text.length() > 1 && text.startsWith("'") && text.endsWith("'")) {
+			text = text.substring(1, text.length() - 1);
+			if (text.indexOf('\'') >= 0 || text.indexOf('\\') >= 0) {
+				return null;
+			}
+			value = text;
+		} else if ("true".equals(text) || "false".equals(text)) {
+			value = Boolean.valueOf(text);
+		} else if ("null".equals(text)) {
+			value = null;
+		} else {
+			try {
+				value = new BigDecimal(text);
+			} catch (NumberFormatException nfe) {
+				return null;
+			}
+		}
+		return new StreamingJsonPath(properties,
+				filterProperties.toArray(new String[filterProperties.size()]),
+				value,
+				text);
+	}
+
+	/**
+	 * Evaluate this path over the document read by {@code parser}.
+	 *
+	 * @param parser the parser of the document, positioned before its first token
+	 * @return {@code true} if the document matches
+	 * @throws IOException if the document can't be read
+	 */
+	boolean matches(JsonParser parser) throws IOException {
+		if (null == parser.nextToken()) {
+			return false;
+		}
+		for (String property : properties) {
+			if (!moveToProperty(parser, property)) {
+				return false;
+			}
+		}
+
+		JsonToken token = parser.getCurrentToken();
+		if (null == filterProperties) {
+			if (token == JsonToken.START_ARRAY) {
+				return parser.nextToken() != JsonToken.END_ARRAY;
+			} else if (token == JsonToken.START_OBJECT) {
+				return parser.nextToken() != JsonToken.END_OBJECT;
+			}
+			return token != JsonToken.VALUE_NULL;
+		}
+
+		if (token == JsonToken.START_OBJECT) {
+			return filter(parser, 0);
+		} else if (token == JsonToken.START_ARRAY) {
+			while ((token = parser.nextToken()) != JsonToken.END_ARRAY && null != token) {
+				if (token == JsonToken.START_OBJECT) {
+					if (filter(parser, 0)) {
+						return true;
+					}
+				} else {
+					parser.skipChildren();
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Move from the start of an object to the value of {@code property}, skipping the properties before it.
+	 */
+	private static boolean moveToProperty(JsonParser parser, String property) throws IOException {
+		if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+			return false;
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			parser.nextToken();
+			if (property.equals(name)) {
+				return true;
+			}
+			parser.skipChildren();
+		}
+		return false;
+	}
+
+	/**
+	 * Test the filter properties from {@code step} against the object the parser is at the start of. The object is
+	 * read up to its end unless it passes the filter, since the evaluation stops then.
+	 */
+	private boolean filter(JsonParser parser, int step) throws IOException {
+		boolean found = false;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if (!found && filterProperties[step].equals(name)) {
+				found = true;
+				if (step == filterProperties.length - 1) {
+					if (equalsFilterValue(parser, token)) {
+						return true;
+					}
+				} else if (token == JsonToken.START_OBJECT) {
+					if (filter(parser, step + 1)) {
+						return true;
+					}
+					continue;
+				}
+			}
+			parser.skipChildren();
+		}
+		return false;
+	}
+
+	private boolean equalsFilterValue(JsonParser parser, JsonToken token) throws IOException {
+		switch (token) {
+			case VALUE_NUMBER_INT:
+			case VALUE_NUMBER_FLOAT:
+				if (filterValue instanceof BigDecimal) {
+					return parser.getDecimalValue().compareTo((BigDecimal) filterValue) == 0;
+				}
+				return filterValue instanceof String && filterText.equals(parser.getText());
+			case VALUE_STRING:
+				return null != filterValue && !(filterValue instanceof Boolean) && filterText.equals(parser.getText());
+			case VALUE_TRUE:
+				return Boolean.TRUE.equals(filterValue);
+			case VALUE_FALSE:
+				return Boolean.FALSE.equals(filterValue);
+			case VALUE_NULL:
+				return null == filterValue;
+			default:
+				return false;
+		}
+	}
+
+	private static final class Cursor {
+		final String path;
+		int pos;
+
+		Cursor(String path) {
+			this.path = path;
+		}
+
+		boolean done() {
+			return pos == path.length();
+		}
+
+		boolean consume(String s) {
+			if (path.startsWith(s, pos)) {
+				pos += s.length();
+				return true;
+			}
+			return false;
+		}
+
+		void skipWhitespaces() {
+			while (pos < path.length() && Character.isWhitespace(path.charAt(pos))) {
+				pos++;
+			}
+		}
+
+		/**
+		 * Read a {@code .name} or {@code ['name']} property, or return {@literal null} if there's none.
+		 */
+		String property() {
+			if (path.startsWith("['", pos)) {
+				int end = path.indexOf("']", pos + 2);
+				if (end < 0) {
+					return null;
+				}
+				String name = path.substring(pos + 2, end);
+				if (name.indexOf('\'') >= 0) {
+					return null;
+				}
+				pos = end + 2;
+				return name;
+			} else if (path.startsWith(".", pos) && !path.startsWith("..", pos)) {
+				int end = pos + 1;
+				while (end < path.length() &&
+						(Character.isLetterOrDigit(path.charAt(end)) || path.charAt(end) == '_' || path.charAt(end) == '-')) {
+					end++;
+				}
+				if (end == pos + 1) {
+					return null;
+				}
+				String name = path.substring(pos + 1, end);
+				pos = end;
+				return name;
+			}
+			return null;
+		}
+	}
+
+}
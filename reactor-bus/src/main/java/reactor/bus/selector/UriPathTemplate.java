@@ -26,6 +26,12 @@ import java.util.regex.Pattern;
 /**
  * Represents a URI template. A URI template is a URI-like String that contains variables enclosed by braces
  * (<code>{</code>, <code>}</code>), which can be expanded to produce an actual URI.
+ * <p>
+ * A template made of literal characters, {@code {name}} variables matching up to the next {@code /} or {@code .},
+ * {@code {name}**} variables and {@code **} wildcards matching anything, is compiled to a sequence of tokens matched
+ * without regular expression. Testing a uri doesn't allocate, extracting its path parameters only allocates their
+ * values. Every other character of such a template, including {@code .}, is matched literally. Any other template is
+ * compiled to a regular expression.
  *
  * @author Arjen Poutsma
  * @author Juergen Hoeller
@@ -47,18 +53,55 @@ public class UriPathTemplate {
 	private static final String  NAME_REPLACEMENT = "(?<%NAME%>[^\\/.]*)";
 	//private static final String  NAME_REPLACEMENT = "([^\\/.]*)";
 
-	private final List<String>                         pathVariables = new ArrayList<String>();
-	private final HashMap<String, Matcher>             matchers      = new HashMap<String, Matcher>();
-	private final HashMap<String, Map<String, Object>> vars          = new HashMap<String, Map<String, Object>>();
+	private static final String REGEX_CHARACTERS = "\\^$|?*+()[]{}";
 
+	private static final byte LITERAL  = 0;
+	private static final byte VARIABLE = 1;
+	private static final byte SPLAT    = 2;
+
+	private final List<String> pathVariables = new ArrayList<String>();
+
+	private final String  template;
 	private final Pattern uriPattern;
 
+	// the compiled tokens, null if the template is matched with uriPattern
+	private final byte[]   kinds;
+	private final String[] literals;
+	private final int[]    variables;
+
 	/**
 	 * Creates a new {@code UriPathTemplate} from the given {@code uriPattern}.
 	 *
 	 * @param uriPattern The pattern to be used by the template
 	 */
 	public UriPathTemplate(String uriPattern) {
+		this.template = uriPattern;
+
+		List<Object> tokens = tokenize(uriPattern);
+		if (null != tokens) {
+			int size = tokens.size() / 2;
+			this.kinds = new byte[size];
+			this.literals = new String[size];
+			this.variables = new int[size];
+			for (int i = 0; i < size; i++) {
+				kinds[i] = (Byte) tokens.get(2 * i);
+				String value = (String) tokens.get(2 * i + 1);
+				if (kinds[i] == LITERAL) {
+					literals[i] = value;
+				} else if (null != value) {
+					variables[i] = pathVariables.size();
+					pathVariables.add(value);
+				} else {
+					variables[i] = -1;
+				}
+			}
+			this.uriPattern = null;
+			return;
+		}
+		this.kinds = null;
+		this.literals = null;
+		this.variables = null;
+
 		String s = "^" + uriPattern;
 
 		Matcher m = NAME_SPLAT_PATTERN.matcher(s);
@@ -90,6 +133,15 @@ public class UriPathTemplate {
 		this.uriPattern = Pattern.compile(s + "$");
 	}
 
+	/**
+	 * Returns the pattern this template was created from.
+	 *
+	 * @return the source pattern
+	 */
+	public String getTemplate() {
+		return template;
+	}
+
 	/**
 	 * Tests the given {@code uri} against this template, returning {@code true} if the
 	 * uri matches the template, {@code false} otherwise.
@@ -99,7 +151,10 @@ public class UriPathTemplate {
 	 * @return {@code true} if there's a match, {@code false} otherwise
 	 */
 	public boolean matches(String uri) {
-		return matcher(uri).matches();
+		if (null == kinds) {
+			return uriPattern.matcher(uri).matches();
+		}
+		return match(uri, 0, 0, null);
 	}
 
 	/**
@@ -112,36 +167,125 @@ public class UriPathTemplate {
 	 * @return the path parameters from the uri. Never {@code null}.
 	 */
 	public Map<String, Object> match(String uri) {
-		Map<String, Object> pathParameters = vars.get(uri);
-		if (null != pathParameters) {
-			return pathParameters;
-		}
+		Map<String, Object> pathParameters = new HashMap<String, Object>();
+		match(uri, pathParameters);
+		return pathParameters;
+	}
 
-		pathParameters = new HashMap<String, Object>();
-		Matcher m = matcher(uri);
-		if (m.matches()) {
+	/**
+	 * Matches the template against the given {@code uri} and puts the path parameters extracted from the uri into
+	 * {@code pathParameters}, keyed by the names in the template. This lets callers reuse the same map to match many
+	 * uris.
+	 *
+	 * @param uri            The uri to match
+	 * @param pathParameters The map to put the path parameters into
+	 *
+	 * @return {@code true} if there's a match, {@code false} otherwise
+	 */
+	public boolean match(String uri, Map<String, Object> pathParameters) {
+		if (null == kinds) {
+			Matcher m = uriPattern.matcher(uri);
+			if (!m.matches()) {
+				return false;
+			}
 			int i = 1;
 			for (String name : pathVariables) {
-				String val = m.group(i++);
-				pathParameters.put(name, val);
+				pathParameters.put(name, m.group(i++));
 			}
+			return true;
+		}
+
+		return match(uri, 0, 0, pathVariables.isEmpty() ? null : pathParameters);
+	}
+
+	/**
+	 * Match the tokens from {@code token} against {@code uri} from {@code pos}. Variables and wildcards are greedy and
+	 * backtrack like their regular expression counterparts would. Once the whole uri matched, each variable puts its
+	 * value into {@code pathParameters} if it's not {@literal null}, so that only the final captures are extracted.
+	 */
+	private boolean match(String uri, int token, int pos, Map<String, Object> pathParameters) {
+		if (token == kinds.length) {
+			return pos == uri.length();
 		}
-		synchronized (vars) {
-			vars.put(uri, pathParameters);
+		switch (kinds[token]) {
+			case LITERAL:
+				String literal = literals[token];
+				return uri.startsWith(literal, pos) && match(uri, token + 1, pos + literal.length(), pathParameters);
+			case VARIABLE:
+				int end = pos;
+				while (end < uri.length() && uri.charAt(end) != '/' && uri.charAt(end) != '.') {
+					end++;
+				}
+				return capture(uri, token, pos, end, pathParameters);
+			default:
+				return capture(uri, token, pos, uri.length(), pathParameters);
 		}
+	}
 
-		return pathParameters;
+	private boolean capture(String uri, int token, int pos, int maxEnd, Map<String, Object> pathParameters) {
+		int variable = variables[token];
+		for (int end = maxEnd; end >= pos; end--) {
+			if (match(uri, token + 1, end, pathParameters)) {
+				if (null != pathParameters && variable >= 0) {
+					pathParameters.put(pathVariables.get(variable), uri.substring(pos, end));
+				}
+				return true;
+			}
+		}
+		return false;
 	}
 
-	private Matcher matcher(String uri) {
-		Matcher m = matchers.get(uri);
-		if (null == m) {
-			m = uriPattern.matcher(uri);
-			synchronized (matchers) {
-				matchers.put(uri, m);
+	/**
+	 * Split {@code template} into (kind, value) pairs, or return {@literal null} if it uses regular expression syntax
+	 * and must be compiled to a regular expression.
+	 */
+	private static List<Object> tokenize(String template) {
+		List<Object> tokens = new ArrayList<Object>();
+		StringBuilder literal = new StringBuilder();
+		int i = 0;
+		while (i < template.length()) {
+			char c = template.charAt(i);
+			byte kind;
+			String value = null;
+			if (c == '{') {
+				int close = template.indexOf('}', i);
+				if (close < 0) {
+					return null;
+				}
+				value = template.substring(i + 1, close);
+				if (value.isEmpty() || value.indexOf('/') >= 0 || value.indexOf('{') >= 0) {
+					return null;
+				}
+				i = close + 1;
+				if (template.startsWith("**", i)) {
+					kind = SPLAT;
+					i += 2;
+				} else {
+					kind = VARIABLE;
+				}
+			} else if (template.startsWith("**", i)) {
+				kind = SPLAT;
+				i += 2;
+			} else if (REGEX_CHARACTERS.indexOf(c) >= 0) {
+				return null;
+			} else {
+				literal.append(c);
+				i++;
+				continue;
 			}
+			if (literal.length() > 0) {
+				tokens.add(LITERAL);
+				tokens.add(literal.toString());
+				literal.setLength(0);
+			}
+			tokens.add(kind);
+			tokens.add(value);
+		}
+		if (literal.length() > 0) {
+			tokens.add(LITERAL);
+			tokens.add(literal.toString());
 		}
-		return m;
+		return tokens;
 	}
 
 }
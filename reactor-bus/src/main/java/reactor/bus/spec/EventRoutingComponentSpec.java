@@ -22,12 +22,16 @@ import reactor.bus.filter.*;
 import reactor.bus.registry.Registries;
 import reactor.bus.registry.Registry;
 import reactor.bus.routing.ConsumerFilteringRouter;
+import reactor.bus.routing.ParallelRouter;
 import reactor.bus.routing.Router;
 import reactor.bus.routing.TraceableDelegatingRouter;
 import reactor.core.Dispatcher;
+import reactor.core.DispatcherSupplier;
+import reactor.core.dispatch.PartitionedDispatcher;
 import reactor.core.dispatch.TraceableDelegatingDispatcher;
 import reactor.core.support.Assert;
 import reactor.fn.Consumer;
+import reactor.fn.Function;
 
 
 /**
@@ -54,7 +58,12 @@ public abstract class EventRoutingComponentSpec<SPEC extends EventRoutingCompone
 	private Consumer<Throwable>   dispatchErrorHandler;
 	private Consumer<Throwable>   uncaughtErrorHandler;
 	private Registry<Consumer<? extends Event<?>>> consumerRegistry;
+	private Consumer<Object>      consumerNotFoundHandler;
+	private boolean indexedConsumerRegistry = false;
 	private boolean traceEventPath = false;
+	private Dispatcher[]          partitions;
+	private Dispatcher            routingWorkers;
+	private int                   routingParallelism;
 
 
 	/**
@@ -121,6 +130,27 @@ public abstract class EventRoutingComponentSpec<SPEC extends EventRoutingCompone
 		return (SPEC) this;
 	}
 
+	/**
+	 * Configures the component's EventRouter to fan the consumers matching an event out across {@code parallelism}
+	 * chunks routed by the {@code workers} when there are many of them.
+	 *
+	 * @param workers
+	 * 		the dispatcher routing the chunks
+	 * @param parallelism
+	 * 		the maximum number of chunks an event is routed in
+	 *
+	 * @return {@code this}
+	 *
+	 * @see ParallelRouter
+	 */
+	public final SPEC parallelEventRouting(Dispatcher workers, int parallelism) {
+		Assert.notNull(workers, "workers must not be null");
+		Assert.isTrue(parallelism > 0, "parallelism must be strictly positive");
+		this.routingWorkers = workers;
+		this.routingParallelism = parallelism;
+		return (SPEC) this;
+	}
+
 	/**
 	 * Configures the component's error handler for any errors occurring during dispatch (e.g. Exceptions resulting from
 	 * calling a {@code Consumer#accept} method.
@@ -195,7 +225,60 @@ public abstract class EventRoutingComponentSpec<SPEC extends EventRoutingCompone
 	 * @return {@code this}
 	 */
 	public SPEC consumerNotFoundHandler(Consumer<Object> consumerNotFoundHandler) {
-		this.consumerRegistry = Registries.create(true,true,consumerNotFoundHandler);
+		this.consumerRegistry = null;
+		this.consumerNotFoundHandler = consumerNotFoundHandler;
+		return (SPEC) this;
+	}
+
+	/**
+	 * Configures this component to use an {@link reactor.bus.registry.IndexedRegistry} that looks up exact-match,
+	 * type and URI path selectors in indexes rather than testing every registered selector.
+	 *
+	 * @return {@code this}
+	 */
+	public SPEC indexedConsumerRegistry() {
+		this.consumerRegistry = null;
+		this.indexedConsumerRegistry = true;
+		return (SPEC) this;
+	}
+
+	/**
+	 * Configures this component to shard events across {@code partitions} new single-threaded dispatchers by hashing
+	 * their key, instead of using a single dispatcher. Events with equal keys are routed in order, events with distinct
+	 * keys are routed in parallel.
+	 *
+	 * @param partitions
+	 * 		the number of partitions
+	 *
+	 * @return {@code this}
+	 *
+	 * @see PartitionedDispatcher
+	 */
+	public SPEC partitioned(int partitions) {
+		Assert.isTrue(partitions > 0, "The number of partitions must be strictly positive");
+		DispatcherSupplier dispatchers = Environment.newCachedDispatchers(partitions, "eventBusPartition");
+		Dispatcher[] partitionDispatchers = new Dispatcher[partitions];
+		for (int i = 0; i < partitions; i++) {
+			partitionDispatchers[i] = dispatchers.get();
+		}
+		return partitioned(partitionDispatchers);
+	}
+
+	/**
+	 * Configures this component to shard events across the given dispatchers by hashing their key, instead of using a
+	 * single dispatcher. Events with equal keys are routed in order as long as each partition dispatcher is
+	 * single-threaded.
+	 *
+	 * @param partitions
+	 * 		the partition dispatchers
+	 *
+	 * @return {@code this}
+	 *
+	 * @see PartitionedDispatcher
+	 */
+	public SPEC partitioned(Dispatcher... partitions) {
+		Assert.isTrue(partitions.length > 0, "At least one partition is required");
+		this.partitions = partitions;
 		return (SPEC) this;
 	}
 
@@ -207,7 +290,9 @@ public abstract class EventRoutingComponentSpec<SPEC extends EventRoutingCompone
 	}
 
 	private EventBus createReactor(Dispatcher dispatcher) {
-		if (traceEventPath) {
+		if (null != partitions) {
+			dispatcher = createPartitionedDispatcher();
+		} else if (traceEventPath) {
 			dispatcher = new TraceableDelegatingDispatcher(dispatcher);
 		}
 		return new EventBus((consumerRegistry != null ? consumerRegistry : createRegistry()),
@@ -217,9 +302,26 @@ public abstract class EventRoutingComponentSpec<SPEC extends EventRoutingCompone
 		                   uncaughtErrorHandler);
 	}
 
+	private Dispatcher createPartitionedDispatcher() {
+		Dispatcher[] dispatchers = partitions.clone();
+		if (traceEventPath) {
+			for (int i = 0; i < dispatchers.length; i++) {
+				dispatchers[i] = new TraceableDelegatingDispatcher(dispatchers[i]);
+			}
+		}
+		return new PartitionedDispatcher(dispatchers, new Function<Object, Object>() {
+			@Override
+			public Object apply(Object data) {
+				return data instanceof Event ? ((Event<?>) data).getKey() : data;
+			}
+		});
+	}
+
 	private Router createEventRouter() {
-		Router evr = new ConsumerFilteringRouter(
-				eventFilter != null ? eventFilter : createFilter());
+		Filter filter = eventFilter != null ? eventFilter : createFilter();
+		Router evr = null != routingWorkers ?
+				new ParallelRouter(filter, routingWorkers, routingParallelism) :
+				new ConsumerFilteringRouter(filter);
 		if (traceEventPath) {
 			return new TraceableDelegatingRouter(evr);
 		} else {
@@ -242,7 +344,10 @@ public abstract class EventRoutingComponentSpec<SPEC extends EventRoutingCompone
 	}
 
 	private Registry createRegistry() {
-		return Registries.create();
+		if (indexedConsumerRegistry) {
+			return Registries.createIndexed(consumerNotFoundHandler);
+		}
+		return Registries.create(true, true, consumerNotFoundHandler);
 	}
 
 	protected enum EventRoutingStrategy {
@@ -18,26 +18,31 @@ package reactor.bus.timer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.bus.registry.CachableRegistration;
 import reactor.bus.registry.Registration;
-import reactor.bus.registry.Registries;
-import reactor.bus.registry.Registry;
-import reactor.bus.selector.HeaderResolver;
-import reactor.bus.selector.Selector;
+import reactor.bus.selector.Selectors;
+import reactor.core.queue.internal.MpscLinkedQueue;
 import reactor.core.support.Assert;
 import reactor.core.support.NamedDaemonThreadFactory;
 import reactor.fn.Consumer;
 import reactor.fn.support.CancelConsumerException;
 import reactor.fn.timer.Timer;
 
+import java.util.Queue;
 import java.util.concurrent.TimeUnit;
 
 /**
- * A hashed wheel timer implementation that uses a {@link reactor.bus.registry.Registry} and custom {@link
- * reactor.bus.selector.Selector Selectors} to determine when tasks should be executed.
- *
- * This is specifically useful when RingBuffer HashWheelTimer is not supported (Android).
+ * A hashed wheel timer implementation that doesn't rely on a RingBuffer, which is specifically useful when the RingBuffer
+ * {@link reactor.fn.timer.HashWheelTimer} is not supported (Android). Tasks run on the timer thread.
+ * <p>
+ * Each task is kept in the bucket of the tick it's due at, so that a tick only visits the tasks sharing its bucket
+ * instead of every scheduled task. Scheduling and cancelling are O(1) and go through lock-free queues drained by the
+ * timer thread, which is the only one to touch the wheel. Ticks are computed from the time the timer started rather
+ * than by sleeping a fixed amount of time, so that the time spent running tasks doesn't make the timer drift; ticks
+ * missed while tasks were running are caught up at once.
+ * </p>
  * <p>
- * A {@code SimpleHashWheelTimer} has two variations for scheduling tasks: {@link #schedule(reactor.fn.Consumer,
+ * An {@code EventTimer} has two variations for scheduling tasks: {@link #schedule(reactor.fn.Consumer,
  * long,
  * java.util.concurrent.TimeUnit)} and {@link #schedule(reactor.fn.Consumer, long, java.util.concurrent.TimeUnit,
  * long)} which are for scheduling repeating tasks, and {@link #submit(reactor.fn.Consumer, long,
@@ -50,7 +55,7 @@ import java.util.concurrent.TimeUnit;
  * </p>
  * <p>
  * <code><pre>
- *   SimpleHashWheelTimer timer = new SimpleHashWheelTimer();
+ *   EventTimer timer = EventTimer.create();
  *
  *   timer.schedule(new Consumer&lt;Long&gt;() {
  *     public void accept(Long now) {
@@ -71,72 +76,104 @@ import java.util.concurrent.TimeUnit;
  */
 public class EventTimer implements Timer {
 
+	public static final int DEFAULT_WHEEL_SIZE = 512;
+
 	private static final Logger LOG = LoggerFactory.getLogger(EventTimer.class);
 
-	private final Registry<Consumer<Long>> tasks = Registries.create(true, false, null);
-	private final int    resolution;
-	private final Thread loop;
+	private final Queue<TimerRegistration> scheduled = MpscLinkedQueue.create();
+	private final Queue<TimerRegistration> cancelled = MpscLinkedQueue.create();
+	private final int                      resolution;
+	private final int                      mask;
+	private final long                     resolutionNanos;
+	// the wall clock is only used to timestamp the expirations, ticks and deadlines count from the monotonic clock
+	private final long                     startTime;
+	private final long                     startNanos;
+	private final Thread                   loop;
+
+	// only accessed by the timer thread
+	private final TimerRegistration[] wheel;
+	private       long                tick;
 
 
 	/**
-	 * Create a new {@code SimpleHashWheelTimer} using the default resolution of 50ms.
+	 * Create a new {@code EventTimer} using the default resolution of 50ms.
+	 *
+	 * @return a new started timer
 	 */
-	Timer create() {
+	public static EventTimer create() {
 		return create(50);
 	}
 
 	/**
-	 * Create a new {@code SimpleHashWheelTimer} using the given timer resolution. All times will rounded up to the
+	 * Create a new {@code EventTimer} using the given timer resolution. All times will rounded up to the
 	 * closest
 	 * multiple of this resolution.
 	 *
 	 * @param resolution
 	 * 		the resolution of this timer, in milliseconds
+	 *
+	 * @return a new started timer
 	 */
-	Timer create(final int resolution) {
-		return new EventTimer(resolution);
+	public static EventTimer create(final int resolution) {
+		return create(resolution, DEFAULT_WHEEL_SIZE);
+	}
+
+	/**
+	 * Create a new {@code EventTimer} using the given timer resolution and wheel size. All times will rounded up to
+	 * the closest multiple of this resolution.
+	 *
+	 * @param resolution
+	 * 		the resolution of this timer, in milliseconds
+	 * @param wheelSize
+	 * 		the number of buckets of the wheel, rounded up to a power of 2. The larger the wheel, the fewer tasks
+	 * 		share a bucket.
+	 *
+	 * @return a new started timer
+	 */
+	public static EventTimer create(final int resolution, final int wheelSize) {
+		return new EventTimer(resolution, wheelSize);
 	}
 
 
 	/**
-	 * Create a new {@code SimpleHashWheelTimer} using the given timer resolution. All times will rounded up to the
+	 * Create a new {@code EventTimer} using the given timer resolution. All times will rounded up to the
 	 * closest
 	 * multiple of this resolution.
 	 *
 	 * @param resolution
 	 * 		the resolution of this timer, in milliseconds
+	 * @param wheelSize
+	 * 		the number of buckets of the wheel, rounded up to a power of 2
 	 */
-	private EventTimer(final int resolution) {
+	private EventTimer(final int resolution, final int wheelSize) {
+		Assert.isTrue(resolution > 0, "The resolution must be strictly positive");
+		Assert.isTrue(wheelSize > 1, "The wheel size must be greater than 1");
 		this.resolution = resolution;
+		this.mask = (1 << (32 - Integer.numberOfLeadingZeros(wheelSize - 1))) - 1;
+		this.wheel = new TimerRegistration[mask + 1];
+		this.resolutionNanos = TimeUnit.MILLISECONDS.toNanos(resolution);
+		this.startTime = System.currentTimeMillis();
+		this.startNanos = System.nanoTime();
 
-		this.loop = new NamedDaemonThreadFactory("simple-hash-wheel-timer").newThread(
+		this.loop = new NamedDaemonThreadFactory("event-timer").newThread(
 				new Runnable() {
 					@Override
 					public void run() {
 						while (!Thread.currentThread().isInterrupted()) {
-							long now = now(resolution);
-							for (Registration<? extends Consumer<Long>> reg : tasks.select(now)) {
+							drain();
+							advance();
+
+							// wait for the next tick relative to the start, so that running tasks doesn't delay
+							// the following ticks
+							long wait = startNanos + tick * resolutionNanos - System.nanoTime();
+							if (wait > 0) {
 								try {
-									if (reg.isCancelled() || reg.isPaused()) {
-										continue;
-									}
-									reg.getObject().accept(now);
-								} catch (CancelConsumerException cce) {
-									reg.cancel();
-								} catch (Throwable t) {
-									LOG.error(t.getMessage(), t);
-								} finally {
-									if (reg.isCancelAfterUse()) {
-										reg.cancel();
-									}
+									TimeUnit.NANOSECONDS.sleep(wait);
+								} catch (InterruptedException e) {
+									Thread.currentThread().interrupt();
+									return;
 								}
 							}
-							try {
-								Thread.sleep(resolution);
-							} catch (InterruptedException e) {
-								Thread.currentThread().interrupt();
-								return;
-							}
 						}
 					}
 				}
@@ -158,10 +195,7 @@ public class EventTimer implements Timer {
 		long milliPeriod = TimeUnit.MILLISECONDS.convert(period, timeUnit);
 		Assert.isTrue(milliPeriod % resolution == 0,
 				"Period must be a multiple of timer resolution (e.g. period % resolution == 0 )");
-		return tasks.register(
-				new PeriodSelector(milliPeriod, delayInMilliseconds, resolution),
-				consumer
-		);
+		return schedule(milliPeriod, delayInMilliseconds, consumer);
 	}
 
 	@Override
@@ -177,10 +211,7 @@ public class EventTimer implements Timer {
 	                                                     TimeUnit timeUnit) {
 		Assert.isTrue(!loop.isInterrupted(), "Cannot submit tasks to this timer as it has been cancelled.");
 		long ms = TimeUnit.MILLISECONDS.convert(delay, timeUnit);
-		return tasks.register(
-				new PeriodSelector(ms, ms, resolution),
-				consumer
-		).cancelAfterUse();
+		return schedule(ms, ms, consumer).cancelAfterUse();
 	}
 
 	@Override
@@ -194,38 +225,132 @@ public class EventTimer implements Timer {
 		this.loop.interrupt();
 	}
 
-	private static long now(int resolution) {
-		return (long)(Math.ceil(System.currentTimeMillis() / resolution) * resolution);
+	@Override
+	public String toString() {
+		return String.format("EventTimer { Wheel Size: %d, Resolution: %d }", mask + 1, resolution);
 	}
 
-	private static class PeriodSelector implements Selector<Long> {
-		private final long period;
-		private final long delay;
-		private final long createdMillis;
-		private final int  resolution;
+	private TimerRegistration schedule(long period, long firstDelay, Consumer<Long> consumer) {
+		Assert.notNull(consumer, "Consumer cannot be null.");
+		Assert.isTrue(period >= resolution, "Cannot schedule tasks for amount of time less than timer precision.");
 
-		private PeriodSelector(long period, long delay, int resolution) {
-			this.period = period;
-			this.delay = delay;
-			this.resolution = resolution;
-			this.createdMillis = now(resolution);
+		long elapsed = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(firstDelay);
+		// round up to the next tick so that a task never runs before its delay
+		long deadline = (elapsed + resolutionNanos - 1) / resolutionNanos;
+
+		TimerRegistration r = new TimerRegistration(period, consumer, deadline, period / resolution);
+		scheduled.offer(r);
+		return r;
+	}
+
+	private void drain() {
+		TimerRegistration r;
+		while (null != (r = scheduled.poll())) {
+			if (!r.isCancelled()) {
+				insert(r);
+			}
 		}
+		while (null != (r = cancelled.poll())) {
+			if (r.inWheel) {
+				remove(r);
+			}
+		}
+	}
 
-		@Override
-		public Object getObject() {
-			return period;
+	private void advance() {
+		long now = tick;
+		long nowMillis = startTime + now * resolution;
+		int index = (int) (now & mask);
+
+		TimerRegistration r = wheel[index];
+		TimerRegistration next;
+		while (null != r) {
+			next = r.next;
+			// a bucket also holds the tasks due in later rotations of the wheel
+			if (r.deadline <= now) {
+				remove(r);
+				expire(r, nowMillis);
+			}
+			r = next;
 		}
 
-		@Override
-		public boolean matches(Long key) {
-			long now = key;
-			long period = (long)(Math.ceil((now - createdMillis) / resolution) * resolution);
-			return period >= delay && period % this.period == 0;
+		tick = now + 1;
+	}
+
+	private void expire(TimerRegistration r, long now) {
+		if (r.isCancelled()) {
+			return;
+		}
+		if (!r.isPaused()) {
+			try {
+				r.delegate.accept(now);
+			} catch (CancelConsumerException cce) {
+				r.cancel();
+			} catch (Throwable t) {
+				LOG.error(t.getMessage(), t);
+			}
+			if (r.isCancelAfterUse()) {
+				r.cancel();
+			}
+		}
+		if (!r.isCancelled()) {
+			r.deadline += r.period;
+			insert(r);
+		}
+	}
+
+	private void insert(TimerRegistration r) {
+		// never insert behind the current tick, the task would wait for a whole rotation
+		r.deadline = Math.max(r.deadline, tick);
+		int index = (int) (r.deadline & mask);
+		TimerRegistration head = wheel[index];
+		r.inWheel = true;
+		r.prev = null;
+		r.next = head;
+		if (null != head) {
+			head.prev = r;
+		}
+		wheel[index] = r;
+	}
+
+	private void remove(TimerRegistration r) {
+		if (null != r.prev) {
+			r.prev.next = r.next;
+		} else {
+			wheel[(int) (r.deadline & mask)] = r.next;
+		}
+		if (null != r.next) {
+			r.next.prev = r.prev;
+		}
+		r.inWheel = false;
+		r.prev = null;
+		r.next = null;
+	}
+
+	private final class TimerRegistration extends CachableRegistration<Consumer<Long>> {
+		final Consumer<Long> delegate;
+		final long           period;
+
+		// only accessed by the timer thread
+		long              deadline;
+		boolean           inWheel;
+		TimerRegistration prev;
+		TimerRegistration next;
+
+		TimerRegistration(long milliPeriod, Consumer<Long> delegate, long deadline, long period) {
+			super(Selectors.object(milliPeriod), delegate, null);
+			this.delegate = delegate;
+			this.deadline = deadline;
+			this.period = period;
 		}
 
 		@Override
-		public HeaderResolver getHeaderResolver() {
-			return null;
+		public Registration<Consumer<Long>> cancel() {
+			if (!isCancelled()) {
+				super.cancel();
+				cancelled.offer(this);
+			}
+			return this;
 		}
 	}
 
@@ -19,10 +19,16 @@ package reactor.bus
 
 import groovy.transform.CompileStatic
 import reactor.Environment
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import reactor.bus.alloc.EventAllocator
 import reactor.bus.filter.RoundRobinFilter
+import reactor.bus.publisher.BusPublisher
 import reactor.bus.routing.ConsumerFilteringRouter
+import reactor.core.dispatch.PartitionedDispatcher
 import reactor.core.dispatch.SynchronousDispatcher
 import reactor.fn.Consumer
+import reactor.fn.Function
 import reactor.fn.Functions
 import reactor.fn.support.SingleUseConsumer
 import reactor.rx.Streams
@@ -463,6 +469,193 @@ class EventBusSpec extends Specification {
 	}
 
 
+	def 'Batches of events are routed in order with one selection per key'() {
+		given:
+			'a synchronous EventBus recording the keys without consumers'
+			def missing = []
+			def r = EventBus.config().synchronousDispatcher().consumerNotFoundHandler({ missing << it } as Consumer).get()
+			def received = []
+			r.on($('a'), { received << it.data } as Consumer<Event<String>>)
+
+		when:
+			'a batch is notified on a single key'
+			r.notifyAll('a', ['1', '2', '3'].collect { Event.wrap(it) })
+
+		then:
+			'every event was routed'
+			received == ['1', '2', '3']
+
+		when:
+			'a batch is notified with a key per event'
+			received.clear()
+			r.notifyAll(['a1', 'b1', 'a2', 'c1', 'b2'].collect { Event.wrap(it) }, { it.data[0] } as Function)
+
+		then:
+			'events were routed in order and each missing key was selected once'
+			received == ['a1', 'a2']
+			missing == ['b', 'c']
+	}
+
+	def 'A partitioned Reactor routes events with equal keys in order'() {
+		given:
+			'a reactor sharding events across 4 partitions'
+			def r = EventBus.config().partitioned(4).get()
+			def received = [:].withDefault { Collections.synchronizedList([]) }.asSynchronized()
+			def latch = new CountDownLatch(200)
+			['a', 'b', 'c', 'd'].each { key ->
+				r.on($(key), { received[key] << it.data; latch.countDown() } as Consumer<Event<Integer>>)
+			}
+
+		when:
+			'events are notified one by one and in batches'
+			(0..<100).each { r.notify('abcd'[it % 4], Event.wrap(it)) }
+			r.notifyAll((100..<200).collect { Event.wrap(it) }, { 'abcd'[it.data % 4] } as Function)
+
+		then:
+			'each key has received its events in order'
+			latch.await(5, TimeUnit.SECONDS)
+			r.dispatcher instanceof PartitionedDispatcher
+			((PartitionedDispatcher) r.dispatcher).partitions() == 4
+			(0..<4).every { i -> received['abcd'[i]] == (0..<200).findAll { it % 4 == i } }
+
+		cleanup:
+			r?.dispatcher?.shutdown()
+	}
+
+	def 'A Reactor can route pooled events and recycle them once routed'() {
+		given:
+			'a reactor and an event allocator'
+			def r = EventBus.config().synchronousDispatcher().get()
+			def allocator = EventAllocator.defaultEventAllocator()
+			def events = []
+			def retained = null
+			r.on(U('/items/{id}'), { Event<String> ev ->
+				events << ev
+				if (ev.headers['id'] == '2') {
+					retained = ev.retain()
+				}
+				assert ev.data == 'item ' + ev.headers['id']
+			} as Consumer<Event<String>>)
+
+		when:
+			'data is notified with pooled events'
+			(1..3).each { r.notify('/items/' + it, 'item ' + it, allocator) }
+
+		then:
+			'events are recycled once routed, unless retained'
+			events.size() == 3
+			events[0].data == null
+			!events[0].headers.contains('id')
+			events[2].data == null
+			retained.data == 'item 2'
+			retained.headers['id'] == '2'
+
+		when:
+			'the retained event is released'
+			retained.release()
+
+		then:
+			'it is recycled too'
+			retained.data == null
+	}
+
+	def 'A Publisher from observable keeps pooled events until they are delivered or dropped'() {
+		given:
+			'a publisher buffering 2 events and a subscriber with no demand yet'
+			def r = EventBus.config().synchronousDispatcher().get()
+			def allocator = EventAllocator.defaultEventAllocator()
+			def selector = anonymous()
+			def publisher = r.on(selector, 2, BusPublisher.OverflowStrategy.DROP_OLDEST)
+			def received = []
+			def events = []
+			Subscription subscription = null
+			publisher.subscribe([
+					onSubscribe: { subscription = it },
+					onNext     : { Event<String> ev -> events << ev; received << [ev.key, ev.data] },
+					onError    : { throw it },
+					onComplete : {}
+			] as Subscriber)
+
+		when:
+			'pooled events are notified faster than they are requested'
+			(1..3).each { r.notify(selector.object, 'item ' + it, allocator) }
+			subscription.request(2)
+
+		then:
+			'the buffered events are intact when delivered, and recycled afterwards'
+			received == [[selector.object, 'item 2'], [selector.object, 'item 3']]
+			events.every { it.data == null }
+
+		when:
+			'the subscription is cancelled with buffered pooled events'
+			(4..5).each { r.notify(selector.object, 'item ' + it, allocator) }
+			subscription.cancel()
+			r.notify(selector.object, 'item 6', allocator)
+			subscription = null
+			publisher.subscribe([
+					onSubscribe: { subscription = it; it.request(1) },
+					onNext     : { Event<String> ev -> received << [ev.key, ev.data] },
+					onError    : { throw it },
+					onComplete : {}
+			] as Subscriber)
+			r.notify(selector.object, 'item 7', allocator)
+
+		then:
+			'they are recycled and new events are delivered intact'
+			received[-1] == [selector.object, 'item 7']
+	}
+
+	def 'A Publisher from observable honors demand and bounds its buffer'() {
+		given:
+			'a publisher buffering 2 events per subscriber and a subscriber requesting 1 event'
+			def r = EventBus.config().synchronousDispatcher().get()
+			def selector = anonymous()
+			def publisher = r.on(selector, 2, BusPublisher.OverflowStrategy.DROP_OLDEST)
+			def received = []
+			Subscription subscription = null
+			publisher.subscribe([
+					onSubscribe: { subscription = it; it.request(1) },
+					onNext     : { received << it.data },
+					onError    : { throw it },
+					onComplete : {}
+			] as Subscriber)
+
+		when:
+			'more events than requested are notified'
+			5.times { r.notify(selector.object, Event.wrap(it)) }
+
+		then:
+			'only the requested event was delivered, the most recent ones are buffered'
+			received == [0]
+			publisher.subscriptions[0].lag == 2
+			publisher.subscriptions[0].dropped == 2
+
+		when:
+			'more is requested'
+			subscription.request(5)
+
+		then:
+			'the buffered events are delivered and the remaining demand is kept'
+			received == [0, 3, 4]
+			publisher.subscriptions[0].lag == 0
+			publisher.subscriptions[0].requested == 3
+
+		when:
+			'a subscriber falls behind a failing publisher'
+			def error = null
+			r.on(selector, 1, BusPublisher.OverflowStrategy.FAIL).subscribe([
+					onSubscribe: {},
+					onNext     : {},
+					onError    : { error = it },
+					onComplete : {}
+			] as Subscriber)
+			2.times { r.notify(selector.object, Event.wrap(it)) }
+
+		then:
+			'it gets an error'
+			error instanceof IllegalStateException
+	}
+
 	def 'Creating Stream from observable'() {
 		given:
 			'a source stream with a given observable'
@@ -2,6 +2,8 @@ package reactor.bus
 
 import spock.lang.Specification
 
+import java.nio.ByteBuffer
+
 class HeadersSpec extends Specification {
 
 	def 'Header names are case-insensitive'() {
@@ -144,4 +146,62 @@ class HeadersSpec extends Specification {
 		!headers.contains('b')
 	}
 
+	def 'Headers are case-insensitive and kept in name order'() {
+		given: 'A Headers instance'
+		Event.Headers headers = new Event.Headers()
+
+		when: 'Headers are set with names differing in case'
+		headers.set('b', 'bravo')
+		headers.set('C', 'charlie')
+		headers.set('a', 'alpha')
+		headers.set('B', 'BRAVO')
+
+		then: 'They are looked up and listed case-insensitively, in name order'
+		'BRAVO' == headers.get('b')
+		headers.contains('c')
+		headers.collect { it.t1 } == ['a', 'b', 'C']
+		headers.toString() == '{a=alpha, b=BRAVO, C=charlie}'
+	}
+
+	def 'Headers can be set concurrently without losing updates'() {
+		given: 'A Headers instance'
+		Event.Headers headers = new Event.Headers()
+
+		when: 'Distinct headers are set from several threads'
+		(1..4).collect { t ->
+			Thread.start {
+				100.times { headers.set("h-$t-$it", it) }
+			}
+		}*.join()
+
+		then: 'Every header has been set'
+		headers.asMap().size() == 400
+		headers.get('h-3-42') == 42
+	}
+
+	def 'Headers are serializable, but not from the previous serialized form'() {
+		given: 'Some serialized headers'
+		Event.Headers headers = new Event.Headers()
+		headers.set('a', 'alpha')
+		def bytes = new ByteArrayOutputStream()
+		new ObjectOutputStream(bytes).withCloseable { it.writeObject(headers) }
+
+		when: 'They are deserialized'
+		Event.Headers read = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject()
+
+		then: 'They contain the same headers'
+		read.get('a') == 'alpha'
+
+		when: 'They are deserialized as written by the previous form'
+		def current = ByteBuffer.allocate(8).putLong(ObjectStreamClass.lookup(Event.Headers).serialVersionUID).array()
+		def previous = ByteBuffer.allocate(8).putLong(4984692586458514948L).array()
+		byte[] old = bytes.toByteArray()
+		int at = Collections.indexOfSubList(old as List, current as List)
+		System.arraycopy(previous, 0, old, at, 8)
+		new ObjectInputStream(new ByteArrayInputStream(old)).readObject()
+
+		then: 'It fails cleanly'
+		thrown(InvalidClassException)
+	}
+
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus
+
+import reactor.bus.filter.PassThroughFilter
+import reactor.bus.registry.Registries
+import reactor.bus.routing.ParallelRouter
+import reactor.core.Dispatcher
+import reactor.core.dispatch.ThreadPoolExecutorDispatcher
+import reactor.fn.Consumer
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import static reactor.bus.selector.Selectors.$
+
+class ParallelRouterSpec extends Specification {
+
+	def "Many consumers of one key are routed in parallel chunks before the completion consumer is notified"() {
+		given: "A parallel router over 4 workers and 100 consumers of the same key"
+			def workers = new ThreadPoolExecutorDispatcher(4, 64)
+			def eventRouter = new ParallelRouter(new PassThroughFilter(), workers, 4, 8)
+			def registry = Registries.create()
+			def routed = new AtomicInteger()
+			def threads = new ConcurrentHashMap()
+			100.times {
+				registry.register($('key'), { ev ->
+					threads.put(Thread.currentThread(), true)
+					routed.incrementAndGet()
+				} as Consumer)
+			}
+			def completed = new CountDownLatch(1)
+			def routedOnCompletion = -1
+
+		when: "An event is routed to them"
+			eventRouter.route('key', Event.wrap('data'), registry.select('key'),
+					{ ev -> routedOnCompletion = routed.get(); completed.countDown() } as Consumer, null)
+
+		then: "Every consumer is invoked once, from several threads, before the completion consumer"
+			completed.await(5, TimeUnit.SECONDS)
+			routedOnCompletion == 100
+			routed.get() == 100
+			threads.size() > 1
+
+		cleanup:
+			workers.shutdown()
+	}
+
+	def "Few consumers of one key are routed inline"() {
+		given: "A parallel router and fewer consumers than its inline threshold"
+			def workers = new ThreadPoolExecutorDispatcher(4, 64)
+			def eventRouter = new ParallelRouter(new PassThroughFilter(), workers, 4)
+			def registry = Registries.create()
+			def threads = []
+			4.times {
+				registry.register($('key'), { ev -> threads << Thread.currentThread() } as Consumer)
+			}
+			def completion = Mock(Consumer)
+
+		when: "An event is routed to them"
+			eventRouter.route('key', Event.wrap('data'), registry.select('key'), completion, null)
+
+		then: "They are all invoked by the calling thread before route returns"
+			threads == [Thread.currentThread()] * 4
+			1 * completion.accept(_)
+
+		cleanup:
+			workers.shutdown()
+	}
+
+	def "Chunks the workers can't take are routed by the calling thread"() {
+		given: "A parallel router without inline threshold over workers refusing any task"
+			def workers = Stub(Dispatcher) {
+				alive() >> true
+				inContext() >> false
+				dispatch(*_) >> { throw new IllegalStateException("shut down") }
+			}
+			def eventRouter = new ParallelRouter(new PassThroughFilter(), workers, 4, 0)
+			def registry = Registries.create()
+			def routed = new AtomicInteger()
+			def completion = Mock(Consumer)
+
+		when: "An event is routed to a single consumer"
+			registry.register($('key'), { ev -> routed.incrementAndGet() } as Consumer)
+			eventRouter.route('key', Event.wrap('data'), registry.select('key'), completion, null)
+
+		then: "It is routed inline"
+			routed.get() == 1
+			1 * completion.accept(_)
+
+		when: "An event is routed to more consumers than one chunk"
+			7.times { registry.register($('key'), { ev -> routed.incrementAndGet() } as Consumer) }
+			eventRouter.route('key', Event.wrap('data'), registry.select('key'), completion, null)
+
+		then: "Every chunk is routed before the completion consumer is notified"
+			routed.get() == 9
+			1 * completion.accept(_)
+	}
+
+	def "An EventBus can be configured to route in parallel"() {
+		given: "An EventBus with a parallel event router"
+			def workers = new ThreadPoolExecutorDispatcher(2, 64)
+			def bus = EventBus.config().synchronousDispatcher().parallelEventRouting(workers, 2).get()
+			def latch = new CountDownLatch(50)
+			50.times {
+				bus.on($('key'), { ev -> latch.countDown() } as Consumer)
+			}
+
+		when: "An event is notified"
+			bus.notify('key', Event.wrap('data'))
+
+		then: "Every consumer receives it"
+			bus.router instanceof ParallelRouter
+			latch.await(5, TimeUnit.SECONDS)
+
+		cleanup:
+			workers.shutdown()
+	}
+
+}
@@ -17,11 +17,15 @@
 package reactor.bus
 
 import reactor.bus.registry.CachingRegistry
+import reactor.bus.registry.IndexedRegistry
 import reactor.bus.registry.Registry
 import reactor.bus.registry.SimpleCachingRegistry
 import spock.lang.Specification
 
 import static reactor.bus.selector.Selectors.$
+import static reactor.bus.selector.Selectors.T
+import static reactor.bus.selector.Selectors.U
+import static reactor.bus.selector.Selectors.predicate
 
 /**
  * Created by jbrisbin on 1/29/15.
@@ -48,7 +52,91 @@ class RegistrySpec extends Specification {
 
     where:
       regs << [new CachingRegistry<String>(true, true, null),
-               new SimpleCachingRegistry<String>(true, true, null)]
+               new SimpleCachingRegistry<String>(true, true, null),
+               new IndexedRegistry<String>(null)]
+
+  }
+
+  def "IndexedRegistry selects through its indexes in registration order"() {
+
+    given: "an IndexedRegistry with every kind of Selector"
+      def notFound = []
+      def regs = new IndexedRegistry<String>({ notFound << it } as reactor.fn.Consumer)
+      regs.register $("/a/b"), "object"
+      regs.register T(CharSequence), "type"
+      regs.register U("/a/{id}"), "path"
+      regs.register predicate({ it.toString().startsWith("/a") } as reactor.fn.Predicate), "predicate"
+      regs.register U("/b/**"), "other path"
+      regs.register T(Number), "number"
+
+    when: "keys are selected"
+      def ab = regs.select("/a/b")*.object
+      def bc = regs.select("/b/c")*.object
+      def number = regs.select(1l)*.object
+      def type = regs.select(Integer)*.object
+      def none = regs.select(new Object())
+
+    then: "every matching Registration is selected once, in registration order"
+      ab == ["object", "type", "path", "predicate"]
+      bc == ["type", "other path"]
+      number == ["number"]
+      type == ["number"]
+      !none
+      notFound.size() == 1
+
+    when: "a key is unregistered"
+      def removed = regs.unregister("/a/b")
+
+    then: "all the Registrations it matched are gone"
+      removed
+      regs.select("/b/c")*.object == ["other path"]
+      regs.collect { it.object } == ["other path", "number"]
+
+  }
+
+  def "IndexedRegistry tests a null key against its Selectors and hides its indexes"() {
+
+    given: "an IndexedRegistry with an object Selector and a predicate Selector"
+      def regs = new IndexedRegistry<String>(null)
+      regs.register $("key"), "object"
+      regs.register predicate({ it == "other" } as reactor.fn.Predicate), "predicate"
+
+    when: "a null key is selected and unregistered"
+      def selected = regs.select(null)
+      def removed = regs.unregister(null)
+
+    then: "nothing matches it and nothing is removed"
+      !selected
+      !removed
+      regs.collect { it.object } == ["object", "predicate"]
+
+    when: "the selection of a key is modified"
+      regs.select("key").clear()
+
+    then: "it is rejected and the registry is unchanged"
+      thrown(UnsupportedOperationException)
+      regs.select("key")*.object == ["object"]
+      regs.select("other")*.object == ["predicate"]
+
+  }
+
+  def "IndexedRegistry merges URI path templates into one trie"() {
+
+    given: "an IndexedRegistry with templates sharing segments"
+      def regs = new IndexedRegistry<String>(null)
+      regs.register U("/users/{id}"), "user"
+      regs.register U("/users/{id}/posts/{post}"), "post"
+      regs.register U("/users/me/posts/{post}"), "my post"
+      regs.register U("/users/{id}/**"), "user tree"
+      regs.register U("/files/{name}.json"), "json"
+
+    expect: "keys select the matching templates through literal and variable segments"
+      regs.select("/users/42")*.object == ["user"]
+      regs.select("/users/me/posts/7")*.object == ["post", "my post", "user tree"]
+      regs.select("/users/42/posts/7")*.object == ["post", "user tree"]
+      regs.select("/users/42/likes")*.object == ["user tree"]
+      regs.select("/files/a.json")*.object == ["json"]
+      !regs.select("/posts/7")
 
   }
 
@@ -16,10 +16,13 @@
 
 package reactor.bus
 
+import reactor.bus.selector.JsonPathSelector
 import reactor.bus.selector.MatchAllSelector
 import reactor.bus.selector.SetMembershipSelector
+import reactor.bus.selector.UriPathTemplate
 import reactor.bus.selector.UriSelector
 import reactor.fn.Functions
+import reactor.io.buffer.Buffer
 import spock.lang.Ignore
 import spock.lang.Specification
 
@@ -113,6 +116,69 @@ class SelectorSpec extends Specification {
 
 	}
 
+	def "URI path templates match without regular expressions"() {
+
+		given:
+			"A UriPathTemplate"
+			def tmpl = new UriPathTemplate(template)
+
+		when:
+			"The template is matched"
+			def params = tmpl.match(uri)
+
+		then:
+			"The uri matches and the path parameters are extracted"
+			tmpl.matches(uri) == matches
+			params == expected
+
+		where:
+			template                    | uri                     | matches | expected
+			"/path/{id}"                | "/path/1"               | true    | [id: "1"]
+			"/path/{id}"                | "/path/1/2"             | false   | [:]
+			"/path/{id}"                | "/path/1.json"          | false   | [:]
+			"/path/{id}.json"           | "/path/1.json"          | true    | [id: "1"]
+			"/path/{id}/{sub}"          | "/path/1/"              | true    | [id: "1", sub: ""]
+			"/path/**/{resource}"       | "/path/to/some/res"     | true    | [resource: "res"]
+			"/path/{rest}**"            | "/path/to/some/res"     | true    | [rest: "to/some/res"]
+			"/path/{a}-{b}"             | "/path/x-y-z"           | true    | [a: "x-y", b: "z"]
+			"/path/{dir}**/{file}"      | "/path/a/b/c"           | true    | [dir: "a/b", file: "c"]
+			"/path/{a}-{b}/end"         | "/path/x-y/other"       | false   | [:]
+			"/path/**"                  | "/other/path"           | false   | [:]
+			"/path/[0-9]+"              | "/path/42"              | true    | [:]
+	}
+
+	def "JsonPath selectors match raw JSON documents by streaming over their tokens"() {
+
+		given:
+			"A JsonPathSelector"
+			def sel = new JsonPathSelector(path)
+
+		expect:
+			"String, byte[] and Buffer documents are matched alike, without consuming the Buffer"
+			sel.matches(json) == matches
+			sel.matches(json.bytes) == matches
+			def buffer = Buffer.wrap(json)
+			sel.matches(buffer) == matches
+			buffer.asString() == json
+
+		where:
+			path                              | json                                        | matches
+			'$.a'                             | '{"a":1}'                                   | true
+			'$.a'                             | '{"b":1,"a":false}'                         | true
+			'$.a'                             | '{"a":null}'                                | false
+			'$.a'                             | '{"a":[]}'                                  | false
+			'$.a.b'                           | '{"x":{"b":1},"a":{"b":{"c":1}}}'           | true
+			'$.a.b'                           | '{"a":1}'                                   | false
+			"\$['a']['b']"                   | '{"a":{"b":"c"}}'                           | true
+			'$.data[?(@.run == 5)]'           | '{"data":[{"run":4},{"x":[5],"run":5.0}]}'  | true
+			'$.data[?(@.run == 5)]'           | '{"data":[{"run":4},1,{"run":{"a":5}}]}'    | false
+			'$.data[?(@.run == 5)]'           | '{"data":{"run":5}}'                        | true
+			'$.data[?(@.r.s == \'on\')]'    | '{"data":[{"r":{"t":1,"s":"on"}}]}'         | true
+			'$.data[?(@.r.s == true)]'        | '{"data":[{"r":{"s":false}}]}'              | false
+			'$.data[?(@.run == 5)]'           | '{"nodata":1}'                              | false
+			'$.data[0].run'                   | '{"data":[{"run":5}]}'                      | true
+	}
+
 	def "Selectors can be matched on URIs"() {
 
 		given:
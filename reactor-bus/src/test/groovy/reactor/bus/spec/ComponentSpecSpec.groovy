@@ -16,6 +16,7 @@
 package reactor.bus.spec
 
 import reactor.bus.EventBus
+import reactor.bus.registry.IndexedRegistry
 import reactor.core.dispatch.TraceableDelegatingDispatcher
 import spock.lang.Specification
 
@@ -45,5 +46,20 @@ class ComponentSpecSpec extends Specification {
 			reactor.getDispatcher() instanceof TraceableDelegatingDispatcher
 	}
 
+	def "Indexed consumer registry is used"() {
+
+		when:
+			"a Reactor with an indexed consumer registry is created"
+			def notFound = []
+			def reactor = EventBus.config().synchronousDispatcher().indexedConsumerRegistry().
+					consumerNotFoundHandler({ notFound << it } as reactor.fn.Consumer).get()
+			reactor.notify("missing")
+
+		then:
+			"Reactor uses an IndexedRegistry with the not found handler"
+			reactor.consumerRegistry instanceof IndexedRegistry
+			notFound == ["missing"]
+	}
+
 }
 
@@ -0,0 +1,123 @@
+package reactor.bus.timer
+
+import reactor.fn.Consumer
+import reactor.fn.support.CancelConsumerException
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class EventTimerSpec extends Specification {
+
+	def "EventTimer can schedule recurring tasks"() {
+		given: "a new timer"
+			def timer = EventTimer.create(10, 8)
+			def latch = new CountDownLatch(10)
+
+		when: "a task is scheduled"
+			def registration = timer.schedule({ Long now -> latch.countDown() } as Consumer<Long>, 50, TimeUnit.MILLISECONDS, 50)
+
+		then: "the latch was counted down"
+			latch.await(1, TimeUnit.SECONDS)
+			registration.selector.object == 50
+
+		cleanup:
+			timer.cancel()
+	}
+
+	def "EventTimer runs submitted tasks once after their delay, beyond a single wheel rotation"() {
+		given: "a new timer whose wheel spans 40 milliseconds"
+			def timer = EventTimer.create(10, 4)
+			def delays = [330, 20, 70]
+			def runs = new ConcurrentLinkedQueue()
+			def latch = new CountDownLatch(delays.size())
+			def start = System.currentTimeMillis()
+
+		when: "tasks are submitted, the longest delay first"
+			def registrations = delays.collect { delay ->
+				timer.submit({ Long now ->
+					runs << [delay: delay, elapsed: System.currentTimeMillis() - start]
+					latch.countDown()
+				} as Consumer<Long>, delay, TimeUnit.MILLISECONDS)
+			}
+
+		then: "they ran in the order of their delays, each after its delay"
+			latch.await(10, TimeUnit.SECONDS)
+			runs*.delay == [20, 70, 330]
+			runs.every { it.elapsed >= it.delay }
+
+		when: "a task with a longer delay has run"
+			def probe = new CountDownLatch(1)
+			timer.submit({ Long now -> probe.countDown() } as Consumer<Long>, 100, TimeUnit.MILLISECONDS)
+			probe.await(10, TimeUnit.SECONDS)
+
+		then: "the tasks didn't run again"
+			runs.size() == 3
+			registrations.every { it.cancelled }
+
+		cleanup:
+			timer.cancel()
+	}
+
+	def "EventTimer doesn't run cancelled or paused tasks"() {
+		given: "a new timer"
+			def timer = EventTimer.create(10, 8)
+			def runs = new AtomicInteger()
+			def latch = new CountDownLatch(1)
+
+		when: "many tasks are submitted and most of them cancelled"
+			def registrations = (1..1000).collect {
+				timer.submit({ Long now -> runs.incrementAndGet() } as Consumer<Long>, 300 + it % 200, TimeUnit.MILLISECONDS)
+			}
+			registrations.take(990)*.cancel()
+			def paused = timer.submit({ Long now -> latch.countDown() } as Consumer<Long>, 50, TimeUnit.MILLISECONDS)
+			paused.pause()
+
+		and: "a task due after all of them has run"
+			def probe = new CountDownLatch(1)
+			timer.submit({ Long now -> probe.countDown() } as Consumer<Long>, 600, TimeUnit.MILLISECONDS)
+			probe.await(10, TimeUnit.SECONDS)
+
+		then: "only the remaining ones ran"
+			runs.get() == 10
+			latch.count == 1
+
+		when: "the paused task is resumed"
+			paused.resume()
+
+		then: "it runs"
+			latch.await(10, TimeUnit.SECONDS)
+
+		cleanup:
+			timer.cancel()
+	}
+
+	def "EventTimer cancels recurring tasks throwing CancelConsumerException and keeps running the others"() {
+		given: "a new timer"
+			def timer = EventTimer.create(10)
+			def runs = new AtomicInteger()
+			def slowRuns = new CountDownLatch(20)
+
+		when: "a task cancelling itself and a slow task are scheduled"
+			def registration = timer.schedule({ Long now ->
+				if (runs.incrementAndGet() == 3) {
+					throw new CancelConsumerException()
+				}
+			} as Consumer<Long>, 10, TimeUnit.MILLISECONDS)
+			timer.schedule({ Long now ->
+				Thread.sleep(5)
+				slowRuns.countDown()
+			} as Consumer<Long>, 10, TimeUnit.MILLISECONDS)
+
+		then: "the slow task kept running while the first one stopped"
+			slowRuns.await(10, TimeUnit.SECONDS)
+			runs.get() == 3
+			registration.cancelled
+
+		cleanup:
+			timer.cancel()
+	}
+
+}
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public final class CachingRegistryTests {
 
@@ -129,6 +130,73 @@ public final class CachingRegistryTests {
 	}
 
 
+	@Test
+	public void cacheIsOnlyRefreshedForKeysMatchingANewRegistration() {
+		this.cachingRegistry.register(Selectors.$("selector"), "alpha");
+
+		this.cachingRegistry.select("selector");
+		this.cachingRegistry.select("selector");
+
+		assertEquals(1, this.cacheMisses.get());
+
+		this.cachingRegistry.register(Selectors.$("selector2"), "bravo");
+
+		this.cachingRegistry.select("selector");
+		this.cachingRegistry.select("selector2");
+
+		assertEquals(2, this.cacheMisses.get());
+	}
+
+	@Test
+	public void cacheIsOnlyRefreshedForSelectionsHoldingACancelledRegistration() {
+		Registration<?> alpha = this.cachingRegistry.register(Selectors.$("selector"), "alpha");
+		this.cachingRegistry.register(Selectors.$("selector2"), "bravo");
+
+		this.cachingRegistry.select("selector");
+		this.cachingRegistry.select("selector2");
+
+		assertEquals(2, this.cacheMisses.get());
+
+		alpha.cancel();
+
+		assertEquals(0, this.cachingRegistry.select("selector").size());
+		assertEquals(1, this.cachingRegistry.select("selector2").size());
+		assertEquals(3, this.cacheMisses.get());
+	}
+
+	@Test
+	public void cacheIsBoundedAndRecordsStatistics() {
+		CachingRegistry<Object> registry = new CachingRegistry<Object>(true, true, null, 16);
+		registry.register(Selectors.$("selector"), "alpha");
+
+		for (int i = 0; i < 100; i++) {
+			registry.select("key-" + i);
+		}
+		registry.select("selector");
+		registry.select("selector");
+
+		assertTrue(registry.getCacheSize() <= 16);
+		assertEquals(101, registry.getCacheMisses());
+		assertEquals(1, registry.getCacheHits());
+		assertEquals(101 - registry.getCacheSize(), registry.getCacheEvictions());
+	}
+
+	@Test
+	public void recentlySelectedKeysSurviveEviction() {
+		CachingRegistry<Object> registry = new CachingRegistry<Object>(true, true, null, 16);
+		registry.register(Selectors.$("hot"), "alpha");
+
+		registry.select("hot");
+		for (int i = 0; i < 100; i++) {
+			registry.select("key-" + i);
+			registry.select("hot");
+		}
+
+		assertTrue(registry.getCacheSize() <= 16);
+		assertEquals(101, registry.getCacheMisses());
+		assertEquals(100, registry.getCacheHits());
+	}
+
 	//Issue : https://github.com/eventBus/eventBus/issues/237
 	@Test
 	public void invokeConsumersWithCustomSelector() {
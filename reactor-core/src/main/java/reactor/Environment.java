@@ -23,6 +23,9 @@ import reactor.core.DispatcherSupplier;
 import reactor.core.config.*;
 import reactor.core.convert.StandardConverters;
 import reactor.core.dispatch.*;
+import reactor.core.dispatch.affinity.AffinityStrategy;
+import reactor.core.dispatch.affinity.CpuSet;
+import reactor.core.dispatch.affinity.LinuxAffinityStrategy;
 import reactor.core.dispatch.wait.AgileWaitingStrategy;
 import reactor.core.internal.PlatformDependent;
 import reactor.fn.Consumer;
@@ -482,6 +485,20 @@ public class Environment implements Iterable<Map.Entry<String, Dispatcher>>, Clo
 				new AgileWaitingStrategy());
 	}
 
+	/**
+	 * Create a pool of {@code cpus.size()} dispatchers, each one pinned to a distinct CPU of the given set with the
+	 * best {@link AffinityStrategy} for the current platform.
+	 *
+	 * @param name the dispatcher threads name prefix
+	 * @param cpus the CPUs to pin the dispatcher threads to, e.g. {@link CpuSet#available()}
+	 * @return a new dispatcher pool
+	 * @since 2.0
+	 */
+	public static DispatcherSupplier newCachedDispatchers(String name, CpuSet cpus) {
+		return createDispatcherFactory(name, cpus.size(), 1024, null, ProducerType.MULTI,
+				new AgileWaitingStrategy(), cpus, LinuxAffinityStrategy.forPlatform());
+	}
+
 	public static DispatcherSupplier newFanOutCachedDispatchers(final int poolsize, String name) {
 		return createDispatcherFactory(name, poolsize, 1024, null, ProducerType.SINGLE,
 				new AgileWaitingStrategy());
@@ -507,6 +524,17 @@ public class Environment implements Iterable<Map.Entry<String, Dispatcher>>, Clo
 				null);
 	}
 
+	private static WorkStealingDispatcher createWorkStealingDispatcher(DispatcherConfiguration
+			                                                                   dispatcherConfiguration) {
+		int size = getSize(dispatcherConfiguration, 0);
+		int backlog = getBacklog(dispatcherConfiguration, 16384);
+
+		return new WorkStealingDispatcher(dispatcherConfiguration.getName(),
+				size,
+				backlog,
+				null);
+	}
+
 	private static RingBufferDispatcher createRingBufferDispatcher(DispatcherConfiguration dispatcherConfiguration) {
 		int backlog = getBacklog(dispatcherConfiguration, 1024);
 		return new RingBufferDispatcher(dispatcherConfiguration.getName(),
@@ -824,6 +852,34 @@ public class Environment implements Iterable<Map.Entry<String, Dispatcher>>, Clo
 	                                                         final Consumer<Throwable> errorHandler,
 	                                                         final ProducerType producerType,
 	                                                         final WaitStrategy waitStrategy) {
+		return createDispatcherFactory(name, poolsize, bufferSize, errorHandler, producerType, waitStrategy, null,
+				AffinityStrategy.NONE);
+	}
+
+	/**
+	 * Create a RingBuffer pool that will clone up to {@param poolSize} generated dispatcher and return a different one
+	 * on a round robin fashion each time {@link Supplier#get()} is called, or the same one for a given key when
+	 * {@link DispatcherSupplier#get(Object)} is called. If a {@link CpuSet} is given, the dispatcher at index {@code i}
+	 * pins its thread to {@code cpus.get(i)} with the given {@link AffinityStrategy} before running any other task.
+	 *
+	 * @param name
+	 * @param poolsize
+	 * @param bufferSize
+	 * @param errorHandler
+	 * @param producerType
+	 * @param waitStrategy
+	 * @param cpus             the CPUs to pin dispatcher threads to, or null to leave them unpinned
+	 * @param affinityStrategy the strategy used to pin dispatcher threads
+	 * @return
+	 */
+	public static DispatcherSupplier createDispatcherFactory(final String name,
+	                                                         final int poolsize,
+	                                                         final int bufferSize,
+	                                                         final Consumer<Throwable> errorHandler,
+	                                                         final ProducerType producerType,
+	                                                         final WaitStrategy waitStrategy,
+	                                                         final CpuSet cpus,
+	                                                         final AffinityStrategy affinityStrategy) {
 		return new DispatcherSupplier() {
 			volatile int roundRobinIndex = -1;
 			Dispatcher[] dispatchers = new Dispatcher[poolsize];
@@ -861,13 +917,22 @@ public class Environment implements Iterable<Map.Entry<String, Dispatcher>>, Clo
 				
 				return roundRobinIndex;
 			}
+
+			@Override
+			public Dispatcher get(Object key) {
+				int h = key.hashCode();
+				h ^= (h >>> 16);
+				return get((h & Integer.MAX_VALUE) % poolsize);
+			}
 			
 			@Override
 			public Dispatcher get() {
 
 				// This way we are consistent about the dispatcher index we are manipulating.
-				int index = getNextIndex();
-				
+				return get(getNextIndex());
+			}
+
+			private Dispatcher get(final int index) {
 				// use a temporary variable to reduce the number of reads of the field
 				Dispatcher dispatcher = dispatchers[index];
 				
@@ -886,6 +951,16 @@ public class Environment implements Iterable<Map.Entry<String, Dispatcher>>, Clo
 							} else {
 								dispatchers[index] = new MpscDispatcher(name, bufferSize);
 							}
+
+							if (cpus != null) {
+								final int cpu = cpus.get(index);
+								dispatchers[index].execute(new Runnable() {
+									@Override
+									public void run() {
+										affinityStrategy.bind(cpu);
+									}
+								});
+							}
 							
 							dispatcher = dispatchers[index];
 						}
@@ -926,6 +1001,8 @@ public class Environment implements Iterable<Map.Entry<String, Dispatcher>>, Clo
 			dispatcher = createThreadPoolExecutorDispatcher(dispatcherConfiguration);
 		} else if (DispatcherType.WORK_QUEUE == dispatcherConfiguration.getType()) {
 			dispatcher = createWorkQueueDispatcher(dispatcherConfiguration);
+		} else if (DispatcherType.WORK_STEALING == dispatcherConfiguration.getType()) {
+			dispatcher = createWorkStealingDispatcher(dispatcherConfiguration);
 		}
 
 		return dispatcher;
@@ -938,14 +1015,20 @@ public class Environment implements Iterable<Map.Entry<String, Dispatcher>>, Clo
 			if (!dispatcherConfiguration.getName().equalsIgnoreCase(name)) continue;
 
 			if (DispatcherType.DISPATCHER_GROUP == dispatcherConfiguration.getType()) {
+				CpuSet cpus = dispatcherConfiguration.getAffinity();
+				int size = dispatcherConfiguration.getSize() == 0 ?
+						(cpus != null ? cpus.size() : PROCESSORS) :
+						dispatcherConfiguration.getSize();
 				addCachedDispatchers(dispatcherConfiguration.getName(),
 						createDispatcherFactory(
 								dispatcherConfiguration.getName(),
-								dispatcherConfiguration.getSize() == 0 ? PROCESSORS : dispatcherConfiguration.getSize(),
+								size,
 								dispatcherConfiguration.getBacklog(),
 								null,
 								ProducerType.MULTI,
-								new AgileWaitingStrategy()
+								new AgileWaitingStrategy(),
+								cpus,
+								cpus != null ? LinuxAffinityStrategy.forPlatform() : AffinityStrategy.NONE
 						));
 			}
 		}
@@ -20,6 +20,7 @@ import reactor.core.dispatch.InsufficientCapacityException;
 import reactor.fn.Consumer;
 import reactor.fn.Resource;
 
+import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
@@ -64,8 +65,23 @@ public interface Dispatcher extends Executor, Resource {
 	                  Consumer<E> eventConsumer,
 	                  Consumer<Throwable> errorConsumer) throws InsufficientCapacityException;
 
-
-
+	/**
+	 * Instruct the {@code Dispatcher} to dispatch each of the {@code events} in order. Implementations backed by a
+	 * shared queue claim the necessary capacity once for the whole batch instead of once per event, which makes this
+	 * the cheapest way for a bulk producer to hand over many events. Each event is routed independently: if the
+	 * {@code eventConsumer} fails for one event, the {@code errorConsumer} will be called and the remaining events are
+	 * still dispatched.
+	 *
+	 * @param events             The events to dispatch
+	 * @param eventConsumer      The consumer that is driven for each event if dispatch succeeds
+	 * @param errorConsumer      The consumer that is invoked if dispatch fails. May be {@code null}
+	 * @param <E>                type of the events
+	 * @throws IllegalStateException If the {@code Dispatcher} is not {@link Dispatcher#alive() alive}
+	 * @since 2.0
+	 */
+	<E> void dispatchAll(List<E> events,
+	                     Consumer<E> eventConsumer,
+	                     Consumer<Throwable> errorConsumer);
 
 	/**
 	 * Instruct the {@code Dispatcher} to create a worker {@link org.reactivestreams.Processor} to handle backpressure reactively.
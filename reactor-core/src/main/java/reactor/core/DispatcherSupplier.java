@@ -25,4 +25,14 @@ import reactor.fn.Supplier;
  * @since 2.0
  */
 public interface DispatcherSupplier extends Resource, Supplier<Dispatcher> {
+
+	/**
+	 * Return the dispatcher assigned to the given {@code key}. Repeated calls with equal keys return the same
+	 * dispatcher, and therefore the same thread and, if the supplier pins its dispatchers, the same CPU.
+	 *
+	 * @param key the routing key
+	 * @return the dispatcher assigned to this key
+	 */
+	Dispatcher get(Object key);
+
 }
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.alloc;
+
+import reactor.core.support.Assert;
+import reactor.fn.Supplier;
+import reactor.fn.timer.TimeUtils;
+import reactor.jarjar.jsr166e.LongAdder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A reference counting {@link Allocator} that doesn't lock. Each thread allocates from its own free list and, when it
+ * runs dry, reclaims the objects other threads released on its behalf from a lock-free stripe. An object released by
+ * a thread that didn't allocate it is pushed back to the allocating thread's stripe so that objects keep flowing back
+ * to where they're needed, e.g. from the consumers to the producers of a dispatcher. The pool grows when every
+ * stripe is empty.
+ *
+ * @param <T> the type of pooled objects
+ * @since 2.0
+ */
+public class StripedAllocator<T extends Recyclable> implements Allocator<T> {
+
+	private static final int DEFAULT_INITIAL_SIZE = 2048;
+	private static final int MAX_LOCAL_SIZE       = 256;
+	private static final int MIN_EXPANSION        = 16;
+
+	private final Supplier<T>                                 factory;
+	private final AtomicReferenceArray<StripedReference<T>>   stripes;
+	private final int                                         mask;
+	private final int                                         expansion;
+	private final ThreadLocal<LocalPool<T>>                   localPool;
+
+	private final LongAdder hits       = new LongAdder();
+	private final LongAdder misses     = new LongAdder();
+	private final LongAdder expansions = new LongAdder();
+	private final LongAdder size       = new LongAdder();
+
+	public StripedAllocator(Supplier<T> factory) {
+		this(DEFAULT_INITIAL_SIZE, factory);
+	}
+
+	public StripedAllocator(int initialSize, Supplier<T> factory) {
+		this(initialSize, Runtime.getRuntime().availableProcessors(), factory);
+	}
+
+	/**
+	 * Create a {@code StripedAllocator} with the given initial size spread over at least {@code stripes} stripes.
+	 *
+	 * @param initialSize the number of objects to create upfront
+	 * @param stripes     the minimum number of stripes, rounded up to a power of 2
+	 * @param factory     the factory of pooled objects
+	 */
+	public StripedAllocator(int initialSize, int stripes, Supplier<T> factory) {
+		Assert.isTrue(stripes > 0, "The number of stripes must be strictly positive");
+		Assert.notNull(factory, "The object factory must not be null");
+		int n = 1;
+		while (n < stripes) {
+			n <<= 1;
+		}
+		this.factory = factory;
+		this.stripes = new AtomicReferenceArray<StripedReference<T>>(n);
+		this.mask = n - 1;
+		this.expansion = Math.max(MIN_EXPANSION, initialSize / n);
+		this.localPool = new ThreadLocal<LocalPool<T>>() {
+			@Override
+			protected LocalPool<T> initialValue() {
+				return new LocalPool<T>(stripeIndex(Thread.currentThread()));
+			}
+		};
+
+		StripedReference<T> ref;
+		for (int i = 0; i < initialSize; i++) {
+			ref = newReference(i & mask);
+			ref.next = this.stripes.get(ref.stripe);
+			this.stripes.set(ref.stripe, ref);
+		}
+	}
+
+	@Override
+	public Reference<T> allocate() {
+		LocalPool<T> local = localPool.get();
+		StripedReference<T> ref = local.poll();
+		if (null != ref) {
+			hits.increment();
+		} else {
+			misses.increment();
+			ref = reclaim(local);
+		}
+		ref.owner = local;
+		ref.retain();
+		return ref;
+	}
+
+	@Override
+	public List<Reference<T>> allocateBatch(int size) {
+		List<Reference<T>> refs = new ArrayList<Reference<T>>(size);
+		for (int i = 0; i < size; i++) {
+			refs.add(allocate());
+		}
+		return refs;
+	}
+
+	@Override
+	public void release(List<Reference<T>> batch) {
+		if (null != batch && !batch.isEmpty()) {
+			for (Reference<T> ref : batch) {
+				ref.release();
+			}
+		}
+	}
+
+	/**
+	 * Return the number of allocations served from the calling thread's own free list.
+	 *
+	 * @return the number of pool hits
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Return the number of allocations that found the calling thread's free list empty and had to reclaim objects
+	 * from the shared stripes or expand the pool.
+	 *
+	 * @return the number of pool misses
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Return the number of times the pool had to grow because every stripe was empty.
+	 *
+	 * @return the number of pool expansions
+	 */
+	public long getExpansions() {
+		return expansions.sum();
+	}
+
+	/**
+	 * Return the total number of objects created by this allocator.
+	 *
+	 * @return the pool size
+	 */
+	public long getSize() {
+		return size.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "StripedAllocator{" +
+				"size=" + getSize() +
+				", hits=" + getHits() +
+				", misses=" + getMisses() +
+				", expansions=" + getExpansions() +
+				'}';
+	}
+
+	private StripedReference<T> reclaim(LocalPool<T> local) {
+		StripedReference<T> chain;
+		for (int i = 0; i <= mask; i++) {
+			// taking the whole chain at once is immune to ABA, unlike popping a single node
+			chain = stripes.getAndSet((local.stripe + i) & mask, null);
+			if (null != chain) {
+				StripedReference<T> rest = local.offerAll(chain.next);
+				chain.next = null;
+				if (null != rest) {
+					// keep whatever doesn't fit in the local free list on the stripe for later
+					push(local.stripe, rest);
+				}
+				return chain;
+			}
+		}
+
+		expansions.increment();
+		for (int i = 1; i < expansion; i++) {
+			local.offer(newReference(local.stripe));
+		}
+		return newReference(local.stripe);
+	}
+
+	private void recycle(StripedReference<T> ref) {
+		LocalPool<T> owner = ref.owner;
+		ref.owner = null;
+		if (null != owner && owner.thread == Thread.currentThread() && owner.offer(ref)) {
+			return;
+		}
+		ref.next = null;
+		push(null != owner ? owner.stripe : ref.stripe, ref);
+	}
+
+	private void push(int stripe, StripedReference<T> chain) {
+		StripedReference<T> tail = chain;
+		while (null != tail.next) {
+			tail = tail.next;
+		}
+		StripedReference<T> head;
+		do {
+			head = stripes.get(stripe);
+			tail.next = head;
+		} while (!stripes.compareAndSet(stripe, head, chain));
+	}
+
+	private StripedReference<T> newReference(int stripe) {
+		size.increment();
+		return new StripedReference<T>(this, factory.get(), stripe);
+	}
+
+	private int stripeIndex(Thread thread) {
+		long id = thread.getId();
+		int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	private static final class LocalPool<T extends Recyclable> {
+		@SuppressWarnings("unchecked")
+		final StripedReference<T>[] refs = new StripedReference[MAX_LOCAL_SIZE];
+		final Thread                thread = Thread.currentThread();
+		final int                   stripe;
+		int size;
+
+		LocalPool(int stripe) {
+			this.stripe = stripe;
+		}
+
+		StripedReference<T> poll() {
+			if (size == 0) {
+				return null;
+			}
+			StripedReference<T> ref = refs[--size];
+			refs[size] = null;
+			return ref;
+		}
+
+		boolean offer(StripedReference<T> ref) {
+			if (size == refs.length) {
+				return false;
+			}
+			refs[size++] = ref;
+			return true;
+		}
+
+		StripedReference<T> offerAll(StripedReference<T> chain) {
+			StripedReference<T> ref = chain;
+			StripedReference<T> next;
+			while (null != ref && size < refs.length) {
+				next = ref.next;
+				ref.next = null;
+				refs[size++] = ref;
+				ref = next;
+			}
+			return ref;
+		}
+	}
+
+	private static final class StripedReference<T extends Recyclable> implements Reference<T> {
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicIntegerFieldUpdater<StripedReference> REF_CNT =
+				AtomicIntegerFieldUpdater.newUpdater(StripedReference.class, "refCnt");
+
+		final StripedAllocator<T> allocator;
+		final T                   obj;
+		final int                 stripe;
+		final long                inception;
+
+		StripedReference<T> next;
+		LocalPool<T>        owner;
+
+		volatile int refCnt;
+
+		StripedReference(StripedAllocator<T> allocator, T obj, int stripe) {
+			this.allocator = allocator;
+			this.obj = obj;
+			this.stripe = stripe;
+			this.inception = TimeUtils.approxCurrentTimeMillis();
+		}
+
+		@Override
+		public long getAge() {
+			return TimeUtils.approxCurrentTimeMillis() - inception;
+		}
+
+		@Override
+		public int getReferenceCount() {
+			return refCnt;
+		}
+
+		@Override
+		public void retain() {
+			retain(1);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void retain(int incr) {
+			REF_CNT.addAndGet(this, incr);
+		}
+
+		@Override
+		public void release() {
+			release(1);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void release(int decr) {
+			int current;
+			int update;
+			do {
+				current = refCnt;
+				if (current < 1) {
+					return;
+				}
+				update = current - Math.min(decr, current);
+			} while (!REF_CNT.compareAndSet(this, current, update));
+
+			if (update < 1) {
+				obj.recycle();
+				allocator.recycle(this);
+			}
+		}
+
+		@Override
+		public T get() {
+			return obj;
+		}
+
+		@Override
+		public String toString() {
+			return "Reference{" +
+					"refCnt=" + refCnt +
+					", inception=" + inception +
+					", obj=" + obj +
+					'}';
+		}
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package reactor.core.config;
 
+import reactor.core.dispatch.affinity.CpuSet;
+
 
 /**
  * An encapsulation of the configuration for a {@link reactor.core.Dispatcher}.
@@ -33,11 +35,27 @@ public final class DispatcherConfiguration {
 
 	private final Integer size;
 
+	private final CpuSet affinity;
+
 	public DispatcherConfiguration(String name, DispatcherType type, Integer backlog, Integer size) {
+		this(name, type, backlog, size, null);
+	}
+
+	public DispatcherConfiguration(String name, DispatcherType type, Integer backlog, Integer size, CpuSet affinity) {
 		this.name = name;
 		this.type = type;
 		this.backlog = backlog;
 		this.size = size;
+		this.affinity = affinity;
+	}
+
+	/**
+	 * Returns the CPUs the Dispatcher threads should be pinned to, or {@code null} if affinity was not configured
+	 *
+	 * @return The CPU set
+	 */
+	public CpuSet getAffinity() {
+		return affinity;
 	}
 
 	/**
@@ -18,6 +18,7 @@ package reactor.core.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.dispatch.affinity.CpuSet;
 import reactor.core.support.IoUtils;
 
 import java.io.IOException;
@@ -38,10 +39,11 @@ public class PropertiesConfigurationReader implements ConfigurationReader {
 
 	private static final Pattern REACTOR_NAME_PATTERN = Pattern.compile("reactor\\.dispatchers\\.(.+?)\\.type");
 
-	private static final String FORMAT_DISPATCHER_BACKLOG = "reactor.dispatchers.%s.backlog";
-	private static final String FORMAT_DISPATCHER_SIZE    = "reactor.dispatchers.%s.size";
-	private static final String FORMAT_DISPATCHER_TYPE    = "reactor.dispatchers.%s.type";
-	private static final String FORMAT_RESOURCE_NAME      = "/META-INF/reactor/%s.properties";
+	private static final String FORMAT_DISPATCHER_AFFINITY = "reactor.dispatchers.%s.affinity";
+	private static final String FORMAT_DISPATCHER_BACKLOG  = "reactor.dispatchers.%s.backlog";
+	private static final String FORMAT_DISPATCHER_SIZE     = "reactor.dispatchers.%s.size";
+	private static final String FORMAT_DISPATCHER_TYPE     = "reactor.dispatchers.%s.type";
+	private static final String FORMAT_RESOURCE_NAME       = "/META-INF/reactor/%s.properties";
 
 	private static final String PROPERTY_PREFIX_REACTOR = "reactor.";
 
@@ -124,7 +126,8 @@ public class PropertiesConfigurationReader implements ConfigurationReader {
 				                                                         type,
 				                                                         getBacklog(dispatcherName,
 				                                                                    configuration),
-				                                                         getSize(dispatcherName, configuration)));
+				                                                         getSize(dispatcherName, configuration),
+				                                                         getAffinity(dispatcherName, configuration)));
 			}
 		}
 		return dispatcherConfigurations;
@@ -157,6 +160,8 @@ public class PropertiesConfigurationReader implements ConfigurationReader {
 			return DispatcherType.THREAD_POOL_EXECUTOR;
 		} else if("workQueue".equals(type)) {
 			return DispatcherType.WORK_QUEUE;
+		} else if("workStealing".equals(type)) {
+			return DispatcherType.WORK_STEALING;
 		} else {
 			logger.warn("The type '{}' of Dispatcher '{}' is not recognized", type, dispatcherName);
 			return null;
@@ -171,6 +176,17 @@ public class PropertiesConfigurationReader implements ConfigurationReader {
 		return getInteger(String.format(FORMAT_DISPATCHER_SIZE, dispatcherName), configuration);
 	}
 
+	private CpuSet getAffinity(String dispatcherName, Properties configuration) {
+		String affinity = configuration.getProperty(String.format(FORMAT_DISPATCHER_AFFINITY, dispatcherName));
+		if(affinity == null || affinity.trim().isEmpty() || "none".equals(affinity.trim())) {
+			return null;
+		} else if("auto".equals(affinity.trim())) {
+			return CpuSet.available();
+		} else {
+			return CpuSet.parse(affinity);
+		}
+	}
+
 	private Integer getInteger(String propertyName, Properties configuration) {
 		String property = configuration.getProperty(propertyName);
 		if(property != null) {
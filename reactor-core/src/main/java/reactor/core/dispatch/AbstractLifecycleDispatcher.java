@@ -21,7 +21,10 @@ import reactor.core.Dispatcher;
 import reactor.core.alloc.Recyclable;
 import reactor.core.support.Assert;
 import reactor.fn.Consumer;
+import reactor.jarjar.com.lmax.disruptor.RingBuffer;
 
+import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -124,6 +127,29 @@ public abstract class AbstractLifecycleDispatcher implements Dispatcher {
 		}
 	}
 
+	@Override
+	public <E> void dispatchAll(List<E> events,
+	                            Consumer<E> eventConsumer,
+	                            Consumer<Throwable> errorConsumer) {
+
+		Assert.isTrue(alive(), "This Dispatcher has been shut down.");
+		Assert.isTrue(eventConsumer != null, "The signal consumer has not been passed.");
+		if (events.isEmpty()) {
+			return;
+		}
+
+		if (inContext()) {
+			for (E event : events) {
+				allocateRecursiveTask()
+						.setData(event)
+						.setErrorConsumer(errorConsumer)
+						.setEventConsumer(eventConsumer);
+			}
+		} else {
+			dispatchBatch(events, eventConsumer, errorConsumer);
+		}
+	}
+
 	@Override
 	public void execute(final Runnable command) {
 		dispatch(null, new Consumer<Object>() {
@@ -134,6 +160,71 @@ public abstract class AbstractLifecycleDispatcher implements Dispatcher {
 		}, null);
 	}
 
+	/**
+	 * Dispatch a non-empty batch of events from outside of this dispatcher context. By default a task is allocated and
+	 * executed for each event, implementations able to claim several slots at once should override it.
+	 *
+	 * @param events        the events to dispatch
+	 * @param eventConsumer the consumer to run for each event
+	 * @param errorConsumer the consumer to run for any routing error, may be null
+	 * @param <E>           type of the events
+	 */
+	protected <E> void dispatchBatch(List<E> events,
+	                                 Consumer<E> eventConsumer,
+	                                 Consumer<Throwable> errorConsumer) {
+		Task task;
+		for (E event : events) {
+			task = allocateTask();
+			task.setData(event)
+					.setErrorConsumer(errorConsumer)
+					.setEventConsumer(eventConsumer);
+			execute(task);
+		}
+	}
+
+	/**
+	 * Dispatch a non-empty batch of events into {@code ringBuffer}, claiming as many slots at once as it can hold. A
+	 * claimed range is always published, so that a failing {@link Iterator} can't stall the ring buffer: the slots it
+	 * couldn't fill are published empty, which {@link #route(Task) routing} skips.
+	 *
+	 * @param ringBuffer    the ring buffer of the tasks to fill
+	 * @param events        the events to dispatch
+	 * @param eventConsumer the consumer to run for each event
+	 * @param errorConsumer the consumer to run for any routing error, may be null
+	 * @param <E>           type of the events
+	 */
+	protected static <E> void publishBatch(RingBuffer<? extends Task> ringBuffer,
+	                                       List<E> events,
+	                                       Consumer<E> eventConsumer,
+	                                       Consumer<Throwable> errorConsumer) {
+		Iterator<E> it = events.iterator();
+		int remaining = events.size();
+		int batchSize;
+		long lo;
+		long hi;
+		long seqId;
+		while (remaining > 0) {
+			batchSize = Math.min(remaining, ringBuffer.getBufferSize());
+			hi = ringBuffer.next(batchSize);
+			lo = hi - batchSize + 1;
+			seqId = lo;
+			try {
+				for (; seqId <= hi; seqId++) {
+					ringBuffer.get(seqId)
+							.setData(it.next())
+							.setErrorConsumer(errorConsumer)
+							.setEventConsumer(eventConsumer);
+				}
+			} finally {
+				for (; seqId <= hi; seqId++) {
+					ringBuffer.get(seqId).recycle();
+				}
+				ringBuffer.publish(lo, hi);
+			}
+			remaining -= batchSize;
+		}
+	}
+
 	protected Task tryAllocateTask() throws InsufficientCapacityException {
 		return allocateTask();
 	}
@@ -110,7 +110,7 @@ public final class MpscDispatcher extends SingleThreadDispatcher {
 
 	@Override
 	public long remainingSlots() {
-		return workQueue.size();
+		return Math.max(0l, capacity - workQueue.size());
 	}
 
 
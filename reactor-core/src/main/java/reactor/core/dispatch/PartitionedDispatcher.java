@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.dispatch;
+
+import reactor.core.Dispatcher;
+import reactor.core.support.Assert;
+import reactor.fn.Consumer;
+import reactor.fn.Function;
+import reactor.jarjar.jsr166e.ConcurrentHashMapV8;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of a {@link reactor.core.Dispatcher} that shards tasks across several partition dispatchers by key.
+ * The key of a task is extracted from its data with a {@link Function} and hashed onto a partition, so that tasks with
+ * equal keys always run on the same partition. With single-threaded partitions, tasks for a given key run in
+ * submission order while tasks for distinct keys run in parallel.
+ * <p>
+ * Hot keys can be moved to a chosen partition with {@link #assign(Object, int)}. Tasks for such a key that are still
+ * queued on its previous partition may then run concurrently with the ones dispatched after the move, so keys are best
+ * reassigned while idle. {@link #pendingTasks(int)} tells how loaded each partition is.
+ *
+ * @since 2.0
+ */
+public final class PartitionedDispatcher implements Dispatcher {
+
+	private final Dispatcher[]                        partitions;
+	private final Function<Object, ?>                 keyMapper;
+	private final ConcurrentHashMapV8<Object, Integer> assignments = new ConcurrentHashMapV8<Object, Integer>();
+
+	/**
+	 * Creates a new {@literal PartitionedDispatcher} sharding tasks across the given {@code partitions}.
+	 *
+	 * @param partitions The dispatchers to shard tasks across, each one should be single-threaded to keep tasks with
+	 *                   equal keys ordered
+	 * @param keyMapper  The function extracting the partitioning key from a task data, which may be {@literal null}
+	 */
+	public PartitionedDispatcher(Dispatcher[] partitions, Function<Object, ?> keyMapper) {
+		Assert.isTrue(null != partitions && partitions.length > 0, "At least one partition is required");
+		Assert.notNull(keyMapper, "Key mapper cannot be null.");
+		this.partitions = partitions.clone();
+		this.keyMapper = keyMapper;
+	}
+
+	/**
+	 * Return the number of partitions.
+	 *
+	 * @return the number of partitions
+	 */
+	public int partitions() {
+		return partitions.length;
+	}
+
+	/**
+	 * Return the dispatcher of the given partition.
+	 *
+	 * @param partition the partition index
+	 * @return the partition dispatcher
+	 */
+	public Dispatcher getPartition(int partition) {
+		return partitions[partition];
+	}
+
+	/**
+	 * Return the partition the given key is assigned to.
+	 *
+	 * @param key the partitioning key, may be {@literal null}
+	 * @return the partition index
+	 */
+	public int partition(Object key) {
+		if (null == key) {
+			return 0;
+		}
+		if (!assignments.isEmpty()) {
+			Integer assigned = assignments.get(key);
+			if (null != assigned) {
+				return assigned;
+			}
+		}
+		int h = key.hashCode();
+		h ^= (h >>> 16);
+		return (h & Integer.MAX_VALUE) % partitions.length;
+	}
+
+	/**
+	 * Pin the given key to a partition, overriding its hashed partition.
+	 *
+	 * @param key       the partitioning key
+	 * @param partition the partition index
+	 */
+	public void assign(Object key, int partition) {
+		Assert.notNull(key, "Key cannot be null.");
+		Assert.isTrue(partition >= 0 && partition < partitions.length, "Unknown partition " + partition);
+		assignments.put(key, partition);
+	}
+
+	/**
+	 * Remove the assignment of the given key, which goes back to its hashed partition.
+	 *
+	 * @param key the partitioning key
+	 */
+	public void unassign(Object key) {
+		assignments.remove(key);
+	}
+
+	/**
+	 * Return the keys pinned with {@link #assign(Object, int)} and their partition.
+	 *
+	 * @return the current assignments
+	 */
+	public Map<Object, Integer> getAssignments() {
+		return Collections.unmodifiableMap(assignments);
+	}
+
+	/**
+	 * Return the number of tasks pending on the given partition, that is its used backlog slots.
+	 *
+	 * @param partition the partition index
+	 * @return the number of pending tasks
+	 */
+	public long pendingTasks(int partition) {
+		Dispatcher dispatcher = partitions[partition];
+		return Math.max(0l, dispatcher.backlogSize() - dispatcher.remainingSlots());
+	}
+
+	/**
+	 * Return the number of tasks pending on each partition.
+	 *
+	 * @return the number of pending tasks, by partition index
+	 */
+	public long[] pendingTasks() {
+		long[] pending = new long[partitions.length];
+		for (int i = 0; i < partitions.length; i++) {
+			pending[i] = pendingTasks(i);
+		}
+		return pending;
+	}
+
+	@Override
+	public <E> void dispatch(E data, Consumer<E> eventConsumer, Consumer<Throwable> errorConsumer) {
+		partitions[partition(keyMapper.apply(data))].dispatch(data, eventConsumer, errorConsumer);
+	}
+
+	@Override
+	public <E> void tryDispatch(E data, Consumer<E> eventConsumer, Consumer<Throwable> errorConsumer) {
+		partitions[partition(keyMapper.apply(data))].tryDispatch(data, eventConsumer, errorConsumer);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <E> void dispatchAll(List<E> events, Consumer<E> eventConsumer, Consumer<Throwable> errorConsumer) {
+		List<E>[] batches = new List[partitions.length];
+		int size = events.size();
+		for (int i = 0; i < size; i++) {
+			E event = events.get(i);
+			int partition = partition(keyMapper.apply(event));
+			if (null == batches[partition]) {
+				batches[partition] = new ArrayList<E>();
+			}
+			batches[partition].add(event);
+		}
+		for (int i = 0; i < batches.length; i++) {
+			if (null != batches[i]) {
+				partitions[i].dispatchAll(batches[i], eventConsumer, errorConsumer);
+			}
+		}
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		partitions[partition(command)].execute(command);
+	}
+
+	@Override
+	public boolean alive() {
+		for (Dispatcher partition : partitions) {
+			if (!partition.alive()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void shutdown() {
+		for (Dispatcher partition : partitions) {
+			partition.shutdown();
+		}
+	}
+
+	@Override
+	public void forceShutdown() {
+		for (Dispatcher partition : partitions) {
+			partition.forceShutdown();
+		}
+	}
+
+	@Override
+	public boolean awaitAndShutdown() {
+		return awaitAndShutdown(Integer.MAX_VALUE, TimeUnit.SECONDS);
+	}
+
+	@Override
+	public boolean awaitAndShutdown(long timeout, TimeUnit timeUnit) {
+		long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+		boolean terminated = true;
+		for (Dispatcher partition : partitions) {
+			long remaining = Math.max(0l, deadline - System.nanoTime());
+			terminated &= partition.awaitAndShutdown(remaining, TimeUnit.NANOSECONDS);
+		}
+		return terminated;
+	}
+
+	@Override
+	public long remainingSlots() {
+		long slots = 0l;
+		for (Dispatcher partition : partitions) {
+			slots += partition.remainingSlots();
+		}
+		return slots;
+	}
+
+	@Override
+	public long backlogSize() {
+		long size = 0l;
+		for (Dispatcher partition : partitions) {
+			size += partition.backlogSize();
+		}
+		return size;
+	}
+
+	@Override
+	public boolean supportsOrdering() {
+		// only tasks with equal keys are ordered
+		return false;
+	}
+
+	@Override
+	public boolean inContext() {
+		for (Dispatcher partition : partitions) {
+			if (partition.inContext()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return "PartitionedDispatcher{" +
+				"partitions=" + partitions.length +
+				", assignments=" + assignments.size() +
+				'}';
+	}
+
+}
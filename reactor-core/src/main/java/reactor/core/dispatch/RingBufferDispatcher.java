@@ -25,6 +25,7 @@ import reactor.jarjar.com.lmax.disruptor.*;
 import reactor.jarjar.com.lmax.disruptor.dsl.Disruptor;
 import reactor.jarjar.com.lmax.disruptor.dsl.ProducerType;
 
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -234,6 +235,13 @@ public final class RingBufferDispatcher extends SingleThreadDispatcher implement
 		return ringBuffer.get(seqId).setSequenceId(seqId);
 	}
 
+	@Override
+	protected <E> void dispatchBatch(List<E> events,
+	                                 Consumer<E> eventConsumer,
+	                                 Consumer<Throwable> errorConsumer) {
+		publishBatch(ringBuffer, events, eventConsumer, errorConsumer);
+	}
+
 	protected void execute(Task task) {
 		ringBuffer.publish(((RingBufferTask) task).getSequenceId());
 	}
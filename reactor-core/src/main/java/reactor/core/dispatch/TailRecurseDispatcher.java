@@ -20,6 +20,7 @@ import reactor.Environment;
 import reactor.core.Dispatcher;
 import reactor.fn.Consumer;
 
+import java.util.List;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -112,6 +113,15 @@ public final class TailRecurseDispatcher implements Dispatcher {
 		}
 	}
 
+	@Override
+	public <E> void dispatchAll(List<E> events,
+	                            Consumer<E> eventConsumer,
+	                            Consumer<Throwable> errorConsumer) {
+		for (E event : events) {
+			dispatch(event, eventConsumer, errorConsumer);
+		}
+	}
+
 	@Override
 	public void execute(final Runnable command) {
 		dispatch(null, new Consumer<Void>() {
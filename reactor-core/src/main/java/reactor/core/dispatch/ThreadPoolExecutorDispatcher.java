@@ -16,8 +16,12 @@
 
 package reactor.core.dispatch;
 
+import reactor.Environment;
 import reactor.core.support.NamedDaemonThreadFactory;
+import reactor.fn.Consumer;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
 
 /**
@@ -151,6 +155,29 @@ public class ThreadPoolExecutorDispatcher extends MultiThreadDispatcher {
 		return workQueue != null ? workQueue.remainingCapacity() : Long.MAX_VALUE;
 	}
 
+	/**
+	 * Split the batch into at most {@link #poolSize()} contiguous partitions and submit one task per partition, so a
+	 * large batch costs a handful of executor submissions while still using every thread of the pool.
+	 */
+	@Override
+	protected <E> void dispatchBatch(List<E> events,
+	                                 Consumer<E> eventConsumer,
+	                                 Consumer<Throwable> errorConsumer) {
+		int size = events.size();
+		int partitions = Math.min(size, poolSize());
+		int partitionSize = (size + partitions - 1) / partitions;
+		Consumer<List<E>> partitionConsumer = new PartitionConsumer<E>(eventConsumer, errorConsumer);
+
+		Task task;
+		for (int from = 0; from < size; from += partitionSize) {
+			task = allocateTask();
+			task.setData(new ArrayList<E>(events.subList(from, Math.min(size, from + partitionSize))))
+					.setErrorConsumer(errorConsumer)
+					.setEventConsumer(partitionConsumer);
+			execute(task);
+		}
+	}
+
 	@Override
 	protected void execute(Task task) {
 		executor.execute(task);
@@ -161,4 +188,30 @@ public class ThreadPoolExecutorDispatcher extends MultiThreadDispatcher {
 		executor.execute(command);
 	}
 
+	private static final class PartitionConsumer<E> implements Consumer<List<E>> {
+
+		private final Consumer<E>         eventConsumer;
+		private final Consumer<Throwable> errorConsumer;
+
+		private PartitionConsumer(Consumer<E> eventConsumer, Consumer<Throwable> errorConsumer) {
+			this.eventConsumer = eventConsumer;
+			this.errorConsumer = errorConsumer;
+		}
+
+		@Override
+		public void accept(List<E> events) {
+			for (E event : events) {
+				try {
+					eventConsumer.accept(event);
+				} catch (Exception e) {
+					if (errorConsumer != null) {
+						errorConsumer.accept(e);
+					} else if (Environment.alive()) {
+						Environment.get().routeError(e);
+					}
+				}
+			}
+		}
+	}
+
 }
@@ -25,6 +25,7 @@ import reactor.jarjar.com.lmax.disruptor.*;
 import reactor.jarjar.com.lmax.disruptor.dsl.Disruptor;
 import reactor.jarjar.com.lmax.disruptor.dsl.ProducerType;
 
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -182,6 +183,13 @@ public final class WorkQueueDispatcher extends MultiThreadDispatcher implements
 		}
 	}
 
+	@Override
+	protected <E> void dispatchBatch(List<E> events,
+	                                 Consumer<E> eventConsumer,
+	                                 Consumer<Throwable> errorConsumer) {
+		publishBatch(ringBuffer, events, eventConsumer, errorConsumer);
+	}
+
 	protected void execute(Task task) {
 		ringBuffer.publish(((WorkQueueTask) task).getSequenceId());
 	}
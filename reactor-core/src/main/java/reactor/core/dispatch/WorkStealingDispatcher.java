@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.dispatch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.support.NamedDaemonThreadFactory;
+import reactor.fn.Consumer;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Implementation of a {@link reactor.core.Dispatcher} that gives each worker thread its own task queues. Producers
+ * outside the pool spread tasks round-robin over the workers' submission queues, which are always run in order. Tasks
+ * dispatched from inside the pool go to the current worker's deque instead, where the worker runs the newest one first
+ * while it's still hot. Idle workers steal the oldest submissions, then the oldest deque tasks, of their siblings, so
+ * tasks stuck behind a busy worker are picked up first. Unlike {@link WorkQueueDispatcher}, workers don't contend on a
+ * single shared sequence, which keeps throughput up with many cores and uneven task sizes.
+ * <p>
+ * Like the ring buffer dispatchers, {@link #dispatch} waits for room once {@code backlog} submissions are pending,
+ * unless it's called from a worker, which must not wait for itself.
+ *
+ * @since 2.0
+ */
+public final class WorkStealingDispatcher extends MultiThreadDispatcher {
+
+	private static final int  SPIN_TRIES  = 64;
+	private static final long WAIT_MILLIS = 100l;
+
+	private final Logger log = LoggerFactory.getLogger(getClass());
+
+	private final Worker[]              workers;
+	private final ThreadLocal<Worker>   currentWorker = new ThreadLocal<Worker>();
+	private final AtomicInteger         roundRobin    = new AtomicInteger();
+	private final AtomicInteger         idleWorkers   = new AtomicInteger();
+	private final Consumer<Throwable>   uncaughtExceptionHandler;
+	private final int                   backlog;
+	private final Semaphore             submissionPermits;
+
+	/**
+	 * Creates a new {@literal WorkStealingDispatcher} with the given {@code name}, {@code poolSize} and {@code
+	 * backlog}.
+	 *
+	 * @param name     The name of the dispatcher, used as a prefix for its threads
+	 * @param poolSize The number of workers
+	 * @param backlog  The number of submissions that can be pending before {@link #dispatch} waits and {@link
+	 *                 #tryDispatch} rejects
+	 */
+	public WorkStealingDispatcher(String name, int poolSize, int backlog) {
+		this(name, poolSize, backlog, null);
+	}
+
+	/**
+	 * Creates a new {@literal WorkStealingDispatcher} with the given {@code name}, {@code poolSize} and {@code
+	 * backlog}. A null {@param uncaughtExceptionHandler} will make this dispatcher logging such exceptions.
+	 *
+	 * @param name                     The name of the dispatcher, used as a prefix for its threads
+	 * @param poolSize                 The number of workers
+	 * @param backlog                  The number of submissions that can be pending before {@link #dispatch} waits
+	 *                                 and {@link #tryDispatch} rejects
+	 * @param uncaughtExceptionHandler The last resort exception handler
+	 */
+	public WorkStealingDispatcher(String name,
+	                              int poolSize,
+	                              int backlog,
+	                              Consumer<Throwable> uncaughtExceptionHandler) {
+		super(poolSize, backlog);
+		this.backlog = backlog;
+		this.submissionPermits = new Semaphore(backlog);
+		this.uncaughtExceptionHandler = uncaughtExceptionHandler;
+		this.workers = new Worker[poolSize];
+
+		ThreadFactory threadFactory = new NamedDaemonThreadFactory(name, getContext());
+		for (int i = 0; i < poolSize; i++) {
+			workers[i] = new Worker(i);
+		}
+		for (Worker worker : workers) {
+			worker.thread = threadFactory.newThread(worker);
+			worker.thread.start();
+		}
+	}
+
+	@Override
+	public boolean awaitAndShutdown(long timeout, TimeUnit timeUnit) {
+		shutdown();
+		long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+		try {
+			for (Worker worker : workers) {
+				long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remaining <= 0) {
+					return false;
+				}
+				worker.thread.join(remaining);
+				if (worker.thread.isAlive()) {
+					return false;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void shutdown() {
+		super.shutdown();
+		for (Worker worker : workers) {
+			LockSupport.unpark(worker.thread);
+		}
+	}
+
+	@Override
+	public void forceShutdown() {
+		super.forceShutdown();
+		for (Worker worker : workers) {
+			worker.thread.interrupt();
+		}
+	}
+
+	@Override
+	public long remainingSlots() {
+		return submissionPermits.availablePermits();
+	}
+
+	@Override
+	protected Task allocateTask() {
+		if (currentWorker.get() == null) {
+			acquireSubmissionPermit();
+		}
+		return super.allocateTask();
+	}
+
+	@Override
+	protected Task tryAllocateTask() throws InsufficientCapacityException {
+		if (currentWorker.get() == null) {
+			if (!submissionPermits.tryAcquire()) {
+				throw InsufficientCapacityException.INSTANCE;
+			}
+		} else if (pending() >= backlog) {
+			throw InsufficientCapacityException.INSTANCE;
+		}
+		return super.allocateTask();
+	}
+
+	@Override
+	protected void execute(Task task) {
+		Worker worker = currentWorker.get();
+		if (worker == null) {
+			worker = workers[(roundRobin.getAndIncrement() & Integer.MAX_VALUE) % workers.length];
+			worker.pending.incrementAndGet();
+			worker.submissions.offer(task);
+		} else {
+			worker.pending.incrementAndGet();
+			worker.deque.offerLast(task);
+		}
+
+		if (worker.parked) {
+			LockSupport.unpark(worker.thread);
+		} else if (idleWorkers.get() > 0) {
+			wakeUpThief(worker.index);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return super.toString() + "{pending=" + pending() + ", workers=" + workers.length + "}";
+	}
+
+	/**
+	 * Wait until fewer than {@code backlog} submissions are pending, or this dispatcher is shut down.
+	 */
+	private void acquireSubmissionPermit() {
+		boolean interrupted = false;
+		try {
+			while (alive()) {
+				try {
+					if (submissionPermits.tryAcquire(WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+						return;
+					}
+				} catch (InterruptedException ie) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void wakeUpThief(int from) {
+		for (int i = 1; i < workers.length; i++) {
+			Worker candidate = workers[(from + i) % workers.length];
+			if (candidate.parked) {
+				LockSupport.unpark(candidate.thread);
+				return;
+			}
+		}
+	}
+
+	private long pending() {
+		long pending = 0l;
+		for (Worker worker : workers) {
+			pending += worker.pending.get();
+		}
+		return pending;
+	}
+
+	private void handleError(Throwable t) {
+		if (null != uncaughtExceptionHandler) {
+			uncaughtExceptionHandler.accept(t);
+		} else {
+			log.error(t.getMessage(), t);
+		}
+	}
+
+	private final class Worker implements Runnable {
+
+		final ConcurrentLinkedQueue<Task> submissions = new ConcurrentLinkedQueue<Task>();
+		final ConcurrentLinkedDeque<Task> deque       = new ConcurrentLinkedDeque<Task>();
+		final AtomicLong                  pending     = new AtomicLong();
+		final int                         index;
+
+		Thread thread;
+
+		volatile boolean parked;
+
+		Worker(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public void run() {
+			currentWorker.set(this);
+			int spins = 0;
+			Task task;
+			try {
+				for (; ; ) {
+					if (thread.isInterrupted()) {
+						return;
+					}
+					task = poll();
+					if (task != null) {
+						spins = 0;
+						try {
+							task.run();
+						} catch (Throwable t) {
+							handleError(t);
+						}
+					} else if (!alive()) {
+						return;
+					} else if (++spins < SPIN_TRIES) {
+						Thread.yield();
+					} else {
+						park();
+						spins = 0;
+					}
+				}
+			} finally {
+				currentWorker.remove();
+			}
+		}
+
+		private Task poll() {
+			Task task = deque.pollLast();
+			if (task != null) {
+				pending.decrementAndGet();
+				return task;
+			}
+			task = pollSubmission();
+			if (task != null) {
+				return task;
+			}
+			return steal();
+		}
+
+		private Task pollSubmission() {
+			Task task = submissions.poll();
+			if (task != null) {
+				pending.decrementAndGet();
+				submissionPermits.release();
+			}
+			return task;
+		}
+
+		private Task steal() {
+			Worker victim;
+			Task task;
+			for (int i = 1; i < workers.length; i++) {
+				victim = workers[(index + i) % workers.length];
+				task = victim.pollSubmission();
+				if (task == null) {
+					task = victim.deque.pollFirst();
+					if (task != null) {
+						victim.pending.decrementAndGet();
+					}
+				}
+				if (task != null) {
+					return task;
+				}
+			}
+			return null;
+		}
+
+		private void park() {
+			parked = true;
+			idleWorkers.incrementAndGet();
+			try {
+				// re-check after publishing the parked flag so a concurrent offer can't be missed
+				if (alive() && !hasWork()) {
+					LockSupport.park(this);
+				}
+			} finally {
+				idleWorkers.decrementAndGet();
+				parked = false;
+			}
+		}
+
+		private boolean hasWork() {
+			for (Worker worker : workers) {
+				if (!worker.deque.isEmpty() || !worker.submissions.isEmpty()) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.dispatch.affinity;
+
+/**
+ * A strategy to pin the calling thread to a logical CPU. Dispatcher pools apply it from the dispatcher thread itself
+ * before any other task runs, so implementations only ever deal with the current thread.
+ *
+ * @since 2.0
+ */
+public interface AffinityStrategy {
+
+	/**
+	 * A strategy that leaves thread placement to the operating system.
+	 */
+	AffinityStrategy NONE = new AffinityStrategy() {
+		@Override
+		public boolean bind(int cpu) {
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			return "none";
+		}
+	};
+
+	/**
+	 * Pin the current thread to the given logical CPU.
+	 *
+	 * @param cpu the logical CPU id
+	 * @return true if the thread has been pinned
+	 */
+	boolean bind(int cpu);
+
+}
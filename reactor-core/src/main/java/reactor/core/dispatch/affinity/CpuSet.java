@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.dispatch.affinity;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.support.Assert;
+import reactor.core.support.IoUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * An ordered set of logical CPU ids dispatcher threads can be pinned to. When resolved from the platform, CPUs are
+ * grouped by physical package (socket) so that consecutive indexes stay on the same socket as long as possible.
+ *
+ * @since 2.0
+ */
+public final class CpuSet {
+
+	private static final Logger log = LoggerFactory.getLogger(CpuSet.class);
+
+	private static final String PROC_STATUS  = "/proc/self/status";
+	private static final String PROC_CPUINFO = "/proc/cpuinfo";
+
+	private final int[] cpus;
+
+	private CpuSet(int[] cpus) {
+		Assert.isTrue(cpus.length > 0, "A CpuSet must contain at least one CPU");
+		this.cpus = cpus;
+	}
+
+	/**
+	 * Create a {@code CpuSet} from the given CPU ids, in the given order.
+	 *
+	 * @param cpus the logical CPU ids
+	 * @return a new {@code CpuSet}
+	 */
+	public static CpuSet of(int... cpus) {
+		return new CpuSet(cpus.clone());
+	}
+
+	/**
+	 * Parse a Linux style CPU list such as {@code 0-3,8,10-11}.
+	 *
+	 * @param cpuList the CPU list to parse
+	 * @return a new {@code CpuSet} with the CPUs in the given order
+	 * @throws IllegalArgumentException if the list is malformed or empty
+	 */
+	public static CpuSet parse(String cpuList) {
+		Assert.hasText(cpuList, "The CPU list must not be empty");
+		List<Integer> cpus = new ArrayList<Integer>();
+		for (String range : cpuList.trim().split(",")) {
+			range = range.trim();
+			int dash = range.indexOf('-');
+			try {
+				if (dash < 0) {
+					cpus.add(Integer.parseInt(range));
+				} else {
+					int from = Integer.parseInt(range.substring(0, dash).trim());
+					int to = Integer.parseInt(range.substring(dash + 1).trim());
+					Assert.isTrue(from <= to, "Invalid CPU range '" + range + "'");
+					for (int cpu = from; cpu <= to; cpu++) {
+						cpus.add(cpu);
+					}
+				}
+			} catch (NumberFormatException nfe) {
+				throw new IllegalArgumentException("Invalid CPU list '" + cpuList + "'", nfe);
+			}
+		}
+		return new CpuSet(toArray(cpus));
+	}
+
+	/**
+	 * Resolve the CPUs the current process is allowed to run on, ordered by physical package. On Linux the allowed
+	 * list is read from {@code /proc/self/status} and the sockets from {@code /proc/cpuinfo}, otherwise every
+	 * {@link Runtime#availableProcessors() available processor} is returned in natural order.
+	 *
+	 * @return the {@code CpuSet} available to this process
+	 */
+	public static CpuSet available() {
+		CpuSet allowed = null;
+		String allowedList = readField(PROC_STATUS, "Cpus_allowed_list");
+		if (allowedList != null) {
+			try {
+				allowed = parse(allowedList);
+			} catch (IllegalArgumentException iae) {
+				log.debug("Unable to parse the allowed CPU list '{}'", allowedList, iae);
+			}
+		}
+		if (allowed == null) {
+			int[] cpus = new int[Runtime.getRuntime().availableProcessors()];
+			for (int i = 0; i < cpus.length; i++) {
+				cpus[i] = i;
+			}
+			return new CpuSet(cpus);
+		}
+		return allowed.groupBySocket(readSockets());
+	}
+
+	/**
+	 * Return the number of CPUs in this set.
+	 *
+	 * @return the number of CPUs
+	 */
+	public int size() {
+		return cpus.length;
+	}
+
+	/**
+	 * Return the CPU assigned to the given slot index, wrapping around when the index exceeds the set size.
+	 *
+	 * @param index a non-negative slot index
+	 * @return the logical CPU id for this slot
+	 */
+	public int get(int index) {
+		return cpus[index % cpus.length];
+	}
+
+	/**
+	 * Return a copy of the CPU ids in this set.
+	 *
+	 * @return the CPU ids
+	 */
+	public int[] toArray() {
+		return cpus.clone();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return this == o || (o instanceof CpuSet && Arrays.equals(cpus, ((CpuSet) o).cpus));
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(cpus);
+	}
+
+	@Override
+	public String toString() {
+		return "CpuSet" + Arrays.toString(cpus);
+	}
+
+	private CpuSet groupBySocket(final Map<Integer, Integer> sockets) {
+		if (sockets.isEmpty()) {
+			return this;
+		}
+		List<Integer> ordered = new ArrayList<Integer>(cpus.length);
+		for (int cpu : cpus) {
+			ordered.add(cpu);
+		}
+		Collections.sort(ordered, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				int socketA = sockets.containsKey(a) ? sockets.get(a) : 0;
+				int socketB = sockets.containsKey(b) ? sockets.get(b) : 0;
+				return socketA != socketB ? Integer.compare(socketA, socketB) : Integer.compare(a, b);
+			}
+		});
+		return new CpuSet(toArray(ordered));
+	}
+
+	private static Map<Integer, Integer> readSockets() {
+		Map<Integer, Integer> sockets = new HashMap<Integer, Integer>();
+		File cpuinfo = new File(PROC_CPUINFO);
+		if (!cpuinfo.canRead()) {
+			return sockets;
+		}
+		BufferedReader reader = null;
+		try {
+			reader = new BufferedReader(new FileReader(cpuinfo));
+			String line;
+			Integer processor = null;
+			while ((line = reader.readLine()) != null) {
+				int colon = line.indexOf(':');
+				if (colon < 0) {
+					continue;
+				}
+				String name = line.substring(0, colon).trim();
+				String value = line.substring(colon + 1).trim();
+				if ("processor".equals(name)) {
+					processor = Integer.valueOf(value);
+				} else if ("physical id".equals(name) && processor != null) {
+					sockets.put(processor, Integer.valueOf(value));
+				}
+			}
+		} catch (IOException | NumberFormatException e) {
+			log.debug("Unable to read CPU sockets from {}", PROC_CPUINFO, e);
+		} finally {
+			IoUtils.closeQuietly(reader);
+		}
+		return sockets;
+	}
+
+	private static String readField(String path, String field) {
+		File file = new File(path);
+		if (!file.canRead()) {
+			return null;
+		}
+		BufferedReader reader = null;
+		try {
+			reader = new BufferedReader(new FileReader(file));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith(field + ":")) {
+					return line.substring(field.length() + 1).trim();
+				}
+			}
+		} catch (IOException ioe) {
+			log.debug("Unable to read {} from {}", field, path, ioe);
+		} finally {
+			IoUtils.closeQuietly(reader);
+		}
+		return null;
+	}
+
+	private static int[] toArray(List<Integer> list) {
+		int[] array = new int[list.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = list.get(i);
+		}
+		return array;
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.dispatch.affinity;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link AffinityStrategy} for Linux that pins the current thread with the {@code sched_setaffinity} system call,
+ * bound through JNA. JNA is an optional dependency: if it is not on the classpath, or the call is refused, the strategy
+ * disables itself and threads are left unpinned.
+ *
+ * @since 2.0
+ */
+public class LinuxAffinityStrategy implements AffinityStrategy {
+
+	private static final Logger log = LoggerFactory.getLogger(LinuxAffinityStrategy.class);
+
+	private static final int CPUS_PER_WORD = 64;
+
+	private volatile boolean enabled = true;
+
+	/**
+	 * Return a {@link LinuxAffinityStrategy} when running on Linux with JNA available, {@link AffinityStrategy#NONE}
+	 * otherwise.
+	 *
+	 * @return the best affinity strategy available to this platform
+	 */
+	public static AffinityStrategy forPlatform() {
+		if (System.getProperty("os.name", "").startsWith("Linux") && isJnaPresent()) {
+			return new LinuxAffinityStrategy();
+		}
+		return AffinityStrategy.NONE;
+	}
+
+	@Override
+	public boolean bind(int cpu) {
+		if (!enabled || cpu < 0) {
+			return false;
+		}
+		long[] mask = new long[cpu / CPUS_PER_WORD + 1];
+		mask[cpu / CPUS_PER_WORD] = 1l << (cpu % CPUS_PER_WORD);
+		try {
+			// a pid of 0 targets the calling thread
+			if (LibC.sched_setaffinity(0, new NativeLong(mask.length * 8l), mask) != 0) {
+				disable("sched_setaffinity failed with errno " + Native.getLastError(), null);
+				return false;
+			}
+		} catch (LinkageError le) {
+			disable(le.toString(), le);
+			return false;
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Pinned thread {} to CPU {}", Thread.currentThread().getName(), cpu);
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "linux{enabled=" + enabled + "}";
+	}
+
+	private void disable(String reason, Throwable cause) {
+		enabled = false;
+		log.warn("Thread affinity is disabled: {}", reason, cause);
+	}
+
+	private static boolean isJnaPresent() {
+		try {
+			Class.forName("com.sun.jna.Native", false, LinuxAffinityStrategy.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException cnfe) {
+			return false;
+		}
+	}
+
+	/**
+	 * Direct mapping of the libc calls, only loaded once a thread is actually bound.
+	 */
+	private static final class LibC {
+		static {
+			Native.register(LibC.class, "c");
+		}
+
+		static native int sched_setaffinity(int pid, NativeLong cpusetsize, long[] mask);
+	}
+}
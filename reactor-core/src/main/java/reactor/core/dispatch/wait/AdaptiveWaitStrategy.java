@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.dispatch.wait;
+
+import reactor.jarjar.com.lmax.disruptor.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A self-tuning wait strategy that backs off from spinning to yielding and finally to parking. The time spent in the
+ * spin and yield phases follows a moving average of the observed waits: under a steady stream of events the consumer
+ * keeps spinning and wakes up without scheduler latency, while an idle consumer quickly goes straight to park and
+ * stops burning a core.
+ * <p>
+ * {@link #nervous()} disables parking altogether until {@link #calm()} is called.
+ *
+ * @since 2.0
+ */
+public final class AdaptiveWaitStrategy implements WaitStrategy, WaitingMood {
+
+	/**
+	 * The waiting phases, from the most to the least CPU demanding.
+	 */
+	public enum Phase {
+		SPIN, YIELD, PARK
+	}
+
+	private static final long DEFAULT_MAX_SPIN_NANOS  = TimeUnit.MICROSECONDS.toNanos(10);
+	private static final long DEFAULT_MAX_YIELD_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+	// each new sample weighs 1/4 of the moving average
+	private static final int SAMPLE_SHIFT = 2;
+
+	private final Lock          lock                     = new ReentrantLock();
+	private final Condition     processorNotifyCondition = lock.newCondition();
+	private final AtomicInteger parked                   = new AtomicInteger();
+
+	private final long maxSpinNanos;
+	private final long maxYieldNanos;
+	private final long maxSampleNanos;
+
+	private volatile long    averageWaitNanos;
+	private volatile Phase   phase = Phase.PARK;
+	private volatile boolean nervous;
+
+	public AdaptiveWaitStrategy() {
+		this(DEFAULT_MAX_SPIN_NANOS, DEFAULT_MAX_YIELD_NANOS, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Create a new {@code AdaptiveWaitStrategy} bounding the spin and yield phases.
+	 *
+	 * @param maxSpin  the longest time a consumer will busy spin before yielding
+	 * @param maxYield the longest time a consumer will yield before parking
+	 * @param unit     the unit of {@code maxSpin} and {@code maxYield}
+	 */
+	public AdaptiveWaitStrategy(long maxSpin, long maxYield, TimeUnit unit) {
+		this.maxSpinNanos = unit.toNanos(maxSpin);
+		this.maxYieldNanos = unit.toNanos(maxYield);
+		// clamp samples so a long idle period doesn't take ages to forget once traffic resumes
+		this.maxSampleNanos = Math.max(maxSpinNanos, maxYieldNanos) << 1;
+		this.averageWaitNanos = maxSampleNanos;
+	}
+
+	@Override
+	public long waitFor(long sequence, Sequence cursor, Sequence dependentSequence, SequenceBarrier barrier)
+			throws AlertException, InterruptedException, TimeoutException {
+		long availableSequence;
+		if ((availableSequence = dependentSequence.get()) >= sequence) {
+			return availableSequence;
+		}
+
+		long start = System.nanoTime();
+		long average = averageWaitNanos;
+		long spinUntil = start + budget(average, maxSpinNanos);
+		long yieldUntil = spinUntil + budget(average, maxYieldNanos);
+		long now;
+
+		enter(Phase.SPIN);
+		while ((availableSequence = dependentSequence.get()) < sequence) {
+			barrier.checkAlert();
+			now = System.nanoTime();
+			if (now < spinUntil) {
+				continue;
+			}
+			if (now < yieldUntil || nervous) {
+				enter(Phase.YIELD);
+				Thread.yield();
+			} else {
+				enter(Phase.PARK);
+				park(sequence, cursor, barrier);
+			}
+		}
+
+		record(System.nanoTime() - start);
+		return availableSequence;
+	}
+
+	@Override
+	public void signalAllWhenBlocking() {
+		if (parked.get() > 0) {
+			lock.lock();
+			try {
+				processorNotifyCondition.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	@Override
+	public void nervous() {
+		nervous = true;
+		signalAllWhenBlocking();
+	}
+
+	@Override
+	public void calm() {
+		nervous = false;
+	}
+
+	/**
+	 * Return the phase the last waiting consumer went through.
+	 *
+	 * @return the current {@link Phase}
+	 */
+	public Phase phase() {
+		return phase;
+	}
+
+	/**
+	 * Return the moving average of the time consumers had to wait for the next sequence, which drives the spin and
+	 * yield budgets.
+	 *
+	 * @return the average wait in nanoseconds
+	 */
+	public long averageWaitNanos() {
+		return averageWaitNanos;
+	}
+
+	/**
+	 * Return the number of consumers currently parked.
+	 *
+	 * @return the number of parked consumers
+	 */
+	public int parkedConsumers() {
+		return parked.get();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{phase=" + phase + ", averageWaitNanos=" + averageWaitNanos + ", " +
+				"parked=" + parked.get() + "}";
+	}
+
+	private void park(long sequence, Sequence cursor, SequenceBarrier barrier)
+			throws AlertException, InterruptedException {
+		// publish the parked count before re-checking the cursor so a concurrent signal can't be missed
+		parked.incrementAndGet();
+		lock.lock();
+		try {
+			while (cursor.get() < sequence && !nervous) {
+				barrier.checkAlert();
+				processorNotifyCondition.await();
+			}
+		} finally {
+			lock.unlock();
+			parked.decrementAndGet();
+		}
+	}
+
+	private void enter(Phase phase) {
+		if (this.phase != phase) {
+			this.phase = phase;
+		}
+	}
+
+	private void record(long waitNanos) {
+		long average = averageWaitNanos;
+		averageWaitNanos = average + ((Math.min(waitNanos, maxSampleNanos) - average) >> SAMPLE_SHIFT);
+	}
+
+	private static long budget(long averageWaitNanos, long maxNanos) {
+		// only worth it if the next event is likely to show up within the budget
+		return averageWaitNanos <= maxNanos ? Math.min(averageWaitNanos << 1, maxNanos) : 0l;
+	}
+
+}
@@ -16,6 +16,9 @@
 
 package reactor.fn.timer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Dispatcher;
 import reactor.core.support.Assert;
 import reactor.core.support.NamedDaemonThreadFactory;
 import reactor.fn.Consumer;
@@ -23,6 +26,8 @@ import reactor.fn.Pausable;
 import reactor.jarjar.com.lmax.disruptor.EventFactory;
 import reactor.jarjar.com.lmax.disruptor.RingBuffer;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.Executor;
@@ -53,10 +58,21 @@ public class HashWheelTimer implements Timer {
 	public static final  int    DEFAULT_WHEEL_SIZE = 512;
 	private static final String DEFAULT_TIMER_NAME = "hash-wheel-timer";
 
+	private static final Logger log = LoggerFactory.getLogger(HashWheelTimer.class);
+
+	private static final Consumer<TimerPausable> RUN_REGISTRATION = new Consumer<TimerPausable>() {
+		@Override
+		public void accept(TimerPausable registration) {
+			registration.run();
+		}
+	};
+
 	private final RingBuffer<Set<TimerPausable>> wheel;
 	private final int                                resolution;
 	private final Thread                             loop;
 	private final Executor                           executor;
+	private final Dispatcher                         dispatcher;
+	private final boolean                            batchExpiry;
 	private final WaitStrategy                       waitStrategy;
 
 	/**
@@ -104,7 +120,51 @@ public class HashWheelTimer implements Timer {
 	 * @param exec      Executor instance to submit tasks to
 	 */
 	public HashWheelTimer(String name, int res, int wheelSize, WaitStrategy strategy, Executor exec) {
+		this(name, res, wheelSize, strategy, exec, false);
+	}
+
+	/**
+	 * Create a new {@code HashWheelTimer} using the given timer {@param resolution} and {@param wheelSize}. All times
+	 * will rounded up to the closest multiple of this resolution. With {@param batchExpiry}, all the tasks expiring in
+	 * the same tick are submitted to the {@link Executor} as a single task instead of one task each, which keeps a
+	 * timeout storm from flooding the executor.
+	 *
+	 * @param name        name for daemon thread factory to be displayed
+	 * @param res         resolution of this timer in milliseconds
+	 * @param wheelSize   size of the Ring Buffer supporting the Timer, the larger the wheel, the less the lookup time is
+	 *                    for sparse timeouts. Sane default is 512.
+	 * @param strategy    strategy for waiting for the next tick
+	 * @param exec        Executor instance to submit tasks to
+	 * @param batchExpiry whether the tasks expiring in the same tick are submitted at once
+	 */
+	public HashWheelTimer(String name, int res, int wheelSize, WaitStrategy strategy, Executor exec,
+	                      boolean batchExpiry) {
+		this(name, res, wheelSize, strategy, exec, null, batchExpiry);
+	}
+
+	/**
+	 * Create a new {@code HashWheelTimer} using the given timer {@param resolution} and {@param wheelSize}. All times
+	 * will rounded up to the closest multiple of this resolution. All the tasks expiring in the same tick are handed to
+	 * the given {@link Dispatcher} with a single {@link Dispatcher#dispatchAll(List, Consumer, Consumer) batched
+	 * dispatch}. The timer thread will wait if the {@link Dispatcher} is out of capacity.
+	 *
+	 * @param name       name for daemon thread factory to be displayed
+	 * @param res        resolution of this timer in milliseconds
+	 * @param wheelSize  size of the Ring Buffer supporting the Timer, the larger the wheel, the less the lookup time is
+	 *                   for sparse timeouts. Sane default is 512.
+	 * @param strategy   strategy for waiting for the next tick
+	 * @param dispatcher Dispatcher to run the expired tasks on
+	 */
+	public HashWheelTimer(String name, int res, int wheelSize, WaitStrategy strategy, Dispatcher dispatcher) {
+		this(name, res, wheelSize, strategy, null, dispatcher, true);
+	}
+
+	private HashWheelTimer(String name, int res, int wheelSize, WaitStrategy strategy, Executor exec,
+	                       Dispatcher dispatcher, final boolean batchExpiry) {
+		Assert.isTrue(null != exec || null != dispatcher, "An Executor or a Dispatcher must be provided");
 		this.waitStrategy = strategy;
+		this.batchExpiry = batchExpiry;
+		this.dispatcher = dispatcher;
 
 		this.wheel = RingBuffer.createSingleProducer(new EventFactory<Set<TimerPausable>>() {
 			@Override
@@ -118,6 +178,7 @@ public class HashWheelTimer implements Timer {
 			@Override
 			public void run() {
 				long deadline = System.currentTimeMillis();
+				List<TimerPausable> expired = batchExpiry ? new ArrayList<TimerPausable>() : null;
 
 				while (true) {
 					Set<TimerPausable> registrations = wheel.get(wheel.getCursor());
@@ -126,7 +187,11 @@ public class HashWheelTimer implements Timer {
 						if (r.isCancelled()) {
 							registrations.remove(r);
 						} else if (r.ready()) {
-							executor.execute(r);
+							if (null != expired) {
+								expired.add(r);
+							} else {
+								executor.execute(r);
+							}
 							registrations.remove(r);
 
 							if (!r.isCancelAfterUse()) {
@@ -139,6 +204,11 @@ public class HashWheelTimer implements Timer {
 						}
 					}
 
+					if (null != expired && !expired.isEmpty()) {
+						expire(expired);
+						expired = new ArrayList<TimerPausable>(expired.size());
+					}
+
 					deadline += resolution;
 
 					try {
@@ -215,6 +285,31 @@ public class HashWheelTimer implements Timer {
 		return r;
 	}
 
+	/**
+	 * Hand over the registrations expired in the same tick at once
+	 *
+	 * @param expired
+	 */
+	private void expire(final List<TimerPausable> expired) {
+		if (null != dispatcher) {
+			dispatcher.dispatchAll(expired, RUN_REGISTRATION, null);
+		} else {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					for (TimerPausable r : expired) {
+						try {
+							r.run();
+						} catch (Throwable t) {
+							// don't let a failing task prevent the others of the tick from running
+							log.error(t.getMessage(), t);
+						}
+					}
+				}
+			});
+		}
+	}
+
 	/**
 	 * Reschedule a {@link TimerPausable}  for the next fire
 	 *
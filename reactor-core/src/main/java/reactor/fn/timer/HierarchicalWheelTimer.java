@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.fn.timer;
+
+import reactor.core.queue.internal.MpscLinkedQueue;
+import reactor.core.support.Assert;
+import reactor.core.support.NamedDaemonThreadFactory;
+import reactor.fn.Consumer;
+import reactor.fn.Pausable;
+
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hierarchical Wheel Timer, as per the paper:
+ *
+ * Hashed and hierarchical timing wheels:
+ * http://www.cs.columbia.edu/~nahum/w6998/papers/ton97-timing-wheels.pdf
+ *
+ * The first wheel holds the timeouts due within one rotation, one bucket per tick. Each further wheel, created on
+ * demand, covers a whole rotation of the previous one per bucket and cascades its timeouts down when the time comes.
+ * Buckets are intrusive doubly-linked lists: scheduling and cancelling are O(1) and a tick only visits the timeouts
+ * that expire or cascade, regardless of how many are outstanding. Unlike {@link HashWheelTimer}, timeouts don't carry
+ * rounds that have to be decremented on every rotation.
+ * <p>
+ * Timeouts are scheduled and cancelled from any thread through lock-free queues drained by the timer thread, which
+ * is the only one to touch the wheels.
+ *
+ * @since 2.0
+ */
+public class HierarchicalWheelTimer implements Timer {
+
+	public static final  int    DEFAULT_WHEEL_SIZE = 512;
+	private static final String DEFAULT_TIMER_NAME = "hierarchical-wheel-timer";
+
+	private final Queue<Registration<?>> scheduled     = MpscLinkedQueue.create();
+	private final Queue<Registration<?>> cancelled     = MpscLinkedQueue.create();
+	private final int                    resolution;
+	private final int                    bits;
+	private final int                    mask;
+	private final long                   startTime;
+	private final Thread                 loop;
+	private final Executor               executor;
+
+	private final HashWheelTimer.WaitStrategy waitStrategy;
+
+	// only accessed by the timer thread
+	private Bucket[][] wheels = new Bucket[0][];
+	private long       tick;
+
+	/**
+	 * Create a new {@code HierarchicalWheelTimer} using the given with default resolution of 100 milliseconds and
+	 * default wheel size.
+	 */
+	public HierarchicalWheelTimer() {
+		this(100, DEFAULT_WHEEL_SIZE, new HashWheelTimer.SleepWait());
+	}
+
+	/**
+	 * Create a new {@code HierarchicalWheelTimer} using the given timer resolution. All times will rounded up to the
+	 * closest multiple of this resolution.
+	 *
+	 * @param resolution the resolution of this timer, in milliseconds
+	 */
+	public HierarchicalWheelTimer(int resolution) {
+		this(resolution, DEFAULT_WHEEL_SIZE, new HashWheelTimer.SleepWait());
+	}
+
+	/**
+	 * Create a new {@code HierarchicalWheelTimer} using the given timer {@param res} and {@param wheelSize}. All times
+	 * will rounded up to the closest multiple of this resolution.
+	 *
+	 * @param res          resolution of this timer in milliseconds
+	 * @param wheelSize    number of buckets of each wheel, rounded up to a power of 2
+	 * @param waitStrategy strategy for waiting for the next tick
+	 */
+	public HierarchicalWheelTimer(int res, int wheelSize, HashWheelTimer.WaitStrategy waitStrategy) {
+		this(DEFAULT_TIMER_NAME, res, wheelSize, waitStrategy, Executors.newFixedThreadPool(1));
+	}
+
+	/**
+	 * Create a new {@code HierarchicalWheelTimer} using the given timer {@param res} and {@param wheelSize}. All times
+	 * will rounded up to the closest multiple of this resolution.
+	 *
+	 * @param name      name for daemon thread factory to be displayed
+	 * @param res       resolution of this timer in milliseconds
+	 * @param wheelSize number of buckets of each wheel, rounded up to a power of 2
+	 * @param strategy  strategy for waiting for the next tick
+	 * @param exec      Executor instance to submit tasks to
+	 */
+	public HierarchicalWheelTimer(String name,
+	                              int res,
+	                              int wheelSize,
+	                              HashWheelTimer.WaitStrategy strategy,
+	                              Executor exec) {
+		Assert.isTrue(res > 0, "The resolution must be strictly positive");
+		Assert.isTrue(wheelSize > 1, "The wheel size must be greater than 1");
+		this.resolution = res;
+		this.bits = 32 - Integer.numberOfLeadingZeros(wheelSize - 1);
+		this.mask = (1 << bits) - 1;
+		this.waitStrategy = strategy;
+		this.executor = exec;
+		this.startTime = System.currentTimeMillis();
+
+		this.loop = new NamedDaemonThreadFactory(name).newThread(new Runnable() {
+			@Override
+			public void run() {
+				long deadline = startTime;
+
+				while (true) {
+					drain();
+					advance();
+
+					deadline += resolution;
+
+					try {
+						waitStrategy.waitUntil(deadline);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			}
+		});
+		this.loop.start();
+	}
+
+	@Override
+	public long getResolution() {
+		return resolution;
+	}
+
+	@Override
+	public Pausable schedule(Consumer<Long> consumer,
+	                         long period,
+	                         TimeUnit timeUnit,
+	                         long delayInMilliseconds) {
+		Assert.isTrue(!loop.isInterrupted(), "Cannot submit tasks to this timer as it has been cancelled.");
+		return schedule(TimeUnit.MILLISECONDS.convert(period, timeUnit), delayInMilliseconds, consumer, false);
+	}
+
+	@Override
+	public Pausable schedule(Consumer<Long> consumer,
+	                         long period,
+	                         TimeUnit timeUnit) {
+		return schedule(consumer, period, timeUnit, 0);
+	}
+
+	@Override
+	public Pausable submit(Consumer<Long> consumer,
+	                       long delay,
+	                       TimeUnit timeUnit) {
+		Assert.isTrue(!loop.isInterrupted(), "Cannot submit tasks to this timer as it has been cancelled.");
+		long ms = TimeUnit.MILLISECONDS.convert(delay, timeUnit);
+		return schedule(ms, ms, consumer, true);
+	}
+
+	@Override
+	public Pausable submit(Consumer<Long> consumer) {
+		return submit(consumer, resolution, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Cancel current Timer
+	 */
+	@Override
+	public void cancel() {
+		this.loop.interrupt();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("HierarchicalWheelTimer { Wheel Size: %d, Resolution: %d }", mask + 1, resolution);
+	}
+
+	private <T extends Consumer<Long>> Registration<T> schedule(long period,
+	                                                            long firstDelay,
+	                                                            T consumer,
+	                                                            boolean once) {
+		Assert.isTrue(period >= resolution, "Cannot schedule tasks for amount of time less than timer precision.");
+
+		long elapsed = System.currentTimeMillis() - startTime + firstDelay;
+		// round up to the next tick so that a task never runs before its delay
+		long deadline = (elapsed + resolution - 1) / resolution + (firstDelay > 0 ? 0 : 1);
+
+		Registration<T> r = new Registration<T>(this, consumer, deadline, period / resolution, once);
+		scheduled.offer(r);
+		return r;
+	}
+
+	private void drain() {
+		Registration<?> r;
+		while (null != (r = scheduled.poll())) {
+			if (!r.isCancelled()) {
+				insert(r);
+			}
+		}
+		while (null != (r = cancelled.poll())) {
+			if (null != r.bucket) {
+				r.bucket.remove(r);
+			}
+		}
+	}
+
+	private void advance() {
+		long now = tick;
+		// cascade the upper wheels whose bucket starts now, from the highest down to the first one
+		for (int level = wheels.length - 1; level > 0; level--) {
+			if ((now & ((1l << (bits * level)) - 1)) == 0) {
+				Registration<?> r = wheels[level][(int) ((now >>> (bits * level)) & mask)].clear();
+				Registration<?> next;
+				while (null != r) {
+					next = r.next;
+					r.next = null;
+					insert(r);
+					r = next;
+				}
+			}
+		}
+
+		if (wheels.length > 0) {
+			Registration<?> r = wheels[0][(int) (now & mask)].clear();
+			Registration<?> next;
+			while (null != r) {
+				next = r.next;
+				r.next = null;
+				expire(r);
+				r = next;
+			}
+		}
+
+		tick = now + 1;
+	}
+
+	private void expire(Registration<?> r) {
+		if (r.isCancelled()) {
+			return;
+		}
+		if (r.isPaused()) {
+			r.deadline += r.period;
+			insert(r);
+			return;
+		}
+		executor.execute(r);
+		if (!r.once) {
+			r.deadline += r.period;
+			insert(r);
+		}
+	}
+
+	private void insert(Registration<?> r) {
+		long deadline = Math.max(r.deadline, tick);
+		long delta = deadline - tick;
+		int level = 0;
+		while (level < 63 / bits && (delta >>> (bits * (level + 1))) != 0) {
+			level++;
+		}
+		wheel(level)[(int) ((deadline >>> (bits * level)) & mask)].add(r);
+	}
+
+	private Bucket[] wheel(int level) {
+		if (level >= wheels.length) {
+			Bucket[][] grown = new Bucket[level + 1][];
+			System.arraycopy(wheels, 0, grown, 0, wheels.length);
+			for (int i = wheels.length; i <= level; i++) {
+				grown[i] = new Bucket[mask + 1];
+				for (int j = 0; j <= mask; j++) {
+					grown[i][j] = new Bucket();
+				}
+			}
+			wheels = grown;
+		}
+		return wheels[level];
+	}
+
+	private static final class Bucket {
+		Registration<?> head;
+
+		void add(Registration<?> r) {
+			r.bucket = this;
+			r.prev = null;
+			r.next = head;
+			if (null != head) {
+				head.prev = r;
+			}
+			head = r;
+		}
+
+		void remove(Registration<?> r) {
+			if (null != r.prev) {
+				r.prev.next = r.next;
+			} else {
+				head = r.next;
+			}
+			if (null != r.next) {
+				r.next.prev = r.prev;
+			}
+			r.bucket = null;
+			r.prev = null;
+			r.next = null;
+		}
+
+		Registration<?> clear() {
+			Registration<?> r = head;
+			head = null;
+			for (Registration<?> it = r; null != it; it = it.next) {
+				it.bucket = null;
+				it.prev = null;
+			}
+			return r;
+		}
+	}
+
+	/**
+	 * Timer Registration
+	 *
+	 * @param <T> type of the Timer Registration Consumer
+	 */
+	private static final class Registration<T extends Consumer<Long>> implements Runnable, Pausable {
+
+		private static final int STATUS_READY     = 0;
+		private static final int STATUS_PAUSED    = 1;
+		private static final int STATUS_CANCELLED = -1;
+
+		private final HierarchicalWheelTimer timer;
+		private final T                      delegate;
+		private final long                   period;
+		private final boolean                once;
+		private final boolean                lifecycle;
+		private final AtomicInteger          status = new AtomicInteger(STATUS_READY);
+
+		// only accessed by the timer thread
+		long            deadline;
+		Bucket          bucket;
+		Registration<?> prev;
+		Registration<?> next;
+
+		Registration(HierarchicalWheelTimer timer, T delegate, long deadline, long period, boolean once) {
+			Assert.notNull(delegate, "Delegate cannot be null");
+			this.timer = timer;
+			this.delegate = delegate;
+			this.deadline = deadline;
+			this.period = period;
+			this.once = once;
+			this.lifecycle = Pausable.class.isAssignableFrom(delegate.getClass());
+		}
+
+		@Override
+		public void run() {
+			delegate.accept(TimeUtils.approxCurrentTimeMillis());
+		}
+
+		@Override
+		public Registration<T> cancel() {
+			int current = status.get();
+			if (current != STATUS_CANCELLED && status.compareAndSet(current, STATUS_CANCELLED)) {
+				if (lifecycle) {
+					((Pausable) delegate).cancel();
+				}
+				timer.cancelled.offer(this);
+			}
+			return this;
+		}
+
+		@Override
+		public Registration<T> pause() {
+			if (status.compareAndSet(STATUS_READY, STATUS_PAUSED) && lifecycle) {
+				((Pausable) delegate).pause();
+			}
+			return this;
+		}
+
+		@Override
+		public Registration<T> resume() {
+			if (status.compareAndSet(STATUS_PAUSED, STATUS_READY) && lifecycle) {
+				((Pausable) delegate).resume();
+			}
+			return this;
+		}
+
+		boolean isCancelled() {
+			return status.get() == STATUS_CANCELLED;
+		}
+
+		boolean isPaused() {
+			return status.get() == STATUS_PAUSED;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("HierarchicalWheelTimer { Deadline: %d, Status: %d }", deadline, status.get());
+		}
+	}
+
+}
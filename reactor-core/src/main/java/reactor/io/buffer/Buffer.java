@@ -68,9 +68,18 @@ public class Buffer implements Recyclable,
 			System.getProperty("reactor.io.maxBufferSize", "" + 1024 * 1000 * 16)
 	);
 
+	/**
+	 * Whether {@link #allocate(int, boolean)} draws from the {@link DirectBufferPool#shared() shared direct buffer
+	 * pool}. Can be configured using the {@code reactor.io.pooledBuffers} system property. Defaults to {@code false}.
+	 */
+	public static final boolean POOLED = Boolean.parseBoolean(
+			System.getProperty("reactor.io.pooledBuffers", "false")
+	);
+
 	private static final Charset UTF8 = Charset.forName("UTF-8");
-	private final boolean        dynamic;
-	private       ByteBuffer     buffer;
+	private final boolean          dynamic;
+	private final DirectBufferPool pool;
+	private       ByteBuffer       buffer;
 	private       CharsetDecoder decoder;
 	private       CharBuffer     chars;
 	private       int            position;
@@ -81,6 +90,7 @@ public class Buffer implements Recyclable,
 	 */
 	public Buffer() {
 		this.dynamic = true;
+		this.pool = null;
 	}
 
 	/**
@@ -103,6 +113,31 @@ public class Buffer implements Recyclable,
 			ensureCapacity(atLeast);
 		}
 		this.dynamic = !fixed;
+		this.pool = null;
+	}
+
+	/**
+	 * Create a {@literal Buffer} drawing its internal {@link ByteBuffer} from the given {@link DirectBufferPool}. The
+	 * memory goes back to the pool when this {@literal Buffer} is expanded or {@link #recycle() recycled}.
+	 *
+	 * @param atLeast
+	 * 		Allocate this many bytes immediately.
+	 * @param fixed
+	 * 		{@literal true} to make this buffer fixed-length, {@literal false} otherwise.
+	 * @param pool
+	 * 		The pool to draw from.
+	 */
+	public Buffer(int atLeast, boolean fixed, DirectBufferPool pool) {
+		Assert.notNull(pool, "The DirectBufferPool must not be null");
+		if(fixed && atLeast > MAX_BUFFER_SIZE) {
+			throw new IllegalArgumentException("Requested buffer size exceeds maximum allowed (" + MAX_BUFFER_SIZE + ")");
+		}
+		this.dynamic = !fixed;
+		this.pool = pool;
+		this.buffer = pool.allocate(atLeast);
+		if(fixed) {
+			this.buffer.limit(atLeast);
+		}
 	}
 
 	/**
@@ -114,6 +149,7 @@ public class Buffer implements Recyclable,
 	 */
 	public Buffer(Buffer bufferToCopy) {
 		this.dynamic = bufferToCopy.dynamic;
+		this.pool = null;
 		this.buffer = bufferToCopy.buffer.duplicate();
 	}
 
@@ -125,9 +161,25 @@ public class Buffer implements Recyclable,
 	 */
 	public Buffer(ByteBuffer bufferToStartWith) {
 		this.dynamic = true;
+		this.pool = null;
 		this.buffer = bufferToStartWith;
 	}
 
+	/**
+	 * Convenience method to create a new {@literal Buffer} of at least the given size, drawn from the {@link
+	 * DirectBufferPool#shared() shared direct buffer pool} if {@link #POOLED pooling} is enabled.
+	 *
+	 * @param atLeast
+	 * 		Allocate this many bytes immediately.
+	 * @param fixed
+	 * 		{@literal true} to make this buffer fixed-length, {@literal false} otherwise.
+	 *
+	 * @return The new {@literal Buffer}.
+	 */
+	public static Buffer allocate(int atLeast, boolean fixed) {
+		return POOLED ? new Buffer(atLeast, fixed, DirectBufferPool.shared()) : new Buffer(atLeast, fixed);
+	}
+
 	/**
 	 * Convenience method to create a new, fixed-length {@literal Buffer} and putting the given byte array into the
 	 * buffer.
@@ -288,9 +340,22 @@ public class Buffer implements Recyclable,
 		return num;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * A pooled {@literal Buffer} gives its memory back to its {@link DirectBufferPool} and starts over empty, so neither
+	 * the previous {@link #byteBuffer()} nor any duplicate of this {@literal Buffer} must be used afterwards.
+	 */
 	@Override
 	public void recycle() {
-		if(null != buffer) {
+		if(null != pool) {
+			if(null != buffer) {
+				pool.release(buffer);
+				buffer = null;
+			}
+			position = 0;
+			limit = 0;
+		} else if(null != buffer) {
 			buffer.position(0);
 			position = 0;
 			limit = buffer.capacity();
@@ -1333,7 +1398,7 @@ public class Buffer implements Recyclable,
 
 	private synchronized void ensureCapacity(int atLeast) {
 		if(null == buffer) {
-			buffer = ByteBuffer.allocate(SMALL_BUFFER_SIZE);
+			buffer = null != pool ? pool.allocate(Math.max(atLeast, SMALL_BUFFER_SIZE)) : ByteBuffer.allocate(SMALL_BUFFER_SIZE);
 			return;
 		}
 		int pos = buffer.position();
@@ -1342,12 +1407,12 @@ public class Buffer implements Recyclable,
 			if(buffer.limit() < cap) {
 				// there's remaining capacity that hasn't been used yet
 				if(pos + atLeast > cap) {
-					expand();
+					expand(atLeast);
 					cap = buffer.capacity();
 				}
 				buffer.limit(Math.min(pos + atLeast, cap));
 			} else {
-				expand();
+				expand(atLeast);
 				buffer.limit(buffer.capacity());
 			}
 		} else if(pos + SMALL_BUFFER_SIZE > MAX_BUFFER_SIZE) {
@@ -1355,13 +1420,22 @@ public class Buffer implements Recyclable,
 		}
 	}
 
-	private void expand() {
+	private void expand(int atLeast) {
 		snapshot();
-		ByteBuffer newBuff = (buffer.isDirect()
-		                      ? ByteBuffer.allocateDirect(buffer.limit() + SMALL_BUFFER_SIZE)
-		                      : ByteBuffer.allocate(buffer.limit() + SMALL_BUFFER_SIZE));
+		ByteBuffer newBuff;
+		if(null != pool) {
+			// grow to the next size class at least, the old memory goes back to the pool
+			newBuff = pool.allocate(Math.max(buffer.capacity() << 1, buffer.position() + atLeast));
+		} else {
+			newBuff = (buffer.isDirect()
+			           ? ByteBuffer.allocateDirect(buffer.limit() + SMALL_BUFFER_SIZE)
+			           : ByteBuffer.allocate(buffer.limit() + SMALL_BUFFER_SIZE));
+		}
 		buffer.flip();
 		newBuff.put(buffer);
+		if(null != pool) {
+			pool.release(buffer);
+		}
 		buffer = newBuff;
 		reset();
 	}
@@ -18,7 +18,7 @@ package reactor.io.buffer;
 
 import reactor.core.alloc.Allocator;
 import reactor.core.alloc.Reference;
-import reactor.core.alloc.ReferenceCountingAllocator;
+import reactor.core.alloc.StripedAllocator;
 import reactor.fn.Supplier;
 
 import java.nio.ByteBuffer;
@@ -51,7 +51,7 @@ public class BufferAllocator implements Allocator<Buffer> {
 	 * 		The size of the buffers.
 	 */
 	public BufferAllocator(int poolSize, final boolean direct, final int bufferSize) {
-		this.delegate = new ReferenceCountingAllocator<Buffer>(
+		this.delegate = new StripedAllocator<Buffer>(
 				poolSize,
 				new Supplier<Buffer>() {
 					@Override
@@ -64,6 +64,29 @@ public class BufferAllocator implements Allocator<Buffer> {
 		);
 	}
 
+	/**
+	 * Create a {@code BufferAllocator} whose {@link Buffer Buffers} draw their memory from the given {@link
+	 * DirectBufferPool} and give it back when released.
+	 *
+	 * @param poolSize
+	 * 		The number of Buffers to keep on hand.
+	 * @param bufferSize
+	 * 		The initial size of the buffers.
+	 * @param pool
+	 * 		The pool of direct memory to draw from.
+	 */
+	public BufferAllocator(int poolSize, final int bufferSize, final DirectBufferPool pool) {
+		this.delegate = new StripedAllocator<Buffer>(
+				poolSize,
+				new Supplier<Buffer>() {
+					@Override
+					public Buffer get() {
+						return new Buffer(bufferSize, false, pool);
+					}
+				}
+		);
+	}
+
 	@Override
 	public Reference<Buffer> allocate() {
 		return delegate.allocate();
@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.buffer;
+
+import reactor.core.support.Assert;
+
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of direct {@link ByteBuffer ByteBuffers} organized in power-of-two size classes. Each size class carves its
+ * buffers out of large direct slabs so that only the slabs, not every buffer, are tracked by a {@code Cleaner}.
+ * Threads first draw from and give back to a small thread-local cache, then from one of several arenas so that
+ * threads rarely contend on the same lock. Requests larger than the biggest size class are served unpooled.
+ * <p>
+ * Each slab records the arena it belongs to, and a buffer always goes back to the arena of its slab, whichever thread
+ * releases it, so that buffers allocated on one thread and released on another don't pile up in the releasing
+ * thread's arena while the allocating one keeps carving new slabs. Buffers the pool didn't carve, or that are already
+ * back in the pool, are ignored on release. The caches of threads that have died are drained back into their arena
+ * before a new slab is carved.
+ * <p>
+ * A released {@link ByteBuffer} must no longer be used by its previous owner, including through any duplicate or
+ * slice of it.
+ *
+ * @since 2.0
+ */
+public final class DirectBufferPool {
+
+	/**
+	 * The smallest pooled buffer capacity. Can be configured using the {@code reactor.io.pool.minBufferSize} system
+	 * property. Defaults to 256 bytes.
+	 */
+	public static final int DEFAULT_MIN_BUFFER_SIZE = Integer.parseInt(
+			System.getProperty("reactor.io.pool.minBufferSize", "" + 256)
+	);
+
+	/**
+	 * The largest pooled buffer capacity. Can be configured using the {@code reactor.io.pool.maxBufferSize} system
+	 * property. Defaults to 1048576 bytes.
+	 */
+	public static final int DEFAULT_MAX_BUFFER_SIZE = Integer.parseInt(
+			System.getProperty("reactor.io.pool.maxBufferSize", "" + 1024 * 1024)
+	);
+
+	/**
+	 * The size of the direct slabs buffers are carved out of. Can be configured using the {@code
+	 * reactor.io.pool.slabSize} system property. Defaults to 1048576 bytes.
+	 */
+	public static final int DEFAULT_SLAB_SIZE = Integer.parseInt(
+			System.getProperty("reactor.io.pool.slabSize", "" + 1024 * 1024)
+	);
+
+	// bytes worth of buffers each thread keeps per size class
+	private static final int CACHE_SIZE = 64 * 1024;
+
+	private static volatile DirectBufferPool shared;
+
+	private final int     minShift;
+	private final int     maxShift;
+	private final int     slabSize;
+	private final Arena[] arenas;
+	private final Slots   carved = new Slots();
+
+	private final AtomicInteger                nextArena = new AtomicInteger();
+	private final AtomicLong                   slabs     = new AtomicLong();
+	private final AtomicLong                   unpooled  = new AtomicLong();
+	private final ConcurrentLinkedQueue<Cache> allCaches = new ConcurrentLinkedQueue<Cache>();
+	private final ThreadLocal<Cache>           caches    = new ThreadLocal<Cache>() {
+		@Override
+		protected Cache initialValue() {
+			Cache cache = new Cache(arenas[(nextArena.getAndIncrement() & Integer.MAX_VALUE) % arenas.length]);
+			allCaches.add(cache);
+			return cache;
+		}
+	};
+
+	public DirectBufferPool() {
+		this(DEFAULT_MIN_BUFFER_SIZE, DEFAULT_MAX_BUFFER_SIZE, DEFAULT_SLAB_SIZE,
+				Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create a {@code DirectBufferPool}.
+	 *
+	 * @param minBufferSize the smallest pooled capacity, rounded up to a power of 2
+	 * @param maxBufferSize the largest pooled capacity, rounded up to a power of 2
+	 * @param slabSize      the size of the direct slabs buffers are carved out of
+	 * @param arenas        the number of arenas threads are spread over
+	 */
+	public DirectBufferPool(int minBufferSize, int maxBufferSize, int slabSize, int arenas) {
+		Assert.isTrue(minBufferSize > 0 && minBufferSize <= maxBufferSize,
+				"The minimum buffer size must be strictly positive and not exceed the maximum buffer size");
+		Assert.isTrue(arenas > 0, "The number of arenas must be strictly positive");
+		this.minShift = shift(minBufferSize);
+		this.maxShift = shift(maxBufferSize);
+		this.slabSize = slabSize;
+		this.arenas = new Arena[arenas];
+		for (int i = 0; i < arenas; i++) {
+			this.arenas[i] = new Arena(maxShift - minShift + 1);
+		}
+	}
+
+	/**
+	 * Return the pool shared by the {@link Buffer Buffers} created with {@link Buffer#allocate(int, boolean)} when
+	 * pooling is enabled.
+	 *
+	 * @return the shared {@code DirectBufferPool}
+	 */
+	public static DirectBufferPool shared() {
+		DirectBufferPool pool = shared;
+		if (null == pool) {
+			synchronized (DirectBufferPool.class) {
+				pool = shared;
+				if (null == pool) {
+					shared = pool = new DirectBufferPool();
+				}
+			}
+		}
+		return pool;
+	}
+
+	/**
+	 * Allocate a cleared direct {@link ByteBuffer} of at least {@code capacity} bytes.
+	 *
+	 * @param capacity the minimum capacity
+	 * @return a cleared direct {@link ByteBuffer}, whose capacity is the size class fitting {@code capacity}
+	 */
+	public ByteBuffer allocate(int capacity) {
+		int sizeClass = sizeClass(capacity);
+		if (sizeClass < 0) {
+			unpooled.incrementAndGet();
+			return ByteBuffer.allocateDirect(capacity);
+		}
+		Cache cache = caches.get();
+		Slot slot = cache.poll(sizeClass);
+		if (null == slot) {
+			slot = cache.arena.allocate(sizeClass);
+		}
+		slot.state = Slot.IN_USE;
+		ByteBuffer buffer = slot.buffer;
+		buffer.clear();
+		return buffer;
+	}
+
+	/**
+	 * Give a {@link ByteBuffer} back to the arena it was carved from. Buffers this pool didn't allocate out of a slab,
+	 * including heap buffers and unpooled ones, are left to the garbage collector. Releasing a buffer that is already
+	 * back in the pool has no effect.
+	 *
+	 * @param buffer the buffer to release
+	 */
+	public void release(ByteBuffer buffer) {
+		if (null == buffer || !buffer.isDirect()) {
+			return;
+		}
+		Slot slot = carved.get(buffer);
+		if (null == slot || !Slot.STATE.compareAndSet(slot, Slot.IN_USE, Slot.FREE)) {
+			return;
+		}
+		Arena arena = slot.slab.arena;
+		Cache cache = caches.get();
+		if (cache.arena != arena || !cache.offer(slot)) {
+			arena.release(slot);
+		}
+	}
+
+	/**
+	 * Return the number of direct slabs allocated so far.
+	 *
+	 * @return the number of slabs
+	 */
+	public long getSlabCount() {
+		return slabs.get();
+	}
+
+	/**
+	 * Return the number of requests that were too large to be pooled.
+	 *
+	 * @return the number of unpooled allocations
+	 */
+	public long getUnpooledCount() {
+		return unpooled.get();
+	}
+
+	@Override
+	public String toString() {
+		return "DirectBufferPool{" +
+				"minBufferSize=" + (1 << minShift) +
+				", maxBufferSize=" + (1 << maxShift) +
+				", arenas=" + arenas.length +
+				", slabs=" + slabs.get() +
+				", unpooled=" + unpooled.get() +
+				'}';
+	}
+
+	private int sizeClass(int capacity) {
+		int shift = shift(capacity);
+		if (shift > maxShift) {
+			return -1;
+		}
+		return Math.max(shift, minShift) - minShift;
+	}
+
+	private static int shift(int capacity) {
+		return capacity <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(capacity - 1);
+	}
+
+	/**
+	 * Give the buffers cached by threads that have died back to their arena. A terminated thread's writes are visible
+	 * once {@link Thread#isAlive()} returned false.
+	 */
+	private void drainDeadCaches() {
+		for (Cache cache : allCaches) {
+			Thread owner = cache.owner.get();
+			// only the thread removing the cache drains it
+			if ((null == owner || !owner.isAlive()) && allCaches.remove(cache)) {
+				cache.drain();
+			}
+		}
+	}
+
+	private final class Arena {
+		final ArrayDeque<Slot>[] free;
+
+		@SuppressWarnings("unchecked")
+		Arena(int sizeClasses) {
+			this.free = new ArrayDeque[sizeClasses];
+			for (int i = 0; i < sizeClasses; i++) {
+				free[i] = new ArrayDeque<Slot>();
+			}
+		}
+
+		Slot allocate(int sizeClass) {
+			ArrayDeque<Slot> slots = free[sizeClass];
+			synchronized (slots) {
+				Slot slot = slots.pollFirst();
+				if (null != slot) {
+					return slot;
+				}
+			}
+			drainDeadCaches();
+			synchronized (slots) {
+				Slot slot = slots.pollFirst();
+				if (null == slot) {
+					carve(sizeClass, slots);
+					slot = slots.pollFirst();
+				}
+				return slot;
+			}
+		}
+
+		void release(Slot slot) {
+			ArrayDeque<Slot> slots = free[slot.slab.sizeClass];
+			synchronized (slots) {
+				slots.offerFirst(slot);
+			}
+		}
+
+		private void carve(int sizeClass, ArrayDeque<Slot> available) {
+			int size = 1 << (sizeClass + minShift);
+			int count = Math.max(1, slabSize / size);
+			ByteBuffer memory = ByteBuffer.allocateDirect(size * count);
+			Slab slab = new Slab(this, sizeClass);
+			slabs.incrementAndGet();
+			for (int i = 0; i < count; i++) {
+				memory.limit((i + 1) * size).position(i * size);
+				Slot slot = new Slot(memory.slice(), slab);
+				carved.put(slot);
+				available.offerLast(slot);
+			}
+		}
+	}
+
+	/**
+	 * A direct slab, which records the arena and size class of the buffers carved out of it.
+	 */
+	private static final class Slab {
+		final Arena arena;
+		final int   sizeClass;
+
+		Slab(Arena arena, int sizeClass) {
+			this.arena = arena;
+			this.sizeClass = sizeClass;
+		}
+	}
+
+	/**
+	 * A buffer carved out of a {@link Slab}, either in use or back in the pool.
+	 */
+	private static final class Slot {
+		static final int IN_USE = 0;
+		static final int FREE   = 1;
+
+		static final AtomicIntegerFieldUpdater<Slot> STATE =
+				AtomicIntegerFieldUpdater.newUpdater(Slot.class, "state");
+
+		final ByteBuffer buffer;
+		final Slab       slab;
+
+		volatile int state = FREE;
+
+		Slot(ByteBuffer buffer, Slab slab) {
+			this.buffer = buffer;
+			this.slab = slab;
+		}
+	}
+
+	/**
+	 * The {@link Slot} of each carved buffer, by identity since {@link ByteBuffer#equals(Object)} compares contents.
+	 * Lookups are striped by identity hash code so that concurrent releases rarely contend.
+	 */
+	private static final class Slots {
+		final IdentityHashMap<ByteBuffer, Slot>[] stripes;
+
+		@SuppressWarnings("unchecked")
+		Slots() {
+			this.stripes = new IdentityHashMap[16];
+			for (int i = 0; i < stripes.length; i++) {
+				stripes[i] = new IdentityHashMap<ByteBuffer, Slot>();
+			}
+		}
+
+		void put(Slot slot) {
+			IdentityHashMap<ByteBuffer, Slot> stripe = stripe(slot.buffer);
+			synchronized (stripe) {
+				stripe.put(slot.buffer, slot);
+			}
+		}
+
+		Slot get(ByteBuffer buffer) {
+			IdentityHashMap<ByteBuffer, Slot> stripe = stripe(buffer);
+			synchronized (stripe) {
+				return stripe.get(buffer);
+			}
+		}
+
+		private IdentityHashMap<ByteBuffer, Slot> stripe(ByteBuffer buffer) {
+			return stripes[System.identityHashCode(buffer) & (stripes.length - 1)];
+		}
+	}
+
+	private final class Cache {
+		final Arena                 arena;
+		final WeakReference<Thread> owner = new WeakReference<Thread>(Thread.currentThread());
+		final Slot[][]              slots;
+		final int[]                 sizes;
+
+		Cache(Arena arena) {
+			this.arena = arena;
+			int sizeClasses = maxShift - minShift + 1;
+			this.slots = new Slot[sizeClasses][];
+			this.sizes = new int[sizeClasses];
+			for (int i = 0; i < sizeClasses; i++) {
+				slots[i] = new Slot[Math.max(1, CACHE_SIZE >> (i + minShift))];
+			}
+		}
+
+		Slot poll(int sizeClass) {
+			int size = sizes[sizeClass];
+			if (size == 0) {
+				return null;
+			}
+			Slot[] stack = slots[sizeClass];
+			Slot slot = stack[--size];
+			stack[size] = null;
+			sizes[sizeClass] = size;
+			return slot;
+		}
+
+		boolean offer(Slot slot) {
+			int sizeClass = slot.slab.sizeClass;
+			Slot[] stack = slots[sizeClass];
+			int size = sizes[sizeClass];
+			if (size == stack.length) {
+				return false;
+			}
+			stack[size] = slot;
+			sizes[sizeClass] = size + 1;
+			return true;
+		}
+
+		void drain() {
+			for (int i = 0; i < slots.length; i++) {
+				Slot slot;
+				while (null != (slot = poll(i))) {
+					arena.release(slot);
+				}
+			}
+		}
+	}
+
+}
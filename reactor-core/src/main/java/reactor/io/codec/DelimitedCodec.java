@@ -111,12 +111,11 @@ public class DelimitedCodec<IN, OUT> extends Codec<Buffer, IN, OUT> {
 
 	@Override
 	public Buffer apply(OUT out) {
-		Buffer buffer = new Buffer();
 		Buffer encoded = delegate.apply(out);
 		if (null != encoded && encoded.remaining() > 0) {
-			buffer.append(encoded).append(delimiter);
+			return Buffer.allocate(encoded.remaining() + 1, false).append(encoded).append(delimiter).flip();
 		}
-		return buffer.flip();
+		return new Buffer().flip();
 	}
 
 }
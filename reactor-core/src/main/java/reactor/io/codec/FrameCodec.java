@@ -76,8 +76,8 @@ public class FrameCodec extends Codec<Buffer, Frame, Frame> {
 					return null;
 				}
 
-				Buffer prefixBuff = new Buffer(prefixLength, true).append(prefix.get()).flip();
-				Buffer dataBuff = new Buffer(data.getEnd() - data.getStart(), true).append(data.get()).flip();
+				Buffer prefixBuff = Buffer.allocate(prefixLength, true).append(prefix.get()).flip();
+				Buffer dataBuff = Buffer.allocate(data.getEnd() - data.getStart(), true).append(data.get()).flip();
 
 				buffer.limit(limit);
 
@@ -21,7 +21,6 @@ import reactor.fn.Consumer;
 import reactor.fn.Function;
 import reactor.io.buffer.Buffer;
 
-import java.nio.ByteBuffer;
 
 /**
  * A codec that uses a length-field at the start of each chunk to denote the chunk's size.
@@ -130,20 +129,16 @@ public class LengthFieldCodec<IN, OUT> extends Codec<Buffer, IN, OUT> {
 		Buffer encoded = delegate.apply(out);
 		if (null != encoded && encoded.remaining() > 0) {
 			int len = encoded.remaining();
-			ByteBuffer bb = null;
+			Buffer buffer = null;
 			if (lengthFieldLength == 4) {
-				bb = ByteBuffer.allocate(len + 4);
-				bb.putInt(len);
+				buffer = Buffer.allocate(len + 4, true).append(len);
 			} else if (lengthFieldLength == 2) {
-				bb = ByteBuffer.allocate(len + 2);
-				bb.putShort((short) len);
+				buffer = Buffer.allocate(len + 2, true).append((short) len);
 			} else if (lengthFieldLength == 8) {
-				bb = ByteBuffer.allocate(len + 8);
-				bb.putLong((long) len);
+				buffer = Buffer.allocate(len + 8, true).append((long) len);
 			}
-			if (null != bb) {
-				bb.put(encoded.byteBuffer()).flip();
-				return new Buffer(bb);
+			if (null != buffer) {
+				return buffer.append(encoded).flip();
 			}
 		}
 		return encoded;
@@ -93,7 +93,7 @@ public abstract class SerializationCodec<E, IN, OUT> extends Codec<Buffer, IN, O
 	private Buffer writeTypeName(Class<?> type, byte[] bytes) {
 		String typeName = type.getName();
 		int len = typeName.length();
-		Buffer buffer = new Buffer(4 + len + bytes.length, true);
+		Buffer buffer = Buffer.allocate(4 + len + bytes.length, true);
 		return buffer.append(len)
 				.append(typeName)
 				.append(bytes)
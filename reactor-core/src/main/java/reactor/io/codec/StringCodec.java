@@ -77,7 +77,7 @@ public class StringCodec extends Codec<Buffer, String, String> {
 		try {
 			ByteBuffer bb = encoder.encode(CharBuffer.wrap(s));
 			if (delimiter != null) {
-				return addDelimiterIfAny(new Buffer().append(bb));
+				return addDelimiterIfAny(Buffer.allocate(bb.remaining() + 1, false).append(bb));
 			} else {
 				return new Buffer(bb);
 			}
@@ -120,7 +120,8 @@ public class JsonCodec<IN, OUT> extends Codec<Buffer, IN, OUT> {
 	@Override
 	public Buffer apply(OUT out) {
 		try {
-			return addDelimiterIfAny(new Buffer().append(mapper.writeValueAsBytes(out)));
+			byte[] bytes = mapper.writeValueAsBytes(out);
+			return addDelimiterIfAny(Buffer.allocate(bytes.length + 1, false).append(bytes));
 		} catch (JsonProcessingException e) {
 			throw new IllegalStateException(e);
 		}
@@ -0,0 +1,550 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.queue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.support.Assert;
+import reactor.core.support.IoUtils;
+import reactor.io.buffer.Buffer;
+import reactor.io.codec.Codec;
+import reactor.io.codec.JavaSerializationCodec;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+
+/**
+ * A {@link QueuePersistor} implementation that appends items to segmented memory-mapped files, without any third
+ * party dependency.
+ * <p>
+ * Each segment is a pre-allocated log file of length-prefixed records, with a sparse index file mapping every
+ * {@code indexInterval}-th record to its position. A segment is rolled over when the next record doesn't fit and
+ * fully consumed segments are deleted, keeping only the {@code retainedSegments} most recent ones. The position of
+ * the next item to remove is checkpointed in a small mapped file so that a queue can be reopened where it was left.
+ * <p>
+ * Items are decoded straight from the mapped memory: a {@link Codec} that doesn't copy its input, like {@link
+ * reactor.io.codec.PassThroughCodec}, reads them without any copy. A segment is only unmapped right away when it's
+ * deleted or closed if none of its records has been read, otherwise its mapping is left to the garbage collector so
+ * that such items stay valid for as long as they are referenced.
+ * <p>
+ * Once {@link #close() closed}, the persistor rejects any further call with an {@link IllegalStateException}.
+ *
+ * @since 2.0
+ */
+public class MappedFileQueuePersistor<T> implements QueuePersistor<T> {
+
+	/**
+	 * When to force the mapped files to the storage device.
+	 */
+	public enum FsyncPolicy {
+		/**
+		 * Leave it to the operating system
+		 */
+		NEVER,
+		/**
+		 * When a segment is rolled over and when the persistor is closed
+		 */
+		ON_ROLLOVER,
+		/**
+		 * After each {@link #offer(Object)} or {@link #offerAll(Collection)}, and the checkpoint after each {@link
+		 * #remove()}
+		 */
+		ALWAYS
+	}
+
+	public static final int DEFAULT_SEGMENT_SIZE   = 64 * 1024 * 1024;
+	public static final int DEFAULT_INDEX_INTERVAL = 64;
+
+	private static final Logger LOG = LoggerFactory.getLogger(MappedFileQueuePersistor.class);
+
+	private static final String LOG_SUFFIX   = ".log";
+	private static final String INDEX_SUFFIX = ".index";
+	private static final String CHECKPOINT   = "queue.checkpoint";
+	private static final int    HEADER_SIZE  = 4;
+
+	private final Object                  monitor  = new Object();
+	private final TreeMap<Long, Segment>  segments = new TreeMap<Long, Segment>();
+	private final File                    directory;
+	private final Codec<Buffer, T, T>     codec;
+	private final boolean                 deleteOnExit;
+	private final int                     segmentSize;
+	private final int                     indexInterval;
+	private final int                     retainedSegments;
+	private final FsyncPolicy             fsyncPolicy;
+	private final MappedByteBuffer        checkpoint;
+
+	private Segment writeSegment;
+	private Segment readSegment;
+	private int     readPosition;
+	private long    nextId;
+	private long    readId;
+	private boolean closed;
+
+	/**
+	 * Create a {@link MappedFileQueuePersistor} based on the given base path.
+	 *
+	 * @param basePath Directory in which to create the segments.
+	 * @throws IOException
+	 */
+	public MappedFileQueuePersistor(@Nonnull String basePath) throws IOException {
+		this(basePath, new JavaSerializationCodec<T>(), false, false);
+	}
+
+	/**
+	 * Create a {@link MappedFileQueuePersistor} based on the given base path and codec, with the default segment size
+	 * and index interval, no retention of consumed segments and no fsync.
+	 *
+	 * @param basePath     Directory in which to create the segments.
+	 * @param codec        Codec to turn objects into {@link reactor.io.buffer.Buffer Buffers} and visa-versa.
+	 * @param clearOnStart Whether or not to clear the segments on start.
+	 * @param deleteOnExit Whether or not to delete the segments when the persistor is closed.
+	 * @throws IOException
+	 */
+	public MappedFileQueuePersistor(@Nonnull String basePath,
+	                                @Nonnull Codec<Buffer, T, T> codec,
+	                                boolean clearOnStart,
+	                                boolean deleteOnExit) throws IOException {
+		this(basePath, codec, clearOnStart, deleteOnExit, DEFAULT_SEGMENT_SIZE, DEFAULT_INDEX_INTERVAL, 0,
+				FsyncPolicy.NEVER);
+	}
+
+	/**
+	 * Create a {@link MappedFileQueuePersistor} based on the given base path and codec.
+	 *
+	 * @param basePath         Directory in which to create the segments.
+	 * @param codec            Codec to turn objects into {@link reactor.io.buffer.Buffer Buffers} and visa-versa.
+	 * @param clearOnStart     Whether or not to clear the segments on start.
+	 * @param deleteOnExit     Whether or not to delete the segments when the persistor is closed.
+	 * @param segmentSize      The size of each segment file, which bounds the size of a single item.
+	 * @param indexInterval    The number of records between two index entries.
+	 * @param retainedSegments The number of fully consumed segments to keep around.
+	 * @param fsyncPolicy      When to force the segments to the storage device.
+	 * @throws IOException
+	 */
+	public MappedFileQueuePersistor(@Nonnull String basePath,
+	                                @Nonnull Codec<Buffer, T, T> codec,
+	                                boolean clearOnStart,
+	                                boolean deleteOnExit,
+	                                int segmentSize,
+	                                int indexInterval,
+	                                int retainedSegments,
+	                                @Nonnull FsyncPolicy fsyncPolicy) throws IOException {
+		Assert.isTrue(segmentSize > HEADER_SIZE, "The segment size must be greater than " + HEADER_SIZE);
+		Assert.isTrue(indexInterval > 0, "The index interval must be strictly positive");
+		Assert.isTrue(retainedSegments >= 0, "The number of retained segments must not be negative");
+		this.directory = new File(basePath);
+		this.codec = codec;
+		this.deleteOnExit = deleteOnExit;
+		this.segmentSize = segmentSize;
+		this.indexInterval = indexInterval;
+		this.retainedSegments = retainedSegments;
+		this.fsyncPolicy = fsyncPolicy;
+
+		if (clearOnStart) {
+			deleteFiles();
+		}
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Unable to create directory " + directory);
+		}
+
+		File[] logs = directory.listFiles();
+		if (null != logs) {
+			for (File file : logs) {
+				String name = file.getName();
+				if (name.endsWith(LOG_SUFFIX)) {
+					long firstId;
+					try {
+						firstId = Long.parseLong(name.substring(0, name.length() - LOG_SUFFIX.length()));
+					} catch (NumberFormatException nfe) {
+						LOG.debug("Ignoring {}, which isn't a segment", file);
+						continue;
+					}
+					segments.put(firstId, new Segment(firstId));
+				}
+			}
+		}
+		if (segments.isEmpty()) {
+			segments.put(0l, new Segment(0l));
+		}
+		writeSegment = segments.lastEntry().getValue();
+		nextId = writeSegment.firstId + writeSegment.count;
+
+		checkpoint = map(new File(directory, CHECKPOINT), 8);
+		readId = Math.min(Math.max(checkpoint.getLong(0), segments.firstKey()), nextId);
+
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Opened {} with {} segments, {} items to read", directory, segments.size(), size());
+		}
+	}
+
+	@Override
+	public long lastId() {
+		synchronized (monitor) {
+			checkOpen();
+			return nextId - 1;
+		}
+	}
+
+	@Override
+	public long size() {
+		synchronized (monitor) {
+			checkOpen();
+			return nextId - readId;
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		synchronized (monitor) {
+			checkOpen();
+			return readId < nextId;
+		}
+	}
+
+	@Override
+	public Long offer(@Nonnull T t) {
+		synchronized (monitor) {
+			long id = append(t);
+			if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+				writeSegment.force();
+			}
+			return id;
+		}
+	}
+
+	@Override
+	public Long offerAll(@Nonnull Collection<T> t) {
+		synchronized (monitor) {
+			for (T v : t) {
+				append(v);
+			}
+			if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+				writeSegment.force();
+			}
+			return nextId - 1;
+		}
+	}
+
+	@Override
+	public T get(Long idx) {
+		synchronized (monitor) {
+			checkOpen();
+			if (null == idx || idx < 0 || idx >= nextId) {
+				return null;
+			}
+			Map.Entry<Long, Segment> entry = segments.floorEntry(idx);
+			if (null == entry) {
+				return null;
+			}
+			Segment segment = entry.getValue();
+			return decode(segment.read(segment.position(idx)));
+		}
+	}
+
+	@Override
+	public T remove() {
+		synchronized (monitor) {
+			checkOpen();
+			if (readId >= nextId) {
+				return null;
+			}
+			if (null == readSegment || !readSegment.contains(readId)) {
+				readSegment = segments.floorEntry(readId).getValue();
+				readPosition = readSegment.position(readId);
+				retain();
+			}
+			Buffer buffer = readSegment.read(readPosition);
+			readPosition += HEADER_SIZE + buffer.remaining();
+			checkpoint.putLong(0, ++readId);
+			if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+				checkpoint.force();
+			}
+			return decode(buffer);
+		}
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		final long from;
+		synchronized (monitor) {
+			checkOpen();
+			from = readId;
+		}
+		return new Iterator<T>() {
+			long id = from;
+
+			@Override
+			public boolean hasNext() {
+				synchronized (monitor) {
+					checkOpen();
+					return id < nextId;
+				}
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return get(id++);
+			}
+
+			@Override
+			public void remove() {
+				throw new IllegalStateException("This Iterator is read-only.");
+			}
+		};
+	}
+
+	@Override
+	public void close() {
+		synchronized (monitor) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			if (fsyncPolicy != FsyncPolicy.NEVER) {
+				writeSegment.force();
+				checkpoint.force();
+			}
+			for (Segment segment : segments.values()) {
+				segment.release();
+			}
+			segments.clear();
+			writeSegment = null;
+			readSegment = null;
+			unmap(checkpoint);
+			if (deleteOnExit) {
+				deleteFiles();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		synchronized (monitor) {
+			return "MappedFileQueuePersistor{" +
+					"directory=" + directory +
+					", segments=" + segments.size() +
+					", size=" + (nextId - readId) +
+					", closed=" + closed +
+					'}';
+		}
+	}
+
+	private void checkOpen() {
+		Assert.state(!closed, "This persistor has been closed");
+	}
+
+	private long append(T t) {
+		checkOpen();
+		Buffer buffer = codec.apply(t);
+		if (!writeSegment.append(buffer)) {
+			Assert.isTrue(HEADER_SIZE + buffer.remaining() <= segmentSize,
+					"Item of " + buffer.remaining() + " bytes exceeds the segment size of " + segmentSize);
+			rollover();
+			writeSegment.append(buffer);
+		}
+		return nextId++;
+	}
+
+	private void rollover() {
+		if (fsyncPolicy != FsyncPolicy.NEVER) {
+			writeSegment.force();
+		}
+		try {
+			writeSegment = new Segment(nextId);
+		} catch (IOException e) {
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+		segments.put(nextId, writeSegment);
+		retain();
+	}
+
+	private void retain() {
+		// segments entirely before the one being read from are consumed
+		SortedMap<Long, Segment> consumed = segments.headMap(segments.floorKey(readId));
+		int toDelete = consumed.size() - retainedSegments;
+		Iterator<Segment> it = consumed.values().iterator();
+		while (toDelete-- > 0 && it.hasNext()) {
+			Segment segment = it.next();
+			it.remove();
+			segment.delete();
+		}
+	}
+
+	private T decode(Buffer buffer) {
+		return codec.decoder(null).apply(buffer);
+	}
+
+	private void deleteFiles() {
+		File[] files = directory.listFiles();
+		if (null != files) {
+			for (File file : files) {
+				String name = file.getName();
+				if (name.endsWith(LOG_SUFFIX) || name.endsWith(INDEX_SUFFIX) || name.equals(CHECKPOINT)) {
+					file.delete();
+				}
+			}
+		}
+		directory.delete();
+	}
+
+	private static MappedByteBuffer map(File file, int size) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			long length = Math.max(raf.length(), size);
+			raf.setLength(length);
+			// the mapping stays valid once the file is closed
+			return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+		} finally {
+			IoUtils.closeQuietly(raf);
+		}
+	}
+
+	/**
+	 * Release the memory of {@code buffer} right away rather than when it's garbage collected, which on some platforms
+	 * is also what frees the disk space of its deleted file. Falls back to the garbage collector if the JVM doesn't
+	 * allow it.
+	 */
+	private static void unmap(MappedByteBuffer buffer) {
+		try {
+			Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+			cleanerMethod.setAccessible(true);
+			Object cleaner = cleanerMethod.invoke(buffer);
+			if (null != cleaner) {
+				cleaner.getClass().getMethod("clean").invoke(cleaner);
+			}
+		} catch (Exception e) {
+			LOG.debug("Unable to unmap a segment, leaving it to the garbage collector", e);
+		}
+	}
+
+	private final class Segment {
+		final long firstId;
+		final File logFile;
+		final File indexFile;
+
+		MappedByteBuffer log;
+		MappedByteBuffer index;
+
+		// whether a record has been handed out as a view of the mapping, which must then outlive the segment
+		boolean viewed;
+		int     writePosition;
+		int count;
+
+		Segment(long firstId) throws IOException {
+			String name = String.format("%020d", firstId);
+			this.firstId = firstId;
+			this.logFile = new File(directory, name + LOG_SUFFIX);
+			this.indexFile = new File(directory, name + INDEX_SUFFIX);
+			this.log = map(logFile, segmentSize);
+			// at most one record every HEADER_SIZE bytes, one index entry every indexInterval records
+			this.index = map(indexFile, (log.capacity() / HEADER_SIZE / indexInterval + 1) * 4);
+			recover();
+		}
+
+		boolean contains(long id) {
+			return id >= firstId && id < firstId + count;
+		}
+
+		boolean append(Buffer buffer) {
+			int len = buffer.remaining();
+			if (writePosition + HEADER_SIZE + len > log.capacity()) {
+				return false;
+			}
+			ByteBuffer dst = log.duplicate();
+			dst.position(writePosition + HEADER_SIZE);
+			dst.put(buffer.byteBuffer());
+			// headers hold length + 1 and are written last so that 0 always marks the end of the log
+			log.putInt(writePosition, len + 1);
+			if (count % indexInterval == 0) {
+				index.putInt(count / indexInterval * 4, writePosition + 1);
+			}
+			writePosition += HEADER_SIZE + len;
+			count++;
+			return true;
+		}
+
+		int position(long id) {
+			int relative = (int) (id - firstId);
+			int position = index.getInt(relative / indexInterval * 4) - 1;
+			for (int i = relative % indexInterval; i > 0; i--) {
+				position += HEADER_SIZE + log.getInt(position) - 1;
+			}
+			return position;
+		}
+
+		Buffer read(int position) {
+			int len = log.getInt(position) - 1;
+			ByteBuffer bb = log.duplicate();
+			bb.limit(position + HEADER_SIZE + len).position(position + HEADER_SIZE);
+			viewed = true;
+			return new Buffer(bb.slice());
+		}
+
+		void force() {
+			log.force();
+			index.force();
+		}
+
+		void delete() {
+			release();
+			logFile.delete();
+			indexFile.delete();
+		}
+
+		void release() {
+			MappedByteBuffer log = this.log;
+			MappedByteBuffer index = this.index;
+			this.log = null;
+			this.index = null;
+			if (!viewed) {
+				unmap(log);
+			}
+			// the index is never handed out
+			unmap(index);
+		}
+
+		private void recover() {
+			int entry = index.capacity() / 4 - 1;
+			while (entry > 0 && index.getInt(entry * 4) == 0) {
+				entry--;
+			}
+			int position = Math.max(0, index.getInt(entry * 4) - 1);
+			int recovered = entry * indexInterval;
+			int header;
+			while (position + HEADER_SIZE <= log.capacity() && (header = log.getInt(position)) > 0) {
+				if (recovered % indexInterval == 0) {
+					index.putInt(recovered / indexInterval * 4, position + 1);
+				}
+				position += HEADER_SIZE + header - 1;
+				recovered++;
+			}
+			writePosition = position;
+			count = recovered;
+		}
+	}
+
+}
@@ -18,6 +18,14 @@ package reactor
 import reactor.core.Dispatcher
 import reactor.core.config.ConfigurationReader
 import reactor.core.config.ReactorConfiguration
+import reactor.core.dispatch.affinity.AffinityStrategy
+import reactor.core.dispatch.affinity.CpuSet
+import reactor.jarjar.com.lmax.disruptor.BlockingWaitStrategy
+import reactor.jarjar.com.lmax.disruptor.dsl.ProducerType
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
 import spock.lang.Specification
 
 class EnvironmentSpec extends Specification {
@@ -75,4 +83,33 @@ class EnvironmentSpec extends Specification {
 				Environment.terminate()
 	}
 
+	def "A dispatcher pool pins its dispatchers and routes keys to the same dispatcher"() {
+
+		given:
+			"a pool of 4 dispatchers pinned to CPUs 4 to 7"
+			def pinned = new CopyOnWriteArrayList<Integer>()
+			def strategy = { int cpu -> pinned << cpu; true } as AffinityStrategy
+			def pool = Environment.createDispatcherFactory("affinity", 4, 64, null, ProducerType.MULTI,
+					new BlockingWaitStrategy(), CpuSet.parse("4-7"), strategy)
+
+		when:
+			"dispatchers are requested by key"
+			def first = pool.get("key-1")
+			def second = pool.get("key-2")
+			def latch = new CountDownLatch(2)
+			[first, second].unique().each { it.execute({ latch.countDown() }) }
+			if (first == second) latch.countDown()
+
+		then:
+			"the same key always hits the same dispatcher, which has been pinned first"
+			pool.get("key-1").is(first)
+			pool.get("key-2").is(second)
+			latch.await(5, TimeUnit.SECONDS)
+			pinned.every { it in (4..7) }
+			pinned.size() == [first, second].unique().size()
+
+		cleanup:
+			pool.shutdown()
+	}
+
 }
@@ -61,6 +61,55 @@ class AllocatorsSpec extends Specification {
 
 	}
 
+	def "a StripedAllocator should recycle references released from other threads"() {
+
+		given: "a striped allocator and a thread pool"
+			def threadPool = Executors.newCachedThreadPool()
+			def pool = new StripedAllocator(4, 1, {
+				new Recyclable() {
+					@Override
+					void recycle() {
+					}
+				}
+			} as Supplier<Object>)
+			def refs = (1..4).collect {
+				pool.allocate()
+			}
+			def latch = new CountDownLatch(refs.size())
+
+		when: "references are retained and released from other threads"
+			refs.each { ref ->
+				threadPool.submit(new ReferenceCounter(latch, ref, -1))
+			}
+			latch.await(5, TimeUnit.SECONDS)
+
+		then: "references were all released"
+			refs.findAll { ref -> ref.referenceCount != 0 }.isEmpty()
+			pool.misses == 1
+			pool.hits == 3
+			pool.expansions == 0
+
+		when: "references are allocated again"
+			def reused = (1..4).collect { pool.allocate() }
+
+		then: "the released references were reused"
+			reused as Set == refs as Set
+			pool.misses == 2
+			pool.size == 4
+
+		when: "more references than the pool holds are allocated"
+			def more = (1..4).collect { pool.allocate() }
+
+		then: "the pool was expanded with unique references"
+			pool.expansions == 1
+			pool.size > 4
+			(reused + more).unique().size() == 8
+			more.every { ref -> ref.referenceCount == 1 }
+
+		cleanup:
+			threadPool.shutdown()
+	}
+
 	def "Allocators can be provided by Type"() {
 
 		given: "a generic type"
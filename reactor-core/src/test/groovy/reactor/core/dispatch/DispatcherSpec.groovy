@@ -19,7 +19,9 @@ package reactor.core.dispatch
 
 import reactor.Environment
 import reactor.core.Dispatcher
+import reactor.core.config.DispatcherType
 import reactor.fn.Consumer
+import reactor.fn.Function
 import reactor.jarjar.com.lmax.disruptor.BlockingWaitStrategy
 import reactor.jarjar.com.lmax.disruptor.dsl.ProducerType
 import spock.lang.Shared
@@ -27,6 +29,7 @@ import spock.lang.Specification
 
 import java.util.concurrent.CountDownLatch
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * @author Jon Brisbin
@@ -162,6 +165,287 @@ class DispatcherSpec extends Specification {
 
 	}
 
+	def "WorkStealingDispatcher lets idle workers steal queued tasks"() {
+
+		given:
+			"a work stealing dispatcher with 4 workers"
+			def dispatcher = new WorkStealingDispatcher("ws", 4, 1024)
+			def tasks = 64
+			def latch = new CountDownLatch(tasks)
+			def threads = Collections.synchronizedSet(new HashSet<Thread>())
+
+		when:
+			"slow tasks are all submitted from within one worker"
+			dispatcher.execute({
+				tasks.times {
+					dispatcher.execute({
+						threads << Thread.currentThread()
+						Thread.sleep(10)
+						latch.countDown()
+					})
+				}
+			})
+
+		then:
+			"the tasks have been spread over the other workers"
+			latch.await(5, TimeUnit.SECONDS)
+			threads.size() > 1
+
+		when:
+			"the dispatcher is shut down"
+			def success = dispatcher.awaitAndShutdown(5, TimeUnit.SECONDS)
+
+		then:
+			"the workers have terminated"
+			success
+			!dispatcher.alive()
+	}
+
+	def "WorkStealingDispatcher thieves take the oldest tasks and producers wait for room"() {
+
+		given:
+			"a work stealing dispatcher with 2 workers and a backlog of 8"
+			def dispatcher = new WorkStealingDispatcher("ws", 2, 8)
+			def stolen = Collections.synchronizedList([])
+			def done = new CountDownLatch(8)
+
+		when:
+			"tasks are queued on a worker busy submitting them"
+			dispatcher.execute({
+				def owner = Thread.currentThread()
+				8.times { i ->
+					dispatcher.execute({
+						if (Thread.currentThread() != owner) {
+							stolen << i
+						}
+						Thread.sleep(10)
+						done.countDown()
+					})
+				}
+				Thread.sleep(50)
+			})
+
+		then:
+			"the other worker steals them oldest first"
+			done.await(5, TimeUnit.SECONDS)
+			stolen
+			stolen == stolen.sort(false)
+
+		when:
+			"a producer dispatches more tasks than the backlog while the workers are blocked"
+			def blocked = new CountDownLatch(1)
+			def dispatched = new AtomicInteger()
+			def completed = new CountDownLatch(20)
+			2.times { dispatcher.execute({ blocked.await() }) }
+			def producer = Thread.start {
+				20.times {
+					dispatcher.execute({ completed.countDown() })
+					dispatched.incrementAndGet()
+				}
+			}
+			Thread.sleep(200)
+
+		then:
+			"it waits for room"
+			dispatched.get() <= 8
+			producer.alive
+
+		when:
+			"the workers are unblocked"
+			blocked.countDown()
+
+		then:
+			"every task is dispatched and run"
+			completed.await(5, TimeUnit.SECONDS)
+			dispatched.get() == 20
+
+		cleanup:
+			dispatcher.shutdown()
+	}
+
+	def "WorkStealingDispatcher runs submissions from outside the pool in order"() {
+
+		given:
+			"a work stealing dispatcher with a single worker"
+			def dispatcher = new WorkStealingDispatcher("ws", 1, 32)
+			def blocked = new CountDownLatch(1)
+			def order = Collections.synchronizedList([])
+			def done = new CountDownLatch(10)
+
+		when:
+			"tasks are submitted while the worker is busy"
+			dispatcher.execute({ blocked.await() })
+			10.times { i ->
+				dispatcher.execute({
+					order << i
+					done.countDown()
+				})
+			}
+			blocked.countDown()
+
+		then:
+			"they run in submission order"
+			done.await(5, TimeUnit.SECONDS)
+			order == (0..<10).toList()
+
+		cleanup:
+			dispatcher.shutdown()
+	}
+
+	def "Environment creates WorkStealingDispatchers from configuration"() {
+
+		when:
+			"a work stealing dispatcher is requested"
+			def dispatcher = Environment.newDispatcher(1024, 2, DispatcherType.WORK_STEALING)
+
+		then:
+			"a WorkStealingDispatcher is created"
+			dispatcher instanceof WorkStealingDispatcher
+			((WorkStealingDispatcher) dispatcher).poolSize() == 2
+			dispatcher.backlogSize() == 1024
+
+		cleanup:
+			dispatcher?.shutdown()
+	}
+
+	def "PartitionedDispatcher keeps tasks with equal keys ordered"() {
+
+		given:
+			"a dispatcher sharding tasks by key across 4 single-threaded partitions"
+			def partitions = (1..4).collect { new MpscDispatcher("partition-" + it, 1024) } as Dispatcher[]
+			def dispatcher = new PartitionedDispatcher(partitions, { it[0] } as Function)
+			def received = [:].withDefault { Collections.synchronizedList([]) }.asSynchronized()
+			def latch = new CountDownLatch(400)
+
+		when:
+			"tasks for 4 keys are dispatched, one by one and in batches"
+			def tasks = (0..<400).collect { ['abcd'[it % 4], it] }
+			def consumer = { task ->
+				received[task[0]] << task[1]
+				latch.countDown()
+			} as Consumer
+			tasks[0..<200].each { dispatcher.dispatch(it, consumer, null) }
+			dispatcher.dispatchAll(tasks[200..<400], consumer, null)
+
+		then:
+			"each key has been handled in order on its own partition"
+			latch.await(5, TimeUnit.SECONDS)
+			['a', 'b', 'c', 'd'].every { key ->
+				received[key] == tasks.findAll { it[0] == key }.collect { it[1] }
+			}
+			dispatcher.pendingTasks() == [0, 0, 0, 0] as long[]
+
+		when:
+			"a key is assigned to a chosen partition"
+			def target = (dispatcher.partition('a') + 1) % 4
+			dispatcher.assign('a', target)
+
+		then:
+			"the key is routed to this partition until it's unassigned"
+			dispatcher.partition('a') == target
+			dispatcher.assignments == [a: target]
+			dispatcher.unassign('a')
+			dispatcher.assignments.isEmpty()
+
+		cleanup:
+			dispatcher.shutdown()
+	}
+
+	def "Dispatchers dispatch batches of events"(Dispatcher d) {
+
+		given:
+			"a batch larger than the dispatcher backlog"
+			def events = (1..100).toList()
+			def received = Collections.synchronizedList([])
+			def errors = Collections.synchronizedList([])
+			def latch = new CountDownLatch(events.size())
+
+		when:
+			"the batch is dispatched with one failing event"
+			d.dispatchAll(events, { int i ->
+				try {
+					if (i == 50) {
+						throw new IllegalArgumentException("boom")
+					}
+					received << i
+				} finally {
+					latch.countDown()
+				}
+			} as Consumer<Integer>, { errors << it } as Consumer<Throwable>)
+
+		then:
+			"every event has been routed and ordering is kept when supported"
+			latch.await(5, TimeUnit.SECONDS)
+			received.size() == 99
+			errors.size() == 1
+			!d.supportsOrdering() || received == events - 50
+
+		cleanup:
+			d.shutdown()
+
+		where:
+			d << [
+					new SynchronousDispatcher(),
+					new RingBufferDispatcher("batch", 16, null, ProducerType.MULTI, new BlockingWaitStrategy()),
+					new MpscDispatcher("batch", 16),
+					new WorkQueueDispatcher("batch", 4, 16, null),
+					new ThreadPoolExecutorDispatcher(4, 16),
+					new WorkStealingDispatcher("batch", 4, 16)
+			]
+	}
+
+	def "Ring buffer dispatchers keep running when a batch fails to be read"(Dispatcher d) {
+
+		given:
+			"a batch whose iterator fails halfway through a ring sized chunk"
+			def received = Collections.synchronizedList([])
+			def events = new ArrayList<Integer>((1..8).toList()) {
+				@Override
+				Iterator<Integer> iterator() {
+					def source = super.iterator()
+					[hasNext: { -> source.hasNext() },
+					 next   : { ->
+						 def event = source.next()
+						 if (event == 5) {
+							 throw new ConcurrentModificationException()
+						 }
+						 event
+					 }] as Iterator<Integer>
+				}
+			}
+			def consumer = { int i -> received << i } as Consumer<Integer>
+
+		when:
+			"the batch is dispatched"
+			d.dispatchAll(events, consumer, null)
+
+		then:
+			"the failure is thrown"
+			thrown(ConcurrentModificationException)
+
+		when:
+			"more events are dispatched than the ring buffer holds"
+			def latch = new CountDownLatch(32)
+			32.times { i ->
+				d.dispatch(100 + i, { received << it; latch.countDown() } as Consumer<Integer>, null)
+			}
+
+		then:
+			"the ring buffer isn't stalled and the events read before the failure were routed"
+			latch.await(5, TimeUnit.SECONDS)
+			received.containsAll([1, 2, 3, 4])
+			!received.contains(5)
+
+		cleanup:
+			d.shutdown()
+
+		where:
+			d << [
+					new RingBufferDispatcher("batch", 16, null, ProducerType.MULTI, new BlockingWaitStrategy()),
+					new WorkQueueDispatcher("batch", 4, 16, null)
+			]
+	}
+
 	def "MultiThreadDispatchers support ping pong dispatching"(Dispatcher d) {
 		given:
 			def latch = new CountDownLatch(4)
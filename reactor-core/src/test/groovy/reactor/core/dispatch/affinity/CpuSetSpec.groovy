@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.dispatch.affinity
+
+import spock.lang.Specification
+
+class CpuSetSpec extends Specification {
+
+	def "A CPU list can be parsed"() {
+		when: "a Linux style CPU list is parsed"
+			def cpus = CpuSet.parse("0-2, 8,10-11")
+
+		then: "the CPUs are kept in order and indexes wrap around"
+			cpus.toArray() == [0, 1, 2, 8, 10, 11] as int[]
+			cpus.size() == 6
+			cpus.get(3) == 8
+			cpus.get(6) == 0
+	}
+
+	def "A malformed CPU list is rejected"() {
+		when: "a malformed CPU list is parsed"
+			CpuSet.parse(list)
+
+		then: "an exception is thrown"
+			thrown(IllegalArgumentException)
+
+		where:
+			list << ["", "a-b", "3-1"]
+	}
+
+	def "The available CPUs can be resolved"() {
+		when: "the available CPUs are resolved"
+			def cpus = CpuSet.available()
+
+		then: "there is at least one CPU"
+			cpus.size() > 0
+	}
+}
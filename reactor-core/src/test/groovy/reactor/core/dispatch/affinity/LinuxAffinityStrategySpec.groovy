@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.dispatch.affinity
+
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+
+class LinuxAffinityStrategySpec extends Specification {
+
+	@IgnoreIf({ !(LinuxAffinityStrategy.forPlatform() instanceof LinuxAffinityStrategy) })
+	def "Each thread pins itself rather than the first bound thread"() {
+		given: "the Linux strategy and an available CPU"
+			def strategy = LinuxAffinityStrategy.forPlatform()
+			def cpu = CpuSet.available().get(0)
+
+		when: "several threads bind one after the other"
+			def results = (0..<4).collect {
+				def result = [:]
+				def thread = Thread.start {
+					result.bound = strategy.bind(cpu)
+					result.allowed = new File("/proc/thread-self/status").readLines().find {
+						it.startsWith("Cpus_allowed_list:")
+					}.split(":")[1].trim()
+				}
+				thread.join()
+				result
+			}
+
+		then: "every thread has been pinned to that CPU"
+			results.every { it.bound && it.allowed == cpu.toString() }
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.dispatch.wait
+
+import reactor.core.dispatch.RingBufferDispatcher
+import reactor.fn.Consumer
+import reactor.jarjar.com.lmax.disruptor.dsl.ProducerType
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.LockSupport
+
+class AdaptiveWaitStrategySpec extends Specification {
+
+	def "An idle consumer parks and wakes up on the next event"() {
+		given: "a dispatcher waiting with an adaptive strategy"
+			def strategy = new AdaptiveWaitStrategy()
+			def dispatcher = new RingBufferDispatcher("adaptive", 1024, null, ProducerType.MULTI, strategy)
+			def latch = new CountDownLatch(1)
+
+		when: "the dispatcher stays idle"
+			def deadline = System.currentTimeMillis() + 5000
+			while (strategy.parkedConsumers() == 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10)
+			}
+
+		then: "its consumer is parked"
+			strategy.phase() == AdaptiveWaitStrategy.Phase.PARK
+			strategy.parkedConsumers() == 1
+
+		when: "an event is dispatched"
+			dispatcher.dispatch("test", { latch.countDown() } as Consumer<String>, null)
+
+		then: "the consumer wakes up"
+			latch.await(5, TimeUnit.SECONDS)
+
+		cleanup:
+			dispatcher.shutdown()
+	}
+
+	def "A busy consumer stops parking"() {
+		given: "a dispatcher waiting with an adaptive strategy"
+			def strategy = new AdaptiveWaitStrategy()
+			def dispatcher = new RingBufferDispatcher("adaptive", 1024, null, ProducerType.MULTI, strategy)
+			def initialAverage = strategy.averageWaitNanos()
+			def latch = new CountDownLatch(1000)
+
+		when: "events keep arriving shortly after each other"
+			1000.times {
+				dispatcher.dispatch(it, { latch.countDown() } as Consumer<Integer>, null)
+				LockSupport.parkNanos(10000)
+			}
+
+		then: "the average wait drops"
+			latch.await(5, TimeUnit.SECONDS)
+			strategy.averageWaitNanos() < initialAverage
+
+		cleanup:
+			dispatcher.shutdown()
+	}
+
+	def "A nervous strategy never parks"() {
+		given: "a nervous adaptive strategy"
+			def strategy = new AdaptiveWaitStrategy()
+			def dispatcher = new RingBufferDispatcher("adaptive", 1024, null, ProducerType.MULTI, strategy)
+			strategy.nervous()
+			def latch = new CountDownLatch(1)
+
+		when: "the dispatcher stays idle"
+			Thread.sleep(100)
+
+		then: "its consumer keeps yielding"
+			strategy.parkedConsumers() == 0
+			strategy.phase() == AdaptiveWaitStrategy.Phase.YIELD
+
+		when: "the strategy calms down and an event is dispatched"
+			strategy.calm()
+			dispatcher.dispatch("test", { latch.countDown() } as Consumer<String>, null)
+
+		then: "the consumer still receives it"
+			latch.await(5, TimeUnit.SECONDS)
+
+		cleanup:
+			dispatcher.shutdown()
+	}
+}
@@ -1,10 +1,14 @@
 package reactor.fn.timer
 
+import reactor.core.dispatch.RingBufferDispatcher
 import reactor.fn.Consumer
 import spock.lang.Specification
 
 import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * @author Oleksandr Petrov
@@ -65,5 +69,58 @@ class HashWheelTimerSleepWaitStrategy extends Specification {
 
   }
 
-}
+  def "HashWheelTimer can batch the tasks expiring in the same tick"() {
+
+    given:
+    "a new timer batching expired tasks on a counting executor"
+    def executions = new AtomicInteger()
+    def pool = Executors.newSingleThreadExecutor()
+    def executor = { Runnable r ->
+      executions.incrementAndGet()
+      pool.execute(r)
+    } as Executor
+    def timer = new HashWheelTimer("batching-timer", 10, 8, new HashWheelTimer.SleepWait(), executor, true)
+    def latch = new CountDownLatch(1000)
+
+    when:
+    "many tasks are submitted with the same delay"
+    1000.times {
+      timer.submit({ Long now -> latch.countDown() } as Consumer<Long>, 200, TimeUnit.MILLISECONDS)
+    }
+
+    then:
+    "they all ran with fewer executor submissions"
+    latch.await(1, TimeUnit.SECONDS)
+    executions.get() < 1000
+
+    cleanup:
+    timer.cancel()
+    pool.shutdown()
+
+  }
 
+  def "HashWheelTimer can dispatch expired tasks on a Dispatcher"() {
+
+    given:
+    "a new timer dispatching expired tasks"
+    def dispatcher = new RingBufferDispatcher("timer-dispatcher", 64)
+    def timer = new HashWheelTimer("dispatching-timer", 10, 8, new HashWheelTimer.SleepWait(), dispatcher)
+    def latch = new CountDownLatch(1000)
+
+    when:
+    "more tasks than the dispatcher capacity are submitted with the same delay"
+    1000.times {
+      timer.submit({ Long now -> latch.countDown() } as Consumer<Long>, 100, TimeUnit.MILLISECONDS)
+    }
+
+    then:
+    "they all ran"
+    latch.await(2, TimeUnit.SECONDS)
+
+    cleanup:
+    timer.cancel()
+    dispatcher.shutdown()
+
+  }
+
+}
@@ -0,0 +1,81 @@
+package reactor.fn.timer
+
+import reactor.fn.Consumer
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class HierarchicalWheelTimerSpec extends Specification {
+
+	def "HierarchicalWheelTimer can schedule recurring tasks"() {
+		given: "a new timer"
+			def timer = new HierarchicalWheelTimer(10, 8, new HashWheelTimer.SleepWait())
+			def latch = new CountDownLatch(10)
+
+		when: "a task is scheduled"
+			timer.schedule({ Long now -> latch.countDown() } as Consumer<Long>, 50, TimeUnit.MILLISECONDS, 50)
+
+		then: "the latch was counted down"
+			latch.await(1, TimeUnit.SECONDS)
+
+		cleanup:
+			timer.cancel()
+	}
+
+	def "HierarchicalWheelTimer can delay submitted tasks beyond a single wheel"() {
+		given: "a new timer whose first wheel spans 40 milliseconds"
+			def timer = new HierarchicalWheelTimer(10, 4, new HashWheelTimer.SleepWait())
+			def latch = new CountDownLatch(1)
+			def start = System.currentTimeMillis()
+			def elapsed = 0
+
+		when: "a task is submitted"
+			timer.submit({ Long now ->
+				elapsed = System.currentTimeMillis() - start
+				latch.countDown()
+			} as Consumer<Long>, delay, TimeUnit.MILLISECONDS)
+
+		then: "the task ran after its delay"
+			latch.await(2, TimeUnit.SECONDS)
+			elapsed >= delay
+			elapsed < delay + 100
+
+		cleanup:
+			timer.cancel()
+
+		where:
+			delay << [20, 70, 330, 700]
+	}
+
+	def "HierarchicalWheelTimer doesn't run cancelled or paused tasks"() {
+		given: "a new timer"
+			def timer = new HierarchicalWheelTimer(10, 8, new HashWheelTimer.SleepWait())
+			def runs = new AtomicInteger()
+			def latch = new CountDownLatch(1)
+
+		when: "many tasks are submitted and most of them cancelled"
+			def pausables = (1..1000).collect {
+				timer.submit({ Long now -> runs.incrementAndGet() } as Consumer<Long>, 300 + it % 200, TimeUnit.MILLISECONDS)
+			}
+			pausables.take(990)*.cancel()
+			def paused = timer.submit({ Long now -> latch.countDown() } as Consumer<Long>, 50, TimeUnit.MILLISECONDS)
+			paused.pause()
+			Thread.sleep(800)
+
+		then: "only the remaining ones ran"
+			runs.get() == 10
+			latch.count == 1
+
+		when: "the paused task is resumed"
+			paused.resume()
+
+		then: "it runs"
+			latch.await(1, TimeUnit.SECONDS)
+
+		cleanup:
+			timer.cancel()
+	}
+
+}
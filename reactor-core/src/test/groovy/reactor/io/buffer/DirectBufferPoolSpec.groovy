@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.buffer
+
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.util.concurrent.Executors
+
+class DirectBufferPoolSpec extends Specification {
+
+	def "A DirectBufferPool serves power-of-two size classes carved out of slabs"() {
+		given: "a pool with 64 to 1024 bytes classes and 4KB slabs"
+			def pool = new DirectBufferPool(64, 1024, 4096, 1)
+
+		when: "buffers are allocated"
+			def small = pool.allocate(10)
+			def medium = pool.allocate(100)
+			def large = pool.allocate(2048)
+
+		then: "their capacities are rounded up to a size class"
+			small.direct
+			small.capacity() == 64
+			medium.capacity() == 128
+			small.position() == 0
+			small.limit() == 64
+
+		and: "slabs back the size classes, larger requests are unpooled"
+			pool.slabCount == 2
+			large.capacity() == 2048
+			pool.unpooledCount == 1
+	}
+
+	def "A released buffer is reused"() {
+		given: "a pool"
+			def pool = new DirectBufferPool(64, 1024, 4096, 1)
+			def buffer = pool.allocate(100)
+			buffer.putInt(42)
+
+		when: "the buffer is released and another one allocated"
+			pool.release(buffer)
+			def reused = pool.allocate(120)
+
+		then: "the same memory is handed out again, cleared"
+			reused.is(buffer)
+			reused.position() == 0
+
+		when: "buffers that don't belong to a size class are released"
+			pool.release(ByteBuffer.allocate(128))
+			pool.release(ByteBuffer.allocateDirect(100))
+			pool.release(ByteBuffer.allocateDirect(128))
+
+		then: "they are ignored"
+			!pool.allocate(128).is(reused)
+	}
+
+	def "A buffer released on another thread goes back to the arena it was carved from"() {
+		given: "a pool with 2 arenas and a single-buffer slab per size class"
+			def pool = new DirectBufferPool(4096, 4096, 4096, 2)
+
+		and: "a releasing thread using the other arena"
+			def releaser = Executors.newSingleThreadExecutor()
+
+		when: "buffers are repeatedly allocated on one thread and released on the other"
+			1000.times {
+				def buffer = pool.allocate(4096)
+				releaser.submit({ pool.release(buffer) } as Runnable).get()
+			}
+
+		then: "the allocating arena reuses the released buffer instead of carving new slabs"
+			pool.slabCount == 1
+
+		cleanup:
+			releaser.shutdown()
+	}
+
+	def "A buffer released twice is only pooled once"() {
+		given: "a pool with a single-buffer slab per size class"
+			def pool = new DirectBufferPool(4096, 4096, 4096, 1)
+			def buffer = pool.allocate(4096)
+
+		when: "the buffer is released twice and two buffers are allocated"
+			pool.release(buffer)
+			pool.release(buffer)
+			def first = pool.allocate(4096)
+			def second = pool.allocate(4096)
+
+		then: "only the first one reuses it"
+			first.is(buffer)
+			!second.is(buffer)
+			pool.slabCount == 2
+	}
+
+	def "The buffers cached by a thread that died go back to their arena"() {
+		given: "a pool with a single arena and a single-buffer slab per size class"
+			def pool = new DirectBufferPool(4096, 4096, 4096, 1)
+			def buffer = null
+
+		when: "a thread allocates and releases a buffer into its cache, then dies"
+			def thread = Thread.start {
+				buffer = pool.allocate(4096)
+				pool.release(buffer)
+			}
+			thread.join()
+			def reused = pool.allocate(4096)
+
+		then: "the buffer is drained from its cache instead of carving a new slab"
+			reused.is(buffer)
+			pool.slabCount == 1
+	}
+
+	def "A pooled Buffer expands within the pool and gives its memory back on recycle"() {
+		given: "a pooled Buffer"
+			def pool = new DirectBufferPool(64, 1024, 4096, 1)
+			def buffer = new Buffer(10, false, pool)
+
+		when: "more content than its capacity is appended"
+			buffer.append("Hello World! Hello World! Hello World! Hello World! Hello World! Hello World!").flip()
+
+		then: "it moved to a bigger size class"
+			buffer.byteBuffer().direct
+			buffer.capacity() == 128
+			buffer.asString() == "Hello World! Hello World! Hello World! Hello World! Hello World! Hello World!"
+
+		when: "the Buffer is recycled"
+			def memory = buffer.byteBuffer()
+			buffer.recycle()
+
+		then: "its memory is back in the pool"
+			!buffer.byteBuffer()
+			pool.allocate(128).is(memory)
+
+		when: "the recycled Buffer is written to again"
+			buffer.append("Hello").flip()
+
+		then: "it draws from the pool again"
+			buffer.byteBuffer().direct
+			buffer.asString() == "Hello"
+	}
+
+	def "A fixed-length pooled Buffer keeps its requested length"() {
+		given: "a fixed-length pooled Buffer"
+			def buffer = new Buffer(4, true, new DirectBufferPool(64, 1024, 4096, 1))
+
+		when: "more than its length is appended"
+			buffer.append(1).append(2)
+
+		then: "the buffer overflows"
+			thrown(java.nio.BufferOverflowException)
+	}
+}
@@ -17,6 +17,8 @@
 package reactor.io.queue
 
 import net.openhft.chronicle.ChronicleQueueBuilder
+import reactor.io.buffer.Buffer
+import reactor.io.codec.PassThroughCodec
 import reactor.io.codec.StandardCodecs
 import spock.lang.Specification
 
@@ -92,6 +94,175 @@ class QueuePersistorSpec extends Specification {
 
 	}
 
+	def "MappedFileQueuePersistor persists objects"() {
 
+		given:
+			"a MappedFileQueuePersistor"
+			def persistor = new MappedFileQueuePersistor<String>(
+					"build/mapped-queue-persistor",
+					StandardCodecs.STRING_CODEC,
+					true,
+					true
+			)
+			def obj = "Hello World!"
+
+		when:
+			"an object is persisted"
+			def id = persistor.offer(obj)
+
+		then:
+			"the object was persisted"
+			id == 0
+			persistor.get(id) == obj
+			persistor.hasNext()
+
+		when:
+			"the object is removed"
+			def removed = persistor.remove()
+
+		then:
+			"the object was removed"
+			removed == obj
+			persistor.size() == 0
+			!persistor.hasNext()
+
+		cleanup:
+			persistor?.close()
+
+	}
+
+	def "MappedFileQueuePersistor rolls segments over and reopens where it was left"() {
+
+		given:
+			"a MappedFileQueuePersistor with small segments and a sparse index"
+			def dir = new File("build/mapped-queue-rollover")
+			def persistor = new MappedFileQueuePersistor<String>(dir.path, StandardCodecs.STRING_CODEC, true, false,
+					256, 4, 0, MappedFileQueuePersistor.FsyncPolicy.ON_ROLLOVER)
+
+		when:
+			"more objects than a segment holds are persisted"
+			persistor.offerAll((0..<100).collect { "item-$it".toString() })
+
+		then:
+			"they are spread over several segments and can be read back by id"
+			persistor.lastId() == 99
+			persistor.size() == 100
+			segmentCount(dir) > 1
+			(0..<100).every { persistor.get(it) == "item-$it".toString() }
+
+		when:
+			"most of them are removed and the persistor is reopened"
+			def removed = (0..<60).collect { persistor.remove() }
+			def segments = segmentCount(dir)
+			persistor.close()
+			persistor = new MappedFileQueuePersistor<String>(dir.path, StandardCodecs.STRING_CODEC, false, true,
+					256, 4, 0, MappedFileQueuePersistor.FsyncPolicy.ON_ROLLOVER)
+
+		then:
+			"consumed segments were deleted and the remaining objects are still there"
+			removed == (0..<60).collect { "item-$it".toString() }
+			segments < 5
+			persistor.size() == 40
+			persistor.lastId() == 99
+			persistor.remove() == "item-60"
+			persistor.iterator().collect() == (61..<100).collect { "item-$it".toString() }
+
+		when:
+			"more objects are persisted"
+			def id = persistor.offer("item-100")
+
+		then:
+			"they are appended after the recovered ones"
+			id == 100
+			persistor.get(100) == "item-100"
+
+		cleanup:
+			persistor?.close()
+
+	}
+
+	def "MappedFileQueuePersistor ignores stray files and checkpoints each removal when always syncing"() {
+
+		given:
+			"a directory holding a file that isn't a segment"
+			def dir = new File("build/mapped-queue-always")
+			dir.deleteDir()
+			dir.mkdirs()
+			new File(dir, "notes.log").text = "not a segment"
+
+		when:
+			"an always syncing MappedFileQueuePersistor with small segments is opened there and consumed"
+			def persistor = new MappedFileQueuePersistor<String>(dir.path, StandardCodecs.STRING_CODEC, false, false,
+					256, 4, 0, MappedFileQueuePersistor.FsyncPolicy.ALWAYS)
+			persistor.offerAll((0..<50).collect { "item-$it".toString() })
+			def removed = (0..<30).collect { persistor.remove() }
+
+		then:
+			"the stray file is left alone and consumed segments are deleted"
+			removed == (0..<30).collect { "item-$it".toString() }
+			new File(dir, "notes.log").exists()
+			segmentCount(dir) < 5
+
+		when:
+			"it is reopened without having been closed"
+			persistor = new MappedFileQueuePersistor<String>(dir.path, StandardCodecs.STRING_CODEC, false, true,
+					256, 4, 0, MappedFileQueuePersistor.FsyncPolicy.ALWAYS)
+
+		then:
+			"removed objects aren't replayed"
+			persistor.size() == 20
+			persistor.remove() == "item-30"
+
+		cleanup:
+			persistor?.close()
+			dir.deleteDir()
+
+	}
+
+	def "MappedFileQueuePersistor keeps zero-copy items readable after their segment is deleted"() {
+
+		given:
+			"a MappedFileQueuePersistor with small segments passing the mapped buffers through"
+			def dir = new File("build/mapped-queue-views")
+			dir.deleteDir()
+			def persistor = new MappedFileQueuePersistor<Buffer>(dir.path, new PassThroughCodec<Buffer>(), true, true,
+					256, 4, 0, MappedFileQueuePersistor.FsyncPolicy.NEVER)
+			persistor.offerAll((0..<50).collect { Buffer.wrap("item-$it".toString()) })
+
+		when:
+			"items are removed until their segments are deleted"
+			def removed = (0..<50).collect { persistor.remove() }
+
+		then:
+			"the removed views can still be read"
+			segmentCount(dir) < 5
+			removed.collect { it.asString() } == (0..<50).collect { "item-$it".toString() }
+
+		when:
+			"the persistor is closed"
+			persistor.close()
+			persistor.offer(Buffer.wrap("late"))
+
+		then:
+			"it is rejected, while the views stay readable"
+			thrown(IllegalStateException)
+			removed.first().asString() == "item-0"
+
+		when:
+			"the closed persistor is read"
+			persistor.remove()
+
+		then:
+			"it is rejected"
+			thrown(IllegalStateException)
+
+		cleanup:
+			dir.deleteDir()
+
+	}
+
+	static int segmentCount(File dir) {
+		dir.list().findAll { it.endsWith('.log') }.size()
+	}
 
 }
@@ -0,0 +1,472 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.rx;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Arrays;
+
+/**
+ * The {@code double} counterpart of {@link LongStream}: values pass between stages unboxed, a {@link
+ * java.lang.Double} is only allocated for a plain {@link org.reactivestreams.Subscriber} or past {@link #boxed()}.
+ * <p>
+ * Create such stream from values or with {@link LongStream#asDoubleStream()}, E.g.:
+ * <pre>
+ * {@code
+ * DoubleStream.from(prices)
+ *    .map(price -> price * rate)
+ *    .max()
+ *    .consume(log::info)
+ * }
+ * </pre>
+ *
+ * @since 2.0
+ */
+public abstract class DoubleStream implements Publisher<Double> {
+
+	/**
+	 * A {@link org.reactivestreams.Subscriber} receiving primitive doubles, with the same contract.
+	 */
+	public interface DoubleSubscriber extends PrimitiveSubscribers.PrimitiveSubscriber {
+		void onSubscribe(Subscription s);
+
+		void onNext(double value);
+
+		void onError(Throwable t);
+
+		void onComplete();
+	}
+
+	public interface DoubleUnaryOperator {
+		double apply(double value);
+	}
+
+	public interface DoublePredicate {
+		boolean test(double value);
+	}
+
+	public interface DoubleBinaryOperator {
+		double apply(double left, double right);
+	}
+
+	public interface DoubleConsumer {
+		void accept(double value);
+	}
+
+	private static final DoubleBinaryOperator SUM = new DoubleBinaryOperator() {
+		@Override
+		public double apply(double left, double right) {
+			return left + right;
+		}
+	};
+
+	private static final DoubleBinaryOperator MIN = new DoubleBinaryOperator() {
+		@Override
+		public double apply(double left, double right) {
+			return Math.min(left, right);
+		}
+	};
+
+	private static final DoubleBinaryOperator MAX = new DoubleBinaryOperator() {
+		@Override
+		public double apply(double left, double right) {
+			return Math.max(left, right);
+		}
+	};
+
+	/**
+	 * Build a {@literal DoubleStream} that will only emit the given values and then complete.
+	 *
+	 * @param values the values to emit
+	 * @return a new {@link reactor.rx.DoubleStream}
+	 */
+	public static DoubleStream from(final double... values) {
+		return new DoubleStream() {
+			@Override
+			public void subscribe(final DoubleSubscriber subscriber) {
+				if (values.length > 0) {
+					subscriber.onSubscribe(new PrimitiveSubscribers.Emitter(subscriber, values.length - 1) {
+						@Override
+						void emit(long index) {
+							subscriber.onNext(values[(int) index]);
+						}
+					});
+				} else {
+					PrimitiveSubscribers.complete(subscriber);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Unbox the doubles published by the given {@link org.reactivestreams.Publisher} into a {@literal DoubleStream}.
+	 *
+	 * @param publisher the publisher of doubles
+	 * @return a new {@link reactor.rx.DoubleStream}, or the given publisher if it already is one
+	 */
+	public static DoubleStream from(final Publisher<? extends Double> publisher) {
+		if (DoubleStream.class.isAssignableFrom(publisher.getClass())) {
+			return (DoubleStream) publisher;
+		}
+		return new DoubleStream() {
+			@Override
+			public void subscribe(final DoubleSubscriber subscriber) {
+				publisher.subscribe(new Subscriber<Double>() {
+					@Override
+					public void onSubscribe(Subscription s) {
+						subscriber.onSubscribe(s);
+					}
+
+					@Override
+					public void onNext(Double value) {
+						subscriber.onNext(value);
+					}
+
+					@Override
+					public void onError(Throwable t) {
+						subscriber.onError(t);
+					}
+
+					@Override
+					public void onComplete() {
+						subscriber.onComplete();
+					}
+				});
+			}
+		};
+	}
+
+	/**
+	 * Subscribe a primitive subscriber, the values reach it unboxed.
+	 *
+	 * @param subscriber the subscriber to receive the doubles
+	 */
+	public abstract void subscribe(DoubleSubscriber subscriber);
+
+	/**
+	 * Subscribe a plain subscriber, each value is boxed before it reaches it.
+	 *
+	 * @param subscriber the subscriber to receive the boxed doubles
+	 */
+	@Override
+	public void subscribe(final Subscriber<? super Double> subscriber) {
+		subscribe(new DoubleSubscriber() {
+			@Override
+			public void onSubscribe(Subscription s) {
+				subscriber.onSubscribe(s);
+			}
+
+			@Override
+			public void onNext(double value) {
+				subscriber.onNext(value);
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				subscriber.onError(t);
+			}
+
+			@Override
+			public void onComplete() {
+				subscriber.onComplete();
+			}
+		});
+	}
+
+	/**
+	 * Assign the given operator to transform each double.
+	 *
+	 * @param operator the transformation to apply
+	 * @return a new {@link reactor.rx.DoubleStream}
+	 */
+	public final DoubleStream map(final DoubleUnaryOperator operator) {
+		return new DoubleStream() {
+			@Override
+			public void subscribe(DoubleSubscriber subscriber) {
+				DoubleStream.this.subscribe(new ForwardingSubscriber(subscriber) {
+					@Override
+					public void onNext(double value) {
+						double result;
+						try {
+							result = operator.apply(value);
+						} catch (Throwable t) {
+							cancelAndError(t);
+							return;
+						}
+						actual.onNext(result);
+					}
+				});
+			}
+		};
+	}
+
+	/**
+	 * Only emit the doubles passing the given predicate, a double that doesn't is replaced by a new request upstream.
+	 *
+	 * @param predicate the test each double must pass
+	 * @return a new {@link reactor.rx.DoubleStream}
+	 */
+	public final DoubleStream filter(final DoublePredicate predicate) {
+		return new DoubleStream() {
+			@Override
+			public void subscribe(DoubleSubscriber subscriber) {
+				DoubleStream.this.subscribe(new ForwardingSubscriber(subscriber) {
+					@Override
+					public void onNext(double value) {
+						boolean pass;
+						try {
+							pass = predicate.test(value);
+						} catch (Throwable t) {
+							cancelAndError(t);
+							return;
+						}
+						if (pass) {
+							actual.onNext(value);
+						} else {
+							upstream.request(1l);
+						}
+					}
+				});
+			}
+		};
+	}
+
+	/**
+	 * Reduce the doubles with the given accumulator starting from the given value, and emit the result on complete.
+	 *
+	 * @param initial     the value to start the accumulation from, also emitted if the stream is empty
+	 * @param accumulator the function combining the accumulated value and each double
+	 * @return a new {@link reactor.rx.DoubleStream} emitting a single value
+	 */
+	public final DoubleStream reduce(double initial, DoubleBinaryOperator accumulator) {
+		return reduce(true, initial, accumulator);
+	}
+
+	/**
+	 * Reduce the doubles with the given accumulator starting from the first one, and emit the result on complete.
+	 *
+	 * @param accumulator the function combining the accumulated value and each double
+	 * @return a new {@link reactor.rx.DoubleStream} emitting a single value, or nothing if the stream is empty
+	 */
+	public final DoubleStream reduce(DoubleBinaryOperator accumulator) {
+		return reduce(false, 0d, accumulator);
+	}
+
+	/**
+	 * @return a new {@link reactor.rx.DoubleStream} emitting the sum of the doubles on complete, 0 if the stream is empty
+	 */
+	public final DoubleStream sum() {
+		return reduce(true, 0d, SUM);
+	}
+
+	/**
+	 * @return a new {@link reactor.rx.LongStream} emitting the number of doubles on complete
+	 */
+	public final LongStream count() {
+		return new LongStream() {
+			@Override
+			public void subscribe(LongSubscriber subscriber) {
+				DoubleStream.this.subscribe(new CountSubscriber(subscriber));
+			}
+		};
+	}
+
+	/**
+	 * @return a new {@link reactor.rx.DoubleStream} emitting the smallest double on complete, or nothing if the stream is
+	 * empty
+	 */
+	public final DoubleStream min() {
+		return reduce(false, 0d, MIN);
+	}
+
+	/**
+	 * @return a new {@link reactor.rx.DoubleStream} emitting the greatest double on complete, or nothing if the stream is
+	 * empty
+	 */
+	public final DoubleStream max() {
+		return reduce(false, 0d, MAX);
+	}
+
+	/**
+	 * Collect the doubles into arrays of the given size, the last array holding the remaining doubles on complete. Each
+	 * array requested downstream requests as many doubles upstream.
+	 *
+	 * @param size the number of doubles in each array
+	 * @return a new {@link reactor.rx.Stream} of double arrays
+	 */
+	public final Stream<double[]> buffer(final int size) {
+		if (size <= 0) {
+			throw new IllegalArgumentException("buffer size must be strictly positive: " + size);
+		}
+		return new Stream<double[]>() {
+			@Override
+			public void subscribe(Subscriber<? super double[]> subscriber) {
+				DoubleStream.this.subscribe(new BufferSubscriber(subscriber, size));
+			}
+		};
+	}
+
+	/**
+	 * @return a {@link reactor.rx.Stream} of the boxed doubles, to access the whole set of Stream operators
+	 */
+	public final Stream<Double> boxed() {
+		return new Stream<Double>() {
+			@Override
+			public void subscribe(Subscriber<? super Double> subscriber) {
+				DoubleStream.this.subscribe(subscriber);
+			}
+
+			@Override
+			public String toString() {
+				return DoubleStream.this.toString();
+			}
+		};
+	}
+
+	/**
+	 * Request all the doubles and pass each of them to the given consumer.
+	 *
+	 * @param consumer the consumer to invoke on each double
+	 * @return the {@link org.reactivestreams.Subscription} to cancel to stop consuming
+	 */
+	public final Subscription consume(final DoubleConsumer consumer) {
+		ConsumerSubscriber subscriber = new ConsumerSubscriber(consumer);
+		subscribe(subscriber);
+		return subscriber;
+	}
+
+	private DoubleStream reduce(final boolean seeded, final double initial, final DoubleBinaryOperator accumulator) {
+		return new DoubleStream() {
+			@Override
+			public void subscribe(DoubleSubscriber subscriber) {
+				DoubleStream.this.subscribe(new ReduceSubscriber(subscriber, seeded, initial, accumulator));
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName();
+	}
+
+	static abstract class ForwardingSubscriber extends PrimitiveSubscribers.ForwardingStage<DoubleSubscriber>
+			implements DoubleSubscriber {
+
+		ForwardingSubscriber(DoubleSubscriber actual) {
+			super(actual);
+		}
+	}
+
+	static final class ReduceSubscriber extends PrimitiveSubscribers.ReduceStage<DoubleSubscriber>
+			implements DoubleSubscriber {
+
+		private final DoubleBinaryOperator accumulator;
+
+		private double value;
+
+		ReduceSubscriber(DoubleSubscriber actual, boolean seeded, double initial, DoubleBinaryOperator accumulator) {
+			super(actual, seeded);
+			this.accumulator = accumulator;
+			this.value = initial;
+		}
+
+		@Override
+		public void onNext(double v) {
+			if (!hasValue) {
+				value = v;
+				hasValue = true;
+				return;
+			}
+			try {
+				value = accumulator.apply(value, v);
+			} catch (Throwable t) {
+				cancelAndError(t);
+			}
+		}
+
+		@Override
+		void emitResult() {
+			actual.onNext(value);
+		}
+	}
+
+	static final class CountSubscriber extends PrimitiveSubscribers.ReduceStage<LongStream.LongSubscriber>
+			implements DoubleSubscriber {
+
+		private long count;
+
+		CountSubscriber(LongStream.LongSubscriber actual) {
+			super(actual, true);
+		}
+
+		@Override
+		public void onNext(double value) {
+			count++;
+		}
+
+		@Override
+		void emitResult() {
+			actual.onNext(count);
+		}
+	}
+
+	static final class BufferSubscriber extends PrimitiveSubscribers.BufferStage<double[]>
+			implements DoubleSubscriber {
+
+		private double[] buffer;
+
+		BufferSubscriber(Subscriber<? super double[]> actual, int size) {
+			super(actual, size);
+			this.buffer = new double[size];
+		}
+
+		@Override
+		public void onNext(double value) {
+			buffer[index] = value;
+			next();
+		}
+
+		@Override
+		double[] drainBuffer(int length) {
+			if (length < size) {
+				return Arrays.copyOf(buffer, length);
+			}
+			double[] full = buffer;
+			buffer = new double[size];
+			return full;
+		}
+	}
+
+	static final class ConsumerSubscriber extends PrimitiveSubscribers.ConsumerStage implements DoubleSubscriber {
+
+		private final DoubleConsumer consumer;
+
+		ConsumerSubscriber(DoubleConsumer consumer) {
+			this.consumer = consumer;
+		}
+
+		@Override
+		public void onNext(double value) {
+			try {
+				consumer.accept(value);
+			} catch (Throwable t) {
+				consumerFailed(t);
+			}
+		}
+	}
+}
@@ -0,0 +1,518 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.rx;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Arrays;
+
+/**
+ * A sequence of primitive {@code long} values. Operators pass the values from one stage to the next without ever
+ * boxing them: a {@link java.lang.Long} is only allocated when a plain {@link org.reactivestreams.Subscriber} subscribes,
+ * since a LongStream is still a {@link org.reactivestreams.Publisher} of longs, or when the stream is turned into a
+ * {@link reactor.rx.Stream} with {@link #boxed()}.
+ * <p>
+ * Create such stream with the provided factories, E.g.:
+ * <pre>
+ * {@code
+ * Streams.longRange(1, 10000)
+ *    .filter(n -> n % 2 == 0)
+ *    .map(n -> n * n)
+ *    .sum()
+ *    .consume(log::info)
+ * }
+ * </pre>
+ *
+ * @since 2.0
+ */
+public abstract class LongStream implements Publisher<Long> {
+
+	/**
+	 * A {@link org.reactivestreams.Subscriber} receiving primitive longs, with the same contract.
+	 */
+	public interface LongSubscriber extends PrimitiveSubscribers.PrimitiveSubscriber {
+		void onSubscribe(Subscription s);
+
+		void onNext(long value);
+
+		void onError(Throwable t);
+
+		void onComplete();
+	}
+
+	public interface LongUnaryOperator {
+		long apply(long value);
+	}
+
+	public interface LongPredicate {
+		boolean test(long value);
+	}
+
+	public interface LongBinaryOperator {
+		long apply(long left, long right);
+	}
+
+	public interface LongConsumer {
+		void accept(long value);
+	}
+
+	private static final LongBinaryOperator SUM = new LongBinaryOperator() {
+		@Override
+		public long apply(long left, long right) {
+			return left + right;
+		}
+	};
+
+	private static final LongBinaryOperator COUNT = new LongBinaryOperator() {
+		@Override
+		public long apply(long left, long right) {
+			return left + 1l;
+		}
+	};
+
+	private static final LongBinaryOperator MIN = new LongBinaryOperator() {
+		@Override
+		public long apply(long left, long right) {
+			return Math.min(left, right);
+		}
+	};
+
+	private static final LongBinaryOperator MAX = new LongBinaryOperator() {
+		@Override
+		public long apply(long left, long right) {
+			return Math.max(left, right);
+		}
+	};
+
+	/**
+	 * Build a {@literal LongStream} that will only emit the longs within the specified range and then complete.
+	 *
+	 * @param start the inclusive starting value to be emitted
+	 * @param end   the inclusive closing value to be emitted
+	 * @return a new {@link reactor.rx.LongStream}
+	 */
+	public static LongStream range(final long start, final long end) {
+		return new LongStream() {
+			@Override
+			public void subscribe(final LongSubscriber subscriber) {
+				if (start <= end) {
+					subscriber.onSubscribe(new PrimitiveSubscribers.Emitter(subscriber, end - start) {
+						@Override
+						void emit(long index) {
+							subscriber.onNext(start + index);
+						}
+					});
+				} else {
+					PrimitiveSubscribers.complete(subscriber);
+				}
+			}
+
+			@Override
+			public String toString() {
+				return super.toString() + " [" + start + " to " + end + "]";
+			}
+		};
+	}
+
+	/**
+	 * Build a {@literal LongStream} that will only emit the given values and then complete.
+	 *
+	 * @param values the values to emit
+	 * @return a new {@link reactor.rx.LongStream}
+	 */
+	public static LongStream from(final long... values) {
+		return new LongStream() {
+			@Override
+			public void subscribe(final LongSubscriber subscriber) {
+				if (values.length > 0) {
+					subscriber.onSubscribe(new PrimitiveSubscribers.Emitter(subscriber, values.length - 1) {
+						@Override
+						void emit(long index) {
+							subscriber.onNext(values[(int) index]);
+						}
+					});
+				} else {
+					PrimitiveSubscribers.complete(subscriber);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Unbox the longs published by the given {@link org.reactivestreams.Publisher} into a {@literal LongStream}.
+	 *
+	 * @param publisher the publisher of longs
+	 * @return a new {@link reactor.rx.LongStream}, or the given publisher if it already is one
+	 */
+	public static LongStream from(final Publisher<? extends Long> publisher) {
+		if (LongStream.class.isAssignableFrom(publisher.getClass())) {
+			return (LongStream) publisher;
+		}
+		return new LongStream() {
+			@Override
+			public void subscribe(final LongSubscriber subscriber) {
+				publisher.subscribe(new Subscriber<Long>() {
+					@Override
+					public void onSubscribe(Subscription s) {
+						subscriber.onSubscribe(s);
+					}
+
+					@Override
+					public void onNext(Long value) {
+						subscriber.onNext(value);
+					}
+
+					@Override
+					public void onError(Throwable t) {
+						subscriber.onError(t);
+					}
+
+					@Override
+					public void onComplete() {
+						subscriber.onComplete();
+					}
+				});
+			}
+		};
+	}
+
+	/**
+	 * Subscribe a primitive subscriber, the values reach it unboxed.
+	 *
+	 * @param subscriber the subscriber to receive the longs
+	 */
+	public abstract void subscribe(LongSubscriber subscriber);
+
+	/**
+	 * Subscribe a plain subscriber, each value is boxed before it reaches it.
+	 *
+	 * @param subscriber the subscriber to receive the boxed longs
+	 */
+	@Override
+	public void subscribe(final Subscriber<? super Long> subscriber) {
+		subscribe(new LongSubscriber() {
+			@Override
+			public void onSubscribe(Subscription s) {
+				subscriber.onSubscribe(s);
+			}
+
+			@Override
+			public void onNext(long value) {
+				subscriber.onNext(value);
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				subscriber.onError(t);
+			}
+
+			@Override
+			public void onComplete() {
+				subscriber.onComplete();
+			}
+		});
+	}
+
+	/**
+	 * Assign the given operator to transform each long.
+	 *
+	 * @param operator the transformation to apply
+	 * @return a new {@link reactor.rx.LongStream}
+	 */
+	public final LongStream map(final LongUnaryOperator operator) {
+		return new LongStream() {
+			@Override
+			public void subscribe(LongSubscriber subscriber) {
+				LongStream.this.subscribe(new ForwardingSubscriber(subscriber) {
+					@Override
+					public void onNext(long value) {
+						long result;
+						try {
+							result = operator.apply(value);
+						} catch (Throwable t) {
+							cancelAndError(t);
+							return;
+						}
+						actual.onNext(result);
+					}
+				});
+			}
+		};
+	}
+
+	/**
+	 * Only emit the longs passing the given predicate, a long that doesn't is replaced by a new request upstream.
+	 *
+	 * @param predicate the test each long must pass
+	 * @return a new {@link reactor.rx.LongStream}
+	 */
+	public final LongStream filter(final LongPredicate predicate) {
+		return new LongStream() {
+			@Override
+			public void subscribe(LongSubscriber subscriber) {
+				LongStream.this.subscribe(new ForwardingSubscriber(subscriber) {
+					@Override
+					public void onNext(long value) {
+						boolean pass;
+						try {
+							pass = predicate.test(value);
+						} catch (Throwable t) {
+							cancelAndError(t);
+							return;
+						}
+						if (pass) {
+							actual.onNext(value);
+						} else {
+							upstream.request(1l);
+						}
+					}
+				});
+			}
+		};
+	}
+
+	/**
+	 * Reduce the longs with the given accumulator starting from the given value, and emit the result on complete.
+	 *
+	 * @param initial     the value to start the accumulation from, also emitted if the stream is empty
+	 * @param accumulator the function combining the accumulated value and each long
+	 * @return a new {@link reactor.rx.LongStream} emitting a single value
+	 */
+	public final LongStream reduce(long initial, LongBinaryOperator accumulator) {
+		return reduce(true, initial, accumulator);
+	}
+
+	/**
+	 * Reduce the longs with the given accumulator starting from the first one, and emit the result on complete.
+	 *
+	 * @param accumulator the function combining the accumulated value and each long
+	 * @return a new {@link reactor.rx.LongStream} emitting a single value, or nothing if the stream is empty
+	 */
+	public final LongStream reduce(LongBinaryOperator accumulator) {
+		return reduce(false, 0l, accumulator);
+	}
+
+	/**
+	 * @return a new {@link reactor.rx.LongStream} emitting the sum of the longs on complete, 0 if the stream is empty
+	 */
+	public final LongStream sum() {
+		return reduce(true, 0l, SUM);
+	}
+
+	/**
+	 * @return a new {@link reactor.rx.LongStream} emitting the number of longs on complete
+	 */
+	public final LongStream count() {
+		return reduce(true, 0l, COUNT);
+	}
+
+	/**
+	 * @return a new {@link reactor.rx.LongStream} emitting the smallest long on complete, or nothing if the stream is
+	 * empty
+	 */
+	public final LongStream min() {
+		return reduce(false, 0l, MIN);
+	}
+
+	/**
+	 * @return a new {@link reactor.rx.LongStream} emitting the greatest long on complete, or nothing if the stream is
+	 * empty
+	 */
+	public final LongStream max() {
+		return reduce(false, 0l, MAX);
+	}
+
+	/**
+	 * Collect the longs into arrays of the given size, the last array holding the remaining longs on complete. Each
+	 * array requested downstream requests as many longs upstream.
+	 *
+	 * @param size the number of longs in each array
+	 * @return a new {@link reactor.rx.Stream} of long arrays
+	 */
+	public final Stream<long[]> buffer(final int size) {
+		if (size <= 0) {
+			throw new IllegalArgumentException("buffer size must be strictly positive: " + size);
+		}
+		return new Stream<long[]>() {
+			@Override
+			public void subscribe(Subscriber<? super long[]> subscriber) {
+				LongStream.this.subscribe(new BufferSubscriber(subscriber, size));
+			}
+		};
+	}
+
+	/**
+	 * @return a {@link reactor.rx.Stream} of the boxed longs, to access the whole set of Stream operators
+	 */
+	public final Stream<Long> boxed() {
+		return new Stream<Long>() {
+			@Override
+			public void subscribe(Subscriber<? super Long> subscriber) {
+				LongStream.this.subscribe(subscriber);
+			}
+
+			@Override
+			public String toString() {
+				return LongStream.this.toString();
+			}
+		};
+	}
+
+	/**
+	 * @return a {@link reactor.rx.DoubleStream} of the longs widened to doubles
+	 */
+	public final DoubleStream asDoubleStream() {
+		return new DoubleStream() {
+			@Override
+			public void subscribe(final DoubleSubscriber subscriber) {
+				LongStream.this.subscribe(new LongSubscriber() {
+					@Override
+					public void onSubscribe(Subscription s) {
+						subscriber.onSubscribe(s);
+					}
+
+					@Override
+					public void onNext(long value) {
+						subscriber.onNext((double) value);
+					}
+
+					@Override
+					public void onError(Throwable t) {
+						subscriber.onError(t);
+					}
+
+					@Override
+					public void onComplete() {
+						subscriber.onComplete();
+					}
+				});
+			}
+		};
+	}
+
+	/**
+	 * Request all the longs and pass each of them to the given consumer.
+	 *
+	 * @param consumer the consumer to invoke on each long
+	 * @return the {@link org.reactivestreams.Subscription} to cancel to stop consuming
+	 */
+	public final Subscription consume(final LongConsumer consumer) {
+		ConsumerSubscriber subscriber = new ConsumerSubscriber(consumer);
+		subscribe(subscriber);
+		return subscriber;
+	}
+
+	private LongStream reduce(final boolean seeded, final long initial, final LongBinaryOperator accumulator) {
+		return new LongStream() {
+			@Override
+			public void subscribe(LongSubscriber subscriber) {
+				LongStream.this.subscribe(new ReduceSubscriber(subscriber, seeded, initial, accumulator));
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName();
+	}
+
+	static abstract class ForwardingSubscriber extends PrimitiveSubscribers.ForwardingStage<LongSubscriber>
+			implements LongSubscriber {
+
+		ForwardingSubscriber(LongSubscriber actual) {
+			super(actual);
+		}
+	}
+
+	static final class ReduceSubscriber extends PrimitiveSubscribers.ReduceStage<LongSubscriber>
+			implements LongSubscriber {
+
+		private final LongBinaryOperator accumulator;
+
+		private long value;
+
+		ReduceSubscriber(LongSubscriber actual, boolean seeded, long initial, LongBinaryOperator accumulator) {
+			super(actual, seeded);
+			this.accumulator = accumulator;
+			this.value = initial;
+		}
+
+		@Override
+		public void onNext(long v) {
+			if (!hasValue) {
+				value = v;
+				hasValue = true;
+				return;
+			}
+			try {
+				value = accumulator.apply(value, v);
+			} catch (Throwable t) {
+				cancelAndError(t);
+			}
+		}
+
+		@Override
+		void emitResult() {
+			actual.onNext(value);
+		}
+	}
+
+	static final class BufferSubscriber extends PrimitiveSubscribers.BufferStage<long[]> implements LongSubscriber {
+
+		private long[] buffer;
+
+		BufferSubscriber(Subscriber<? super long[]> actual, int size) {
+			super(actual, size);
+			this.buffer = new long[size];
+		}
+
+		@Override
+		public void onNext(long value) {
+			buffer[index] = value;
+			next();
+		}
+
+		@Override
+		long[] drainBuffer(int length) {
+			if (length < size) {
+				return Arrays.copyOf(buffer, length);
+			}
+			long[] full = buffer;
+			buffer = new long[size];
+			return full;
+		}
+	}
+
+	static final class ConsumerSubscriber extends PrimitiveSubscribers.ConsumerStage implements LongSubscriber {
+
+		private final LongConsumer consumer;
+
+		ConsumerSubscriber(LongConsumer consumer) {
+			this.consumer = consumer;
+		}
+
+		@Override
+		public void onNext(long value) {
+			try {
+				consumer.accept(value);
+			} catch (Throwable t) {
+				consumerFailed(t);
+			}
+		}
+	}
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2011-2015 Pivotal Software Inc., Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.rx;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.Environment;
+import reactor.rx.action.Action;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * The demand, emission and cancellation plumbing shared by {@link LongStream} and {@link DoubleStream}, which only
+ * add the primitive {@code onNext} of each stage on top of it.
+ *
+ * @since 2.0
+ */
+final class PrimitiveSubscribers {
+
+	/**
+	 * The subscription of a source that has nothing to emit.
+	 */
+	static final Subscription EMPTY = new Subscription() {
+		@Override
+		public void request(long n) {
+		}
+
+		@Override
+		public void cancel() {
+		}
+	};
+
+	private PrimitiveSubscribers() {
+	}
+
+	/**
+	 * Complete the given subscriber right away, after handing it the {@link #EMPTY} subscription.
+	 */
+	static void complete(PrimitiveSubscriber subscriber) {
+		subscriber.onSubscribe(EMPTY);
+		subscriber.onComplete();
+	}
+
+	/**
+	 * The signals of a primitive subscriber but {@code onNext}, which each primitive type declares.
+	 */
+	interface PrimitiveSubscriber {
+		void onSubscribe(Subscription s);
+
+		void onError(Throwable t);
+
+		void onComplete();
+	}
+
+	/**
+	 * A Subscription emitting a finite number of values to a primitive subscriber, within its demand. Indexes are
+	 * compared as unsigned, so up to 2^64 values can be emitted.
+	 */
+	static abstract class Emitter implements Subscription {
+
+		private static final AtomicLongFieldUpdater<Emitter> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(Emitter.class, "requested");
+
+		private final PrimitiveSubscriber subscriber;
+		private final long                last;
+
+		private          long    index;
+		private volatile long    requested;
+		private volatile boolean cancelled;
+
+		/**
+		 * @param last the index of the last value to emit
+		 */
+		Emitter(PrimitiveSubscriber subscriber, long last) {
+			this.subscriber = subscriber;
+			this.last = last;
+		}
+
+		/**
+		 * Pass the value at the given index to the subscriber.
+		 */
+		abstract void emit(long index);
+
+		@Override
+		public final void request(long n) {
+			try {
+				Action.checkRequest(n);
+			} catch (Throwable t) {
+				cancelled = true;
+				subscriber.onError(t);
+				return;
+			}
+
+			long r;
+			long u;
+			do {
+				r = requested;
+				u = r + n < 0l ? Long.MAX_VALUE : r + n;
+			} while (!REQUESTED.compareAndSet(this, r, u));
+
+			if (r != 0l) {
+				//already emitting, the loop will pick up the new demand
+				return;
+			}
+
+			long i = index;
+			for (; ; ) {
+				long emitted = 0l;
+				while (emitted != u) {
+					if (cancelled) {
+						return;
+					}
+					emit(i);
+					emitted++;
+					if (i++ == last) {
+						if (!cancelled) {
+							cancelled = true;
+							subscriber.onComplete();
+						}
+						return;
+					}
+				}
+				index = i;
+				u = REQUESTED.addAndGet(this, -emitted);
+				if (u == 0l) {
+					return;
+				}
+			}
+		}
+
+		@Override
+		public final void cancel() {
+			cancelled = true;
+		}
+	}
+
+	/**
+	 * A stage passing the upstream demand and cancellation through, and the terminal signals downstream.
+	 */
+	static abstract class ForwardingStage<S extends PrimitiveSubscriber> implements Subscription {
+
+		final S actual;
+		Subscription upstream;
+		boolean      done;
+
+		ForwardingStage(S actual) {
+			this.actual = actual;
+		}
+
+		public void onSubscribe(Subscription s) {
+			this.upstream = s;
+			actual.onSubscribe(this);
+		}
+
+		public void onError(Throwable t) {
+			if (!done) {
+				done = true;
+				actual.onError(t);
+			}
+		}
+
+		public void onComplete() {
+			if (!done) {
+				done = true;
+				actual.onComplete();
+			}
+		}
+
+		@Override
+		public void request(long n) {
+			upstream.request(n);
+		}
+
+		@Override
+		public void cancel() {
+			upstream.cancel();
+		}
+
+		final void cancelAndError(Throwable t) {
+			upstream.cancel();
+			onError(t);
+		}
+	}
+
+	/**
+	 * A stage requesting every value upstream on the first request, and emitting a single result on complete. If the
+	 * upstream completes before anything was requested, which an empty source may do, the result is held back until
+	 * the first request.
+	 */
+	static abstract class ReduceStage<S extends PrimitiveSubscriber> extends ForwardingStage<S> {
+
+		private static final int NOTHING   = 0;
+		private static final int REQUESTED = 1;
+		private static final int COMPLETED = 2;
+		private static final int EMITTED   = 3;
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicIntegerFieldUpdater<ReduceStage> STATE =
+				AtomicIntegerFieldUpdater.newUpdater(ReduceStage.class, "state");
+
+		boolean hasValue;
+		private volatile int state;
+
+		ReduceStage(S actual, boolean hasValue) {
+			super(actual);
+			this.hasValue = hasValue;
+		}
+
+		/**
+		 * Pass the result to the downstream subscriber.
+		 */
+		abstract void emitResult();
+
+		@Override
+		public final void onComplete() {
+			if (done) {
+				return;
+			}
+			if (!hasValue) {
+				super.onComplete();
+				return;
+			}
+			done = true;
+			for (; ; ) {
+				int s = state;
+				if (s == REQUESTED) {
+					if (STATE.compareAndSet(this, s, EMITTED)) {
+						emitResultAndComplete();
+						return;
+					}
+				} else if (s != NOTHING || STATE.compareAndSet(this, s, COMPLETED)) {
+					return;
+				}
+			}
+		}
+
+		@Override
+		public final void request(long n) {
+			Action.checkRequest(n);
+			for (; ; ) {
+				int s = state;
+				if (s == NOTHING) {
+					if (STATE.compareAndSet(this, s, REQUESTED)) {
+						upstream.request(Long.MAX_VALUE);
+						return;
+					}
+				} else if (s == COMPLETED) {
+					if (STATE.compareAndSet(this, s, EMITTED)) {
+						emitResultAndComplete();
+						return;
+					}
+				} else {
+					return;
+				}
+			}
+		}
+
+		@Override
+		public final void cancel() {
+			state = EMITTED;
+			upstream.cancel();
+		}
+
+		private void emitResultAndComplete() {
+			emitResult();
+			actual.onComplete();
+		}
+	}
+
+	/**
+	 * A stage collecting values into arrays of a given size, each array requested downstream requesting as many values
+	 * upstream.
+	 */
+	static abstract class BufferStage<A> implements Subscription {
+
+		final Subscriber<? super A> actual;
+		final int                   size;
+
+		int index;
+		private Subscription upstream;
+
+		BufferStage(Subscriber<? super A> actual, int size) {
+			this.actual = actual;
+			this.size = size;
+		}
+
+		/**
+		 * @return the array holding the first {@code length} buffered values, which are discarded
+		 */
+		abstract A drainBuffer(int length);
+
+		/**
+		 * Emit the buffer once the value at {@link #index} has been stored.
+		 */
+		final void next() {
+			if (++index == size) {
+				index = 0;
+				actual.onNext(drainBuffer(size));
+			}
+		}
+
+		public final void onSubscribe(Subscription s) {
+			this.upstream = s;
+			actual.onSubscribe(this);
+		}
+
+		public final void onError(Throwable t) {
+			actual.onError(t);
+		}
+
+		public final void onComplete() {
+			if (index > 0) {
+				int length = index;
+				index = 0;
+				actual.onNext(drainBuffer(length));
+			}
+			actual.onComplete();
+		}
+
+		@Override
+		public final void request(long n) {
+			Action.checkRequest(n);
+			upstream.request(n > Long.MAX_VALUE / size ? Long.MAX_VALUE : n * size);
+		}
+
+		@Override
+		public final void cancel() {
+			upstream.cancel();
+		}
+	}
+
+	/**
+	 * A subscriber requesting every value, whose errors are routed to the {@link reactor.Environment}.
+	 */
+	static abstract class ConsumerStage implements Subscription {
+
+		private volatile Subscription upstream;
+		private volatile boolean      cancelled;
+
+		public final void onSubscribe(Subscription s) {
+			this.upstream = s;
+			if (cancelled) {
+				s.cancel();
+			} else {
+				s.request(Long.MAX_VALUE);
+			}
+		}
+
+		public final void onError(Throwable t) {
+			if (Environment.alive()) {
+				Environment.get().routeError(t);
+			}
+		}
+
+		public final void onComplete() {
+		}
+
+		final void consumerFailed(Throwable t) {
+			cancel();
+			onError(t);
+		}
+
+		@Override
+		public final void request(long n) {
+			//the consumer requests everything on subscribe
+		}
+
+		@Override
+		public final void cancel() {
+			cancelled = true;
+			Subscription s = upstream;
+			if (s != null) {
+				s.cancel();
+			}
+		}
+	}
+}
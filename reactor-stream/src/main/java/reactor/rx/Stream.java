@@ -20,6 +20,7 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import reactor.Environment;
 import reactor.core.Dispatcher;
+import reactor.core.DispatcherSupplier;
 import reactor.core.dispatch.SynchronousDispatcher;
 import reactor.core.dispatch.TailRecurseDispatcher;
 import reactor.core.queue.CompletableBlockingQueue;
@@ -888,6 +889,51 @@ public abstract class Stream<O> implements Publisher<O>, NonBlocking {
 		});
 	}
 
+	/**
+	 * Assign the given {@link Function} to transform the incoming value {@code T} into a {@code V} on {@code
+	 * parallelism} dispatchers from {@link Environment#cachedDispatchers()} and pass it into another {@code Stream}
+	 * in the order of the incoming values.
+	 *
+	 * @param fn          the transformation function
+	 * @param parallelism the number of dispatchers running the transformation function
+	 * @param <V>         the type of the return value of the transformation function
+	 * @return a new {@link Stream} containing the transformed values
+	 * @see #parallelMap(Function, int, DispatcherSupplier)
+	 * @since 2.0
+	 */
+	public final <V> Stream<V> parallelMap(@Nonnull final Function<? super O, V> fn, final int parallelism) {
+		return lift(new Supplier<Action<O, V>>() {
+			@Override
+			public Action<O, V> get() {
+				return new ParallelMapAction<O, V>(fn, parallelism, Environment.cachedDispatchers(), parallelism * 4);
+			}
+		});
+	}
+
+	/**
+	 * Assign the given {@link Function} to transform the incoming value {@code T} into a {@code V} on {@code
+	 * parallelism} dispatchers taken from {@code dispatchers} and pass it into another {@code Stream} in the order of
+	 * the incoming values. Results are re-sequenced in a buffer of {@code 4 * parallelism} slots, each slot being
+	 * requested upstream only once its result has been passed downstream.
+	 *
+	 * @param fn          the transformation function
+	 * @param parallelism the number of dispatchers running the transformation function
+	 * @param dispatchers the supplier of the dispatchers running the transformation function
+	 * @param <V>         the type of the return value of the transformation function
+	 * @return a new {@link Stream} containing the transformed values
+	 * @since 2.0
+	 */
+	public final <V> Stream<V> parallelMap(@Nonnull final Function<? super O, V> fn,
+	                                       final int parallelism,
+	                                       @Nonnull final DispatcherSupplier dispatchers) {
+		return lift(new Supplier<Action<O, V>>() {
+			@Override
+			public Action<O, V> get() {
+				return new ParallelMapAction<O, V>(fn, parallelism, dispatchers, parallelism * 4);
+			}
+		});
+	}
+
 	/**
 	 * Assign the given {@link Function} to transform the incoming value {@code T} into a {@code Stream<O,V>} and pass
 	 * it into another {@code Stream}.
@@ -902,6 +948,28 @@ public abstract class Stream<O> implements Publisher<O>, NonBlocking {
 		return map(fn).merge();
 	}
 
+	/**
+	 * Assign the given {@link Function} to transform the incoming value {@code T} into a {@code Stream<O,V>} and pass
+	 * it into another {@code Stream}. At most {@code maxConcurrency} transformed streams are subscribed at a time, each
+	 * of them being requested {@code prefetch} values at a time.
+	 *
+	 * @param fn             the transformation function
+	 * @param maxConcurrency the maximum number of transformed streams subscribed at a time
+	 * @param prefetch       the number of values requested at a time from each transformed stream
+	 * @param <V>            the type of the return value of the transformation function
+	 * @return a new {@link Stream} containing the transformed values
+	 * @since 2.0
+	 */
+	public final <V> Stream<V> flatMap(@Nonnull final Function<? super O,
+			? extends Publisher<? extends V>> fn, final int maxConcurrency, final int prefetch) {
+		return lift(new Supplier<Action<O, V>>() {
+			@Override
+			public Action<O, V> get() {
+				return new FlatMapAction<O, V>(fn, maxConcurrency, prefetch);
+			}
+		});
+	}
+
 	/**
 	 * Assign the given {@link Function} to transform the incoming value {@code T} into a {@code Stream<O,V>} and pass
 	 * it into another {@code Stream}. The produced stream will emit the data from the most recent transformed stream.
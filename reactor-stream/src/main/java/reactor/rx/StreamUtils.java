@@ -22,6 +22,7 @@ import reactor.core.reactivestreams.SerializedSubscriber;
 import reactor.fn.Consumer;
 import reactor.rx.action.Action;
 import reactor.rx.action.CompositeAction;
+import reactor.rx.action.FusedAction;
 import reactor.rx.action.aggregation.WindowAction;
 import reactor.rx.action.combination.DynamicMergeAction;
 import reactor.rx.action.combination.FanInAction;
@@ -155,7 +156,8 @@ public abstract class StreamUtils {
 							|| renderDynamicMerge(composable, nextLevelNestedStreams)
 							|| renderMerge(composable, nextLevelNestedStreams)
 							|| renderRetryWhen(composable, nextLevelNestedStreams)
-							|| renderCombine(composable, nextLevelNestedStreams);
+							|| renderCombine(composable, nextLevelNestedStreams)
+							|| renderFused(composable, nextLevelNestedStreams);
 
 			if (!nextLevelNestedStreams.isEmpty()) {
 				freshNestedStreams.put("boundTo", nextLevelNestedStreams);
@@ -278,6 +280,18 @@ public abstract class StreamUtils {
 			return false;
 		}
 
+		@SuppressWarnings("unchecked")
+		private <O> boolean renderFused(Stream<O> consumer, final List<Object> streamTree) {
+			if (FusedAction.class.isAssignableFrom(consumer.getClass())) {
+				FusedAction<?, O> operation = (FusedAction<?, O>) consumer;
+				for (Action<?, ?> operator : operation.getOperators()) {
+					parseComposable(operator, streamTree);
+				}
+				return true;
+			}
+			return false;
+		}
+
 		@SuppressWarnings("unchecked")
 		private <O> boolean renderDynamicMerge(Stream<O> consumer, final List<Object> streamTree) {
 			if (DynamicMergeAction.class.isAssignableFrom(consumer.getClass())) {
@@ -214,6 +214,19 @@ public class Streams {
 		return new RangeStream(start, end);
 	}
 
+	/**
+	 * Build a {@literal LongStream} that will only emit a sequence of primitive longs within the specified range and
+	 * then complete. Unlike {@link #range(long, long)}, no {@link java.lang.Long} is allocated unless a plain
+	 * {@link org.reactivestreams.Subscriber} subscribes.
+	 *
+	 * @param start the inclusive starting value to be emitted
+	 * @param end   the inclusive closing value to be emitted
+	 * @return a new {@link reactor.rx.LongStream}
+	 */
+	public static LongStream longRange(long start, long end) {
+		return LongStream.range(start, end);
+	}
+
 	/**
 	 * Build a {@literal Stream} that will only emit 0l after the time delay and then complete.
 	 *
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.rx.action;
+
+import reactor.rx.action.support.Fusable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An Action running a chain of consecutive {@link Fusable} operators, such as {@code map} or {@code filter}, in a
+ * single {@link #doNext(Object)} loop with a single upstream subscription, instead of subscribing each of them
+ * separately. The logical operators are still available through {@link #getOperators()} for inspection.
+ *
+ * @since 2.0
+ */
+final public class FusedAction<I, O> extends Action<I, O> {
+
+	private final Action<?, ?>[]             operators;
+	private final Fusable<Object, Object>[] stages;
+
+	/**
+	 * Fuse the given operators, in upstream to downstream order.
+	 *
+	 * @param operators the operators to fuse, each of them must be {@link Fusable}
+	 */
+	@SuppressWarnings("unchecked")
+	public FusedAction(List<? extends Action<?, ?>> operators) {
+		this.operators = operators.toArray(new Action<?, ?>[operators.size()]);
+		this.stages = new Fusable[this.operators.length];
+		for (int i = 0; i < stages.length; i++) {
+			stages[i] = (Fusable<Object, Object>) this.operators[i];
+		}
+	}
+
+	/**
+	 * Return the fused operators, in upstream to downstream order.
+	 *
+	 * @return the fused operators
+	 */
+	public List<Action<?, ?>> getOperators() {
+		return Arrays.asList(operators);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void doNext(I ev) {
+		Object value = ev;
+		for (int i = 0; i < stages.length; i++) {
+			value = stages[i].fuseNext(value);
+			if (value == null) {
+				return;
+			} else if (value == Fusable.FILTERED) {
+				requestMore(1);
+				return;
+			}
+		}
+		broadcastNext((O) value);
+	}
+
+	@Override
+	protected void doComplete() {
+		for (int i = 0; i < stages.length; i++) {
+			stages[i].fuseComplete();
+		}
+		super.doComplete();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder names = new StringBuilder();
+		for (Action<?, ?> operator : operators) {
+			if (names.length() > 0) {
+				names.append(", ");
+			}
+			names.append(operator.getClass().getSimpleName());
+		}
+		return "{operators=[" + names + "], " + super.toString() + '}';
+	}
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.rx.action.combination;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.Environment;
+import reactor.core.queue.CompletableQueue;
+import reactor.core.queue.internal.MpscLinkedQueue;
+import reactor.core.support.Assert;
+import reactor.fn.Function;
+import reactor.rx.action.Action;
+import reactor.rx.subscription.PushSubscription;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Transform each incoming value into a {@link Publisher} and merge the values of at most {@code maxConcurrency} of
+ * them at a time. Each inner publisher is requested {@code prefetch} values up front, then replenished in batches as
+ * its values are passed downstream. A new upstream value is requested each time an inner publisher completes.
+ * <p>
+ * The inner values are queued per inner publisher and drained by whichever thread wins the work-in-progress counter,
+ * which is the only thread emitting downstream: no lock is taken per value.
+ *
+ * @since 2.0
+ */
+public class FlatMapAction<T, V> extends Action<T, V> {
+
+	private static final InnerSubscriber[] EMPTY = new InnerSubscriber[0];
+
+	private final Function<? super T, ? extends Publisher<? extends V>> fn;
+	private final int                                                   maxConcurrency;
+	private final int                                                   prefetch;
+	private final int                                                   limit;
+
+	private volatile InnerSubscriber[] inners = EMPTY;
+
+	private volatile long requested = 0l;
+
+	protected static final AtomicLongFieldUpdater<FlatMapAction> REQUESTED_UPDATER = AtomicLongFieldUpdater
+			.newUpdater(FlatMapAction.class, "requested");
+
+	private volatile int wip = 0;
+
+	protected static final AtomicIntegerFieldUpdater<FlatMapAction> WIP_UPDATER = AtomicIntegerFieldUpdater
+			.newUpdater(FlatMapAction.class, "wip");
+
+	private volatile Throwable error;
+
+	protected static final AtomicReferenceFieldUpdater<FlatMapAction, Throwable> ERROR_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater(FlatMapAction.class, Throwable.class, "error");
+
+	private volatile boolean done;
+	private volatile boolean cancelled;
+
+	//only accessed by the draining thread
+	private boolean terminated;
+	private int     lastIndex;
+
+	public FlatMapAction(Function<? super T, ? extends Publisher<? extends V>> fn, int maxConcurrency, int prefetch) {
+		Assert.notNull(fn, "FlatMap function cannot be null.");
+		Assert.isTrue(maxConcurrency > 0, "maxConcurrency must be strictly positive");
+		Assert.isTrue(prefetch > 0, "prefetch must be strictly positive");
+		this.fn = fn;
+		this.maxConcurrency = maxConcurrency;
+		this.prefetch = prefetch;
+		this.limit = Math.max(1, prefetch - (prefetch >> 2));
+	}
+
+	@Override
+	protected PushSubscription<V> createSubscription(Subscriber<? super V> subscriber, boolean reactivePull) {
+		//downstream demand is tracked by the drain loop
+		return createSubscription(subscriber, (CompletableQueue<V>) null);
+	}
+
+	@Override
+	protected void requestUpstream(long capacity, boolean terminated, long elements) {
+		if (REQUESTED_UPDATER.addAndGet(this, elements) < 0l) {
+			REQUESTED_UPDATER.set(this, Long.MAX_VALUE);
+		}
+		drain();
+	}
+
+	@Override
+	protected void doSubscribe(Subscription subscription) {
+		requestMore(maxConcurrency == Integer.MAX_VALUE ? Long.MAX_VALUE : maxConcurrency);
+	}
+
+	@Override
+	protected void doStart(long pending) {
+		drain();
+	}
+
+	@Override
+	protected void doNext(T value) {
+		Publisher<? extends V> publisher = fn.apply(value);
+		if (publisher == null) {
+			requestMore(1l);
+			return;
+		}
+		InnerSubscriber<V> inner = new InnerSubscriber<V>(this);
+		if (add(inner)) {
+			publisher.subscribe(inner);
+		}
+	}
+
+	@Override
+	protected void doComplete() {
+		done = true;
+		drain();
+	}
+
+	@Override
+	protected void doError(Throwable ev) {
+		if (!ERROR_UPDATER.compareAndSet(this, null, ev)) {
+			if (Environment.alive()) {
+				Environment.get().routeError(ev);
+			}
+			return;
+		}
+		done = true;
+		drain();
+	}
+
+	@Override
+	public void cancel() {
+		cancelled = true;
+		InnerSubscriber[] a;
+		synchronized (this) {
+			a = inners;
+			inners = EMPTY;
+		}
+		for (InnerSubscriber inner : a) {
+			inner.cancel();
+		}
+		super.cancel();
+	}
+
+	private boolean add(InnerSubscriber inner) {
+		synchronized (this) {
+			if (!cancelled) {
+				InnerSubscriber[] a = inners;
+				InnerSubscriber[] b = new InnerSubscriber[a.length + 1];
+				System.arraycopy(a, 0, b, 0, a.length);
+				b[a.length] = inner;
+				inners = b;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void remove(InnerSubscriber inner) {
+		synchronized (this) {
+			InnerSubscriber[] a = inners;
+			int n = a.length;
+			for (int i = 0; i < n; i++) {
+				if (a[i] == inner) {
+					InnerSubscriber[] b = new InnerSubscriber[n - 1];
+					System.arraycopy(a, 0, b, 0, i);
+					System.arraycopy(a, i + 1, b, i, n - i - 1);
+					inners = b;
+					return;
+				}
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	void drain() {
+		if (WIP_UPDATER.getAndIncrement(this) != 0) {
+			return;
+		}
+		int missed = 1;
+		for (; ; ) {
+			if (terminated) {
+				return;
+			}
+			Throwable ex = error;
+			if (ex != null) {
+				terminated = true;
+				cancel();
+				super.doError(ex);
+				return;
+			}
+
+			boolean d = done;
+			InnerSubscriber[] a = inners;
+			int n = a.length;
+			long r = requested;
+			long e = 0l;
+			long replenish = 0l;
+
+			if (n != 0) {
+				int j = lastIndex < n ? lastIndex : 0;
+				for (int i = 0; i < n && error == null; i++) {
+					InnerSubscriber inner = a[j];
+					boolean innerDone = inner.done;
+					Object v;
+					while (e != r && (v = inner.queue.poll()) != null) {
+						broadcastNext((V) v);
+						e++;
+						inner.consumed();
+					}
+					if (innerDone && inner.queue.isEmpty()) {
+						remove(inner);
+						replenish++;
+					}
+					if (++j == n) {
+						j = 0;
+					}
+				}
+				lastIndex = j;
+			}
+
+			if (e != 0l && r != Long.MAX_VALUE) {
+				REQUESTED_UPDATER.addAndGet(this, -e);
+			}
+			if (replenish != 0l && !d && !cancelled) {
+				requestMore(replenish);
+			}
+			if (d && error == null && inners.length == 0) {
+				terminated = true;
+				broadcastComplete();
+				return;
+			}
+
+			missed = WIP_UPDATER.addAndGet(this, -missed);
+			if (missed == 0) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return super.toString() + "{" +
+				"active=" + inners.length +
+				", maxConcurrency=" + maxConcurrency +
+				", prefetch=" + prefetch +
+				", requested=" + requested +
+				'}';
+	}
+
+	static final class InnerSubscriber<V> implements Subscriber<V> {
+		final FlatMapAction<?, V> parent;
+		final Queue<V>            queue = MpscLinkedQueue.create();
+
+		volatile Subscription s;
+		volatile boolean      done;
+
+		//only accessed by the draining thread
+		int produced;
+
+		InnerSubscriber(FlatMapAction<?, V> parent) {
+			this.parent = parent;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			this.s = s;
+			if (parent.cancelled) {
+				s.cancel();
+			} else {
+				s.request(parent.prefetch);
+			}
+		}
+
+		@Override
+		public void onNext(V v) {
+			queue.offer(v);
+			parent.drain();
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			done = true;
+			parent.doError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			done = true;
+			parent.drain();
+		}
+
+		void consumed() {
+			if (++produced == parent.limit) {
+				produced = 0;
+				s.request(parent.limit);
+			}
+		}
+
+		void cancel() {
+			Subscription s = this.s;
+			if (s != null) {
+				s.cancel();
+			}
+		}
+	}
+}
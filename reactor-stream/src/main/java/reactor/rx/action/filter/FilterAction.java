@@ -17,12 +17,13 @@ package reactor.rx.action.filter;
 
 import reactor.fn.Predicate;
 import reactor.rx.action.Action;
+import reactor.rx.action.support.Fusable;
 
 /**
  * @author Stephane Maldini
  * @since 1.1
  */
-public class FilterAction<T> extends Action<T, T> {
+public class FilterAction<T> extends Action<T, T> implements Fusable<T, T> {
 
 	public static final Predicate<Boolean> simplePredicate = new Predicate<Boolean>() {
 		@Override
@@ -48,4 +49,13 @@ public class FilterAction<T> extends Action<T, T> {
 			//d.accept(new IllegalArgumentException(String.format("%s failed a predicate test.", value)));
 		}
 	}
+
+	@Override
+	public Object fuseNext(T ev) {
+		return p.test(ev) ? ev : FILTERED;
+	}
+
+	@Override
+	public void fuseComplete() {
+	}
 }
@@ -17,11 +17,12 @@ package reactor.rx.action.passive;
 
 import reactor.fn.Consumer;
 import reactor.rx.action.Action;
+import reactor.rx.action.support.Fusable;
 
 /**
  * @author Stephane Maldini
  */
-public class CallbackAction<T> extends Action<T, T> {
+public class CallbackAction<T> extends Action<T, T> implements Fusable<T, T> {
 
 	private final Consumer<? super T> consumer;
 	private final Consumer<Void> completeConsumer;
@@ -46,4 +47,19 @@ public class CallbackAction<T> extends Action<T, T> {
 		}
 		broadcastComplete();
 	}
+
+	@Override
+	public Object fuseNext(T ev) {
+		if(consumer != null){
+			consumer.accept(ev);
+		}
+		return ev;
+	}
+
+	@Override
+	public void fuseComplete() {
+		if(completeConsumer != null){
+			completeConsumer.accept(null);
+		}
+	}
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.rx.action.support;
+
+/**
+ * A stateless {@link reactor.rx.action.Action} whose per-element logic can run inside a {@link
+ * reactor.rx.action.FusedAction} along with the operators around it, instead of being subscribed on its own.
+ *
+ * @since 2.0
+ */
+public interface Fusable<I, O> {
+
+	/**
+	 * Returned by {@link #fuseNext(Object)} when the element is dropped and a replacement should be requested.
+	 */
+	public static final Object FILTERED = new Object();
+
+	/**
+	 * Apply this operator to the next element.
+	 *
+	 * @param ev the element to process
+	 * @return the element to pass downstream, {@literal null} to drop it or {@link #FILTERED} to drop it and request
+	 * another one
+	 */
+	public Object fuseNext(I ev);
+
+	/**
+	 * Run this operator completion logic, before the completion is passed downstream.
+	 */
+	public void fuseComplete();
+}
@@ -18,12 +18,13 @@ package reactor.rx.action.transformation;
 import reactor.core.support.Assert;
 import reactor.fn.Function;
 import reactor.rx.action.Action;
+import reactor.rx.action.support.Fusable;
 
 /**
  * @author Stephane Maldini
  * @since 1.1
  */
-public class MapAction<T, V> extends Action<T, V> {
+public class MapAction<T, V> extends Action<T, V> implements Fusable<T, V> {
 
 	private final Function<? super T, ? extends V> fn;
 
@@ -40,4 +41,13 @@ public class MapAction<T, V> extends Action<T, V> {
 		}
 	}
 
+	@Override
+	public Object fuseNext(T ev) {
+		return fn.apply(ev);
+	}
+
+	@Override
+	public void fuseComplete() {
+	}
+
 }
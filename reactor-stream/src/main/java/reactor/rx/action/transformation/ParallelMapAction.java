@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.rx.action.transformation;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.Environment;
+import reactor.core.Dispatcher;
+import reactor.core.DispatcherSupplier;
+import reactor.core.queue.CompletableQueue;
+import reactor.core.support.Assert;
+import reactor.fn.Consumer;
+import reactor.fn.Function;
+import reactor.rx.action.Action;
+import reactor.rx.subscription.PushSubscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Apply a function to each incoming value on one of {@code parallelism} worker dispatchers, in a round-robin fashion,
+ * and pass the results downstream in the order of the incoming values.
+ * <p>
+ * Results are re-sequenced in a reorder buffer of {@code bufferSize} slots. A slot is only requested upstream once it
+ * is free, that is once the result it held has been passed downstream, so a slow value holds back at most {@code
+ * bufferSize} values and downstream backpressure is propagated upstream.
+ *
+ * @since 2.0
+ */
+public class ParallelMapAction<T, V> extends Action<T, V> {
+
+	private static final Object DROPPED = new Object();
+
+	private final Function<? super T, ? extends V> fn;
+	private final Dispatcher[]                     workers;
+	private final AtomicReferenceArray<Object>     results;
+	private final int                              bufferSize;
+	private final int                              limit;
+	private final Consumer<Task<T>>                worker;
+
+	private volatile long submitted = 0l;
+
+	private volatile long requested = 0l;
+
+	protected static final AtomicLongFieldUpdater<ParallelMapAction> REQUESTED_UPDATER = AtomicLongFieldUpdater
+			.newUpdater(ParallelMapAction.class, "requested");
+
+	private volatile int wip = 0;
+
+	protected static final AtomicIntegerFieldUpdater<ParallelMapAction> WIP_UPDATER = AtomicIntegerFieldUpdater
+			.newUpdater(ParallelMapAction.class, "wip");
+
+	private volatile Throwable error;
+
+	protected static final AtomicReferenceFieldUpdater<ParallelMapAction, Throwable> ERROR_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater(ParallelMapAction.class, Throwable.class, "error");
+
+	private volatile boolean done;
+	private volatile boolean cancelled;
+
+	//only accessed by the draining thread
+	private boolean terminated;
+	private long    head;
+	private int     freed;
+
+	public ParallelMapAction(Function<? super T, ? extends V> fn,
+	                         int parallelism,
+	                         DispatcherSupplier dispatchers,
+	                         int bufferSize) {
+		Assert.notNull(fn, "Map function cannot be null.");
+		Assert.notNull(dispatchers, "Dispatcher supplier cannot be null.");
+		Assert.isTrue(parallelism > 0, "parallelism must be strictly positive");
+		Assert.isTrue(bufferSize >= parallelism, "bufferSize must be greater than or equal to parallelism");
+		this.fn = fn;
+		this.workers = new Dispatcher[parallelism];
+		for (int i = 0; i < parallelism; i++) {
+			workers[i] = dispatchers.get();
+		}
+		this.bufferSize = bufferSize;
+		this.limit = Math.max(1, bufferSize - (bufferSize >> 2));
+		this.results = new AtomicReferenceArray<Object>(bufferSize);
+		this.worker = new Consumer<Task<T>>() {
+			@Override
+			public void accept(Task<T> task) {
+				if (cancelled) {
+					return;
+				}
+				Object result;
+				try {
+					result = ParallelMapAction.this.fn.apply(task.value);
+				} catch (Throwable t) {
+					doError(t);
+					return;
+				}
+				results.set(task.slot, result != null ? result : DROPPED);
+				drain();
+			}
+		};
+	}
+
+	@Override
+	protected PushSubscription<V> createSubscription(Subscriber<? super V> subscriber, boolean reactivePull) {
+		//downstream demand is tracked by the drain loop
+		return createSubscription(subscriber, (CompletableQueue<V>) null);
+	}
+
+	@Override
+	protected void requestUpstream(long capacity, boolean terminated, long elements) {
+		if (REQUESTED_UPDATER.addAndGet(this, elements) < 0l) {
+			REQUESTED_UPDATER.set(this, Long.MAX_VALUE);
+		}
+		drain();
+	}
+
+	@Override
+	protected void doSubscribe(Subscription subscription) {
+		requestMore(bufferSize);
+	}
+
+	@Override
+	protected void doStart(long pending) {
+		drain();
+	}
+
+	@Override
+	protected void doNext(T value) {
+		long seq = submitted;
+		workers[(int) (seq % workers.length)].dispatch(new Task<T>(value, (int) (seq % bufferSize)), worker, null);
+		submitted = seq + 1;
+	}
+
+	@Override
+	protected void doComplete() {
+		done = true;
+		drain();
+	}
+
+	@Override
+	protected void doError(Throwable ev) {
+		if (!ERROR_UPDATER.compareAndSet(this, null, ev)) {
+			if (Environment.alive()) {
+				Environment.get().routeError(ev);
+			}
+			return;
+		}
+		drain();
+	}
+
+	@Override
+	public void cancel() {
+		cancelled = true;
+		super.cancel();
+	}
+
+	@SuppressWarnings("unchecked")
+	void drain() {
+		if (WIP_UPDATER.getAndIncrement(this) != 0) {
+			return;
+		}
+		int missed = 1;
+		for (; ; ) {
+			if (terminated) {
+				return;
+			}
+			Throwable ex = error;
+			if (ex != null) {
+				terminated = true;
+				cancel();
+				super.doError(ex);
+				return;
+			}
+
+			long r = requested;
+			long e = 0l;
+			for (; ; ) {
+				int slot = (int) (head % bufferSize);
+				Object result = results.get(slot);
+				if (result == null || (result != DROPPED && e == r)) {
+					break;
+				}
+				results.set(slot, null);
+				head++;
+				freed++;
+				if (result != DROPPED) {
+					broadcastNext((V) result);
+					e++;
+				}
+			}
+
+			if (e != 0l && r != Long.MAX_VALUE) {
+				REQUESTED_UPDATER.addAndGet(this, -e);
+			}
+
+			boolean d = done;
+			if (d && head == submitted && error == null) {
+				terminated = true;
+				broadcastComplete();
+				return;
+			}
+			if (freed >= limit && !d && !cancelled) {
+				int n = freed;
+				freed = 0;
+				requestMore(n);
+			}
+
+			missed = WIP_UPDATER.addAndGet(this, -missed);
+			if (missed == 0) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return super.toString() + "{" +
+				"parallelism=" + workers.length +
+				", buffered=" + (submitted - head) + "/" + bufferSize +
+				", requested=" + requested +
+				'}';
+	}
+
+	private static final class Task<T> {
+		final T   value;
+		final int slot;
+
+		Task(T value, int slot) {
+			this.value = value;
+			this.slot = slot;
+		}
+	}
+}
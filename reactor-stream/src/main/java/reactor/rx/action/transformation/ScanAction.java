@@ -17,12 +17,13 @@ package reactor.rx.action.transformation;
 
 import reactor.fn.BiFunction;
 import reactor.rx.action.Action;
+import reactor.rx.action.support.Fusable;
 
 /**
  * @author Stephane Maldini
  * @since 1.1, 2.0
  */
-public class ScanAction<T, A> extends Action<T, A> {
+public class ScanAction<T, A> extends Action<T, A> implements Fusable<T, A> {
 
 	private final BiFunction<A, ? super T, A> fn;
 	private       A                           acc;
@@ -39,4 +40,17 @@ public class ScanAction<T, A> extends Action<T, A> {
 		broadcastNext(acc);
 	}
 
+	@Override
+	public Object fuseNext(T ev) {
+		acc = fn.apply(acc, ev);
+		if (acc == null) {
+			throw new NullPointerException("Spec 2.13: Signal cannot be null");
+		}
+		return acc;
+	}
+
+	@Override
+	public void fuseComplete() {
+	}
+
 }
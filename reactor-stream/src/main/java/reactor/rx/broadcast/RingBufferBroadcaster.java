@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2011-2014 Pivotal Software, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package reactor.rx.broadcast;
+
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.Dispatcher;
+import reactor.core.support.Assert;
+import reactor.jarjar.com.lmax.disruptor.EventFactory;
+import reactor.jarjar.com.lmax.disruptor.RingBuffer;
+import reactor.jarjar.com.lmax.disruptor.Sequence;
+import reactor.rx.Stream;
+import reactor.rx.action.Action;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A multicast {@link Processor} publishing every value once into a shared {@link RingBuffer} that all of its
+ * subscribers read from, instead of copying it into a queue per subscriber like {@link Broadcaster} does.
+ * <p>
+ * Each subscriber tracks its own read {@link Sequence}, gating the ring buffer: it is passed values up to its own
+ * demand, by the thread producing them or the thread requesting them. Upstream is requested as many values as the
+ * slowest subscriber leaves room for. A producer pushing values with no regard for demand waits for the slowest
+ * subscriber when the ring buffer is full, or evicts it with an {@link IllegalStateException} if eviction is enabled
+ * and the subscriber isn't reading at the time. Slots are cleared once every subscriber has read them, so the ring
+ * buffer doesn't retain consumed values.
+ * <p>
+ * Like any {@link Subscriber}, this processor must be signalled serially. Subscribers only see the values published
+ * after they subscribed.
+ *
+ * @since 2.0
+ */
+public class RingBufferBroadcaster<O> extends Stream<O> implements Processor<O, O> {
+
+	/**
+	 * The default number of slots of the ring buffer.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+	private static final RingSubscription[] EMPTY = new RingSubscription[0];
+
+	private final RingBuffer<Slot<O>> ringBuffer;
+	private final int                 bufferSize;
+	private final int                 limit;
+	private final boolean             evictSlowSubscribers;
+
+	//the last slot read by every subscriber and cleared, the only sequence gating the producer
+	private final Sequence released = new Sequence(-1l);
+
+	private volatile RingSubscription[] subscriptions = EMPTY;
+
+	//only accessed by the thread owning the request loop
+	private long upstreamRequested = 0l;
+
+	private volatile int requestWip = 0;
+
+	protected static final AtomicIntegerFieldUpdater<RingBufferBroadcaster> REQUEST_WIP_UPDATER =
+			AtomicIntegerFieldUpdater.newUpdater(RingBufferBroadcaster.class, "requestWip");
+
+	private volatile Subscription upstream;
+	private volatile Throwable    error;
+	private volatile boolean      done;
+
+	/**
+	 * Build a {@literal RingBufferBroadcaster} of {@link #DEFAULT_BUFFER_SIZE} slots waiting for its slowest
+	 * subscriber when full.
+	 *
+	 * @param <T> the type of values passing through the {@literal RingBufferBroadcaster}
+	 * @return a new {@link RingBufferBroadcaster}
+	 */
+	public static <T> RingBufferBroadcaster<T> create() {
+		return create(DEFAULT_BUFFER_SIZE, false);
+	}
+
+	/**
+	 * Build a {@literal RingBufferBroadcaster} waiting for its slowest subscriber when full.
+	 *
+	 * @param bufferSize the number of slots of the ring buffer, must be a power of 2
+	 * @param <T>        the type of values passing through the {@literal RingBufferBroadcaster}
+	 * @return a new {@link RingBufferBroadcaster}
+	 */
+	public static <T> RingBufferBroadcaster<T> create(int bufferSize) {
+		return create(bufferSize, false);
+	}
+
+	/**
+	 * Build a {@literal RingBufferBroadcaster}.
+	 *
+	 * @param bufferSize           the number of slots of the ring buffer, must be a power of 2
+	 * @param evictSlowSubscribers whether to evict the slowest subscribers rather than wait for them when full
+	 * @param <T>                  the type of values passing through the {@literal RingBufferBroadcaster}
+	 * @return a new {@link RingBufferBroadcaster}
+	 */
+	public static <T> RingBufferBroadcaster<T> create(int bufferSize, boolean evictSlowSubscribers) {
+		return new RingBufferBroadcaster<T>(bufferSize, evictSlowSubscribers);
+	}
+
+	/**
+	 *
+	 * INTERNAL
+	 */
+	protected RingBufferBroadcaster(int bufferSize, boolean evictSlowSubscribers) {
+		Assert.isTrue(Integer.bitCount(bufferSize) == 1, "bufferSize must be a power of 2");
+		this.ringBuffer = RingBuffer.createSingleProducer(new EventFactory<Slot<O>>() {
+			@Override
+			public Slot<O> newInstance() {
+				return new Slot<O>();
+			}
+		}, bufferSize);
+		this.ringBuffer.addGatingSequences(released);
+		this.bufferSize = bufferSize;
+		this.limit = Math.max(1, bufferSize >> 2);
+		this.evictSlowSubscribers = evictSlowSubscribers;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super O> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("Spec 1.9: Subscriber cannot be null");
+		}
+		RingSubscription<O> subscription = new RingSubscription<O>(this, subscriber);
+		synchronized (this) {
+			//only the next published values are read, none of them can be released before this subscriber reads them
+			subscription.sequence.set(ringBuffer.getCursor());
+			RingSubscription[] a = subscriptions;
+			RingSubscription[] b = new RingSubscription[a.length + 1];
+			System.arraycopy(a, 0, b, 0, a.length);
+			b[a.length] = subscription;
+			subscriptions = b;
+		}
+		subscriber.onSubscribe(subscription);
+		subscription.drain();
+	}
+
+	@Override
+	public void onSubscribe(Subscription s) {
+		if (s == null) {
+			throw new NullPointerException("Spec 2.13: Subscription cannot be null");
+		}
+		if (upstream != null) {
+			s.cancel();
+			return;
+		}
+		upstreamRequested = ringBuffer.getCursor();
+		upstream = s;
+		requestUpstream();
+	}
+
+	@Override
+	public void onNext(O ev) {
+		if (ev == null) {
+			throw new NullPointerException("Spec 2.13: Signal cannot be null");
+		}
+		long seq = claim();
+		ringBuffer.get(seq).value = ev;
+		ringBuffer.publish(seq);
+		drainAll();
+		requestUpstream();
+	}
+
+	@Override
+	public void onError(Throwable cause) {
+		if (cause == null) {
+			throw new NullPointerException("Spec 2.13: Signal cannot be null");
+		}
+		error = cause;
+		done = true;
+		drainAll();
+	}
+
+	@Override
+	public void onComplete() {
+		done = true;
+		drainAll();
+	}
+
+	@Override
+	public long getCapacity() {
+		return bufferSize;
+	}
+
+	@Override
+	public boolean isReactivePull(Dispatcher dispatcher, long producerCapacity) {
+		//upstream is only requested what the ring buffer has room for, it doesn't need to buffer for us
+		return false;
+	}
+
+	/**
+	 * Return the number of subscribers currently reading from the ring buffer.
+	 *
+	 * @return the number of subscribers
+	 */
+	public int subscriberCount() {
+		return subscriptions.length;
+	}
+
+	private long claim() {
+		if (!evictSlowSubscribers) {
+			return ringBuffer.next();
+		}
+		while (!ringBuffer.hasAvailableCapacity(1)) {
+			if (!evictSlowest()) {
+				LockSupport.parkNanos(1l);
+			}
+		}
+		return ringBuffer.next();
+	}
+
+	private boolean evictSlowest() {
+		RingSubscription[] a = subscriptions;
+		long min = ringBuffer.getCursor();
+		for (RingSubscription subscription : a) {
+			min = Math.min(min, subscription.sequence.get());
+		}
+		boolean evicted = false;
+		for (RingSubscription subscription : a) {
+			if (subscription.sequence.get() == min && subscription.evict()) {
+				evicted = true;
+			}
+		}
+		return evicted;
+	}
+
+	private void drainAll() {
+		for (RingSubscription subscription : subscriptions) {
+			subscription.drain();
+		}
+	}
+
+	void remove(RingSubscription subscription) {
+		synchronized (this) {
+			RingSubscription[] a = subscriptions;
+			int n = a.length;
+			for (int i = 0; i < n; i++) {
+				if (a[i] == subscription) {
+					RingSubscription[] b = new RingSubscription[n - 1];
+					System.arraycopy(a, 0, b, 0, i);
+					System.arraycopy(a, i + 1, b, i, n - i - 1);
+					subscriptions = b;
+					break;
+				}
+			}
+		}
+		requestUpstream();
+	}
+
+	/**
+	 * Release the slots read by every subscriber and request upstream as many values, in batches. Subscribers call it
+	 * from their own threads, so a single thread at a time runs the loop and picks up the calls it missed: upstream
+	 * is never requested concurrently.
+	 */
+	void requestUpstream() {
+		if (REQUEST_WIP_UPDATER.getAndIncrement(this) != 0) {
+			return;
+		}
+		int missed = 1;
+		for (; ; ) {
+			long min = releaseSlots();
+			Subscription s = upstream;
+			if (s != null && !done) {
+				long target = min + bufferSize;
+				long requested = upstreamRequested;
+				if (target - requested >= limit) {
+					upstreamRequested = target;
+					s.request(target - requested);
+				}
+			}
+			missed = REQUEST_WIP_UPDATER.addAndGet(this, -missed);
+			if (missed == 0) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Clear the slots every subscriber has read, then let the producer reuse them.
+	 *
+	 * @return the last released sequence
+	 */
+	private long releaseSlots() {
+		synchronized (this) {
+			long min = ringBuffer.getCursor();
+			for (RingSubscription subscription : subscriptions) {
+				min = Math.min(min, subscription.sequence.get());
+			}
+			long from = released.get();
+			if (min > from) {
+				for (long seq = from + 1l; seq <= min; seq++) {
+					ringBuffer.get(seq).value = null;
+				}
+				released.set(min);
+			}
+			return Math.max(min, from);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "{" +
+				"cursor=" + ringBuffer.getCursor() +
+				", remaining=" + ringBuffer.remainingCapacity() + "/" + bufferSize +
+				", subscribers=" + subscriptions.length +
+				(evictSlowSubscribers ? ", evicting" : "") +
+				'}';
+	}
+
+	private static final class Slot<O> {
+		O value;
+	}
+
+	static final class RingSubscription<O> implements Subscription {
+		final RingBufferBroadcaster<O> parent;
+		final Subscriber<? super O>    subscriber;
+		final Sequence                 sequence = new Sequence(-1l);
+
+		volatile long requested = 0l;
+
+		static final AtomicLongFieldUpdater<RingSubscription> REQUESTED_UPDATER = AtomicLongFieldUpdater
+				.newUpdater(RingSubscription.class, "requested");
+
+		volatile int wip = 0;
+
+		static final AtomicIntegerFieldUpdater<RingSubscription> WIP_UPDATER = AtomicIntegerFieldUpdater
+				.newUpdater(RingSubscription.class, "wip");
+
+		volatile boolean cancelled;
+
+		RingSubscription(RingBufferBroadcaster<O> parent, Subscriber<? super O> subscriber) {
+			this.parent = parent;
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			Action.checkRequest(n);
+			if (REQUESTED_UPDATER.addAndGet(this, n) < 0l) {
+				REQUESTED_UPDATER.set(this, Long.MAX_VALUE);
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			if (!cancelled) {
+				cancelled = true;
+				parent.remove(this);
+			}
+		}
+
+		/**
+		 * Terminate this subscription with an error, unless it's being drained.
+		 */
+		boolean evict() {
+			//the drain loop is never released once taken over, so late signals are ignored
+			if (cancelled || WIP_UPDATER.getAndIncrement(this) != 0) {
+				return false;
+			}
+			cancel();
+			subscriber.onError(new IllegalStateException("Slow subscriber evicted after falling behind by " +
+					parent.bufferSize + " values"));
+			return true;
+		}
+
+		void drain() {
+			if (WIP_UPDATER.getAndIncrement(this) != 0) {
+				return;
+			}
+			int missed = 1;
+			RingBuffer<Slot<O>> ringBuffer = parent.ringBuffer;
+			for (; ; ) {
+				if (cancelled) {
+					return;
+				}
+				boolean d = parent.done;
+				long available = ringBuffer.getCursor();
+				long next = sequence.get() + 1l;
+				long r = requested;
+				long e = 0l;
+
+				while (e != r && next <= available) {
+					O value = ringBuffer.get(next).value;
+					try {
+						subscriber.onNext(value);
+					} catch (Throwable t) {
+						cancel();
+						subscriber.onError(t);
+						return;
+					}
+					sequence.set(next);
+					next++;
+					e++;
+					if (cancelled) {
+						return;
+					}
+				}
+
+				if (e != 0l) {
+					if (r != Long.MAX_VALUE) {
+						REQUESTED_UPDATER.addAndGet(this, -e);
+					}
+					parent.requestUpstream();
+				}
+
+				if (d && next > available) {
+					cancel();
+					Throwable error = parent.error;
+					if (error != null) {
+						subscriber.onError(error);
+					} else {
+						subscriber.onComplete();
+					}
+					return;
+				}
+
+				missed = WIP_UPDATER.addAndGet(this, -missed);
+				if (missed == 0) {
+					return;
+				}
+			}
+		}
+	}
+}
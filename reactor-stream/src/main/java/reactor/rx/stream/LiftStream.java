@@ -22,6 +22,10 @@ import reactor.fn.Supplier;
 import reactor.rx.Stream;
 import reactor.rx.action.Action;
 import reactor.rx.action.CompositeAction;
+import reactor.rx.action.FusedAction;
+import reactor.rx.action.support.Fusable;
+
+import java.util.LinkedList;
 
 /**
  * A Stream wrapper that defers a parent stream subscription to the child action subscribe() call.
@@ -74,13 +78,49 @@ public class LiftStream<O, V> extends Stream<V> {
 	@Override
 	public final void subscribe(Subscriber<? super V> s) {
 		try {
-			Action<? super O, ? extends V> action = onLift();
+			subscribe(onLift(), s);
+		} catch (Throwable throwable) {
+			s.onError(throwable);
+		}
+	}
 
+	/**
+	 * Subscribe {@code s} to the given lifted action, itself subscribed to the producer. A {@link Fusable} action is
+	 * first fused with the {@link Fusable} actions lifted right before it into a single {@link FusedAction}.
+	 */
+	@SuppressWarnings("unchecked")
+	private void subscribe(Action<O, V> action, Subscriber<? super V> s) {
+		if (!Fusable.class.isAssignableFrom(action.getClass()) || !LiftStream.class.isAssignableFrom(producer.getClass())) {
 			action.subscribe(s);
 			producer.subscribe(action);
+			return;
+		}
 
-		} catch (Throwable throwable) {
-			s.onError(throwable);
+		LinkedList<Action<?, ?>> operators = new LinkedList<Action<?, ?>>();
+		operators.add(action);
+		LiftStream<Object, Object> upstream = (LiftStream<Object, Object>) producer;
+		Action<Object, Object> upstreamAction;
+		for (; ; ) {
+			upstreamAction = upstream.onLift();
+			if (!Fusable.class.isAssignableFrom(upstreamAction.getClass())) {
+				break;
+			}
+			operators.addFirst(upstreamAction);
+			if (!LiftStream.class.isAssignableFrom(upstream.producer.getClass())) {
+				upstreamAction = null;
+				break;
+			}
+			upstream = (LiftStream<Object, Object>) upstream.producer;
+		}
+
+		Action<Object, V> fused = operators.size() == 1 ?
+				(Action<Object, V>) action :
+				new FusedAction<Object, V>(operators);
+		fused.subscribe(s);
+		if (upstreamAction != null) {
+			upstream.subscribe(upstreamAction, fused);
+		} else {
+			upstream.producer.subscribe(fused);
 		}
 	}
 
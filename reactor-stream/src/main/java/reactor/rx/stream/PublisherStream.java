@@ -52,7 +52,7 @@ public class PublisherStream<T> extends Stream<T> {
 			private Subscription subscription;
 
 			@Override
-			protected void onRequest(long elements) {
+			protected void onRequest(final long elements) {
 				super.onRequest(elements);
 
 				if (!started) {
@@ -61,6 +61,7 @@ public class PublisherStream<T> extends Stream<T> {
 						@Override
 						public void onSubscribe(Subscription s) {
 							subscription = s;
+							s.request(elements);
 						}
 
 						@Override
@@ -61,7 +61,7 @@ public final class RangeStream extends Stream<Long> {
 	public void subscribe(Subscriber<? super Long> subscriber) {
 		if (start <= end) {
 			subscriber.onSubscribe(new PushSubscription<Long>(this, subscriber) {
-				Long cursor = start;
+				long cursor = start;
 
 				@Override
 				public void request(long elements) {
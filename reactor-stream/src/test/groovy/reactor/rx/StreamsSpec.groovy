@@ -16,6 +16,7 @@
 package reactor.rx
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import org.reactivestreams.Subscriber
 import org.reactivestreams.Subscription
 import reactor.Environment
 import reactor.core.dispatch.SynchronousDispatcher
@@ -25,10 +26,12 @@ import reactor.io.codec.DelimitedCodec
 import reactor.io.codec.StandardCodecs
 import reactor.rx.action.Signal
 import reactor.rx.broadcast.Broadcaster
+import reactor.rx.broadcast.RingBufferBroadcaster
 import spock.lang.Specification
 
 import java.util.concurrent.*
 import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
 
 class StreamsSpec extends Specification {
 
@@ -466,6 +469,45 @@ class StreamsSpec extends Specification {
 
 	}
 
+	def 'Consecutive map, filter, observe and scan operators are fused into a single Action'() {
+		given:
+			'a broadcaster mapped, filtered, observed and scanned'
+			def broadcaster = Broadcaster.<Integer> create()
+			def observed = []
+			def completed = false
+			def stream = broadcaster
+					.map { it * 2 }
+					.filter { it % 4 == 0 }
+					.observe { observed << it }
+					.observeComplete { completed = true }
+					.scan(0) { acc, next -> acc + next }
+
+		when:
+			'values are consumed'
+			def values = []
+			def control = stream.consume { values << it }
+			(1..5).each { broadcaster.onNext(it) }
+			def debug = control.debug().toString()
+
+		then:
+			'they are processed by a single Action still reporting the logical operators'
+			observed == [4, 8]
+			values == [4, 12]
+			debug.contains('Fused[')
+			debug.contains('Map[')
+			debug.contains('Filter[')
+			debug.contains('Callback[')
+			debug.contains('Scan[')
+
+		when:
+			'the broadcaster completes'
+			broadcaster.onComplete()
+
+		then:
+			'the completion callbacks are run'
+			completed
+	}
+
 	def "Stream 'state' related signals can be consumed"() {
 		given:
 			'a composable with values 1 to 5 inclusive'
@@ -681,6 +723,66 @@ class StreamsSpec extends Specification {
 			value.get() == 2
 	}
 
+	def "Stream's values can be mapped in parallel and passed in order"() {
+		given:
+			'a source composable mapped on 4 dispatchers'
+			def dispatchers = Environment.newCachedDispatchers(4, 'parallelMap')
+			def threads = new ConcurrentHashMap()
+			def mapped = Streams.range(1, 1000).parallelMap({ v ->
+				threads.put(Thread.currentThread(), true)
+				v % 7 == 0 ? null : v * 2
+			}, 4, dispatchers)
+
+		when:
+			'the values are retrieved'
+			def values = mapped.toList().await(5, TimeUnit.SECONDS)
+
+		then:
+			'they are mapped by several threads, in order'
+			values == (1..1000).findAll { it % 7 != 0 }.collect { it * 2 }
+			threads.size() > 1
+
+		cleanup:
+			dispatchers.shutdown()
+	}
+
+	def "Stream's values mapped in parallel are buffered up to a bound while the oldest is being mapped"() {
+		given:
+			'a source composable mapped on 2 dispatchers with a slow first value'
+			def dispatchers = Environment.newCachedDispatchers(2, 'parallelMap')
+			def latch = new CountDownLatch(1)
+			def started = new AtomicInteger()
+			def values = []
+			Streams.range(1, 100).parallelMap({ v ->
+				started.incrementAndGet()
+				if (v == 1) {
+					latch.await()
+				}
+				v
+			}, 2, dispatchers).consume { values << it }
+
+		when:
+			'the first value is being mapped'
+			sleep(200)
+
+		then:
+			'at most the reorder buffer has been requested and nothing is passed downstream'
+			started.get() <= 8
+			values.isEmpty()
+
+		when:
+			'the first value is mapped'
+			latch.countDown()
+			sleep(200)
+
+		then:
+			'every value is passed in order'
+			values == (1..100).toList()
+
+		cleanup:
+			dispatchers.shutdown()
+	}
+
 	def "Stream's values can be exploded"() {
 		given:
 			'a source composable with a mapMany function'
@@ -702,6 +804,223 @@ class StreamsSpec extends Specification {
 			value.await() == 2
 	}
 
+	def "Stream's values can be exploded with a bounded number of live inner Streams"() {
+		given:
+			'a source composable with a flatMap function limited to 2 live inner Streams'
+			def inners = []
+			def values = []
+			def completed = false
+			Subscription subscription = null
+			Streams.range(1, 5).
+					flatMap({ v ->
+						def inner = Broadcaster.<Long> create()
+						inners << inner
+						inner
+					}, 2, 4).
+					subscribe([
+							onSubscribe: { subscription = it },
+							onNext     : { values << it },
+							onError    : { it.printStackTrace() },
+							onComplete : { completed = true }
+					] as Subscriber)
+
+		when:
+			'the inner Streams produce values with no demand downstream'
+			inners[0].onNext(1L)
+			inners[1].onNext(2L)
+
+		then:
+			'only 2 inner Streams are live and nothing is passed downstream yet'
+			inners.size() == 2
+			values.isEmpty()
+
+		when:
+			'values are requested and the first inner Stream completes'
+			subscription.request(3)
+			inners[0].onComplete()
+
+		then:
+			'the queued values are passed and a new inner Stream is subscribed'
+			values == [1L, 2L]
+			inners.size() == 3
+
+		when:
+			'every inner Stream produces a value and completes'
+			subscription.request(Long.MAX_VALUE)
+			for (int i = 1; i < 5; i++) {
+				inners[i].onNext(i * 10L)
+				inners[i].onComplete()
+			}
+
+		then:
+			'every value is passed and the Stream completes'
+			values == [1L, 2L, 10L, 20L, 30L, 40L]
+			inners.size() == 5
+			completed
+	}
+
+	def 'A RingBufferBroadcaster passes each value to every subscriber up to its own demand'() {
+		given:
+			'a ring buffer broadcaster with a fast and a slow subscriber'
+			def broadcaster = RingBufferBroadcaster.<Integer> create(8)
+			def fast = []
+			def slow = []
+			def completed = 0
+			Subscription slowSubscription = null
+			broadcaster.subscribe([
+					onSubscribe: { it.request(Long.MAX_VALUE) },
+					onNext     : { fast << it },
+					onError    : { it.printStackTrace() },
+					onComplete : { completed++ }
+			] as Subscriber)
+			broadcaster.subscribe([
+					onSubscribe: { slowSubscription = it; it.request(2) },
+					onNext     : { slow << it },
+					onError    : { it.printStackTrace() },
+					onComplete : { completed++ }
+			] as Subscriber)
+
+		when:
+			'values are published'
+			(1..5).each { broadcaster.onNext(it) }
+
+		then:
+			'each subscriber is passed the values it requested'
+			fast == [1, 2, 3, 4, 5]
+			slow == [1, 2]
+
+		when:
+			'the slow subscriber requests more and the broadcaster completes'
+			slowSubscription.request(10)
+			broadcaster.onComplete()
+
+		then:
+			'both subscribers are passed every value and complete'
+			slow == [1, 2, 3, 4, 5]
+			completed == 2
+	}
+
+	def 'A RingBufferBroadcaster requests upstream what its slowest subscriber leaves room for'() {
+		given:
+			'a ring buffer broadcaster subscribed to a source of 100 values and a subscriber with no demand'
+			def broadcaster = RingBufferBroadcaster.<Integer> create(8)
+			def values = []
+			Subscription subscription = null
+			broadcaster.subscribe([
+					onSubscribe: { subscription = it },
+					onNext     : { values << it },
+					onError    : { it.printStackTrace() },
+					onComplete : {}
+			] as Subscriber)
+			def emitted = 0
+			Streams.range(1, 100).observe { emitted++ }.subscribe(broadcaster)
+
+		expect:
+			'only the ring buffer is requested upstream'
+			emitted == 8
+			values.isEmpty()
+
+		when:
+			'the subscriber requests every value'
+			subscription.request(Long.MAX_VALUE)
+
+		then:
+			'every value is passed'
+			values == (1..100).toList()
+	}
+
+	def 'A RingBufferBroadcaster serializes upstream requests and clears the values every subscriber has read'() {
+		given:
+			'a ring buffer broadcaster with an upstream detecting concurrent requests'
+			def broadcaster = RingBufferBroadcaster.<Integer> create(16)
+			def requested = new AtomicLong()
+			def requesting = new AtomicInteger()
+			def overlaps = new AtomicInteger()
+			broadcaster.onSubscribe([
+					request: { long n ->
+						if (requesting.getAndIncrement() != 0) {
+							overlaps.incrementAndGet()
+						}
+						Thread.yield()
+						requested.addAndGet(n)
+						requesting.decrementAndGet()
+					},
+					cancel : {}
+			] as Subscription)
+
+		and:
+			'4 subscribers requesting one value at a time from their own thread'
+			def received = new CountDownLatch(4 * 10000)
+			def threads = Executors.newFixedThreadPool(4)
+			4.times {
+				Subscription subscription = null
+				broadcaster.subscribe([
+						onSubscribe: { subscription = it; threads.submit { subscription.request(1) } },
+						onNext     : { received.countDown(); threads.submit { subscription.request(1) } },
+						onError    : { it.printStackTrace() },
+						onComplete : {}
+				] as Subscriber)
+			}
+
+		when:
+			'values are published within the upstream demand'
+			10000.times {
+				while (it >= requested.get()) {
+					Thread.yield()
+				}
+				broadcaster.onNext(it)
+			}
+
+		then:
+			'every subscriber is passed every value, upstream was never requested concurrently'
+			received.await(10, TimeUnit.SECONDS)
+			overlaps.get() == 0
+
+		when:
+			'the slots are released'
+			broadcaster.requestUpstream()
+			def ringBuffer = broadcaster.@ringBuffer
+
+		then:
+			'no consumed value is retained'
+			(0..<16).every { ringBuffer.get(it).value == null }
+
+		cleanup:
+			threads?.shutdown()
+	}
+
+	def 'A RingBufferBroadcaster can evict its slowest subscriber when full'() {
+		given:
+			'an evicting ring buffer broadcaster with a fast and a slow subscriber'
+			def broadcaster = RingBufferBroadcaster.<Integer> create(4, true)
+			def fast = []
+			def slow = []
+			def error = null
+			broadcaster.subscribe([
+					onSubscribe: { it.request(Long.MAX_VALUE) },
+					onNext     : { fast << it },
+					onError    : { it.printStackTrace() },
+					onComplete : {}
+			] as Subscriber)
+			broadcaster.subscribe([
+					onSubscribe: { it.request(1) },
+					onNext     : { slow << it },
+					onError    : { error = it },
+					onComplete : {}
+			] as Subscriber)
+
+		when:
+			'more values than the ring buffer holds are published'
+			(1..10).each { broadcaster.onNext(it) }
+
+		then:
+			'the slow subscriber is evicted and the fast one is passed every value'
+			slow == [1]
+			error instanceof IllegalStateException
+			fast == (1..10).toList()
+			broadcaster.subscriberCount() == 1
+	}
+
 	def "Multiple Stream's values can be merged"() {
 		given:
 			'source composables to merge, buffer and tap'
@@ -2919,6 +3238,171 @@ class StreamsSpec extends Specification {
 			!promise.await()
 	}
 
+	def 'A LongStream operates on primitive longs'() {
+		given:
+			'a primitive range and a consumer'
+			def values = []
+			def consumer = { values << it } as LongStream.LongConsumer
+
+		when:
+			'the even squares are summed'
+			Streams.longRange(1, 10)
+					.filter({ it % 2 == 0 } as LongStream.LongPredicate)
+					.map({ it * it } as LongStream.LongUnaryOperator)
+					.sum()
+					.consume(consumer)
+
+		then:
+			'the sum is emitted on complete'
+			values == [220l]
+
+		when:
+			'the extremes and count are computed'
+			values.clear()
+			LongStream.from(3l, 1l, 2l).min().consume(consumer)
+			LongStream.from(3l, 1l, 2l).max().consume(consumer)
+			LongStream.from(new long[0]).max().consume(consumer)
+			Streams.longRange(1, 0).count().consume(consumer)
+
+		then:
+			'an empty stream has no extreme but a count of 0'
+			values == [1l, 3l, 0l]
+
+		when:
+			'the longs are buffered and boxed'
+			def buffers = Streams.longRange(1, 7).buffer(3).map { it as List }.toList().await()
+			def boxed = LongStream.from(Streams.range(1, 4)).asDoubleStream()
+					.map({ it / 2d } as DoubleStream.DoubleUnaryOperator)
+					.boxed()
+					.toList()
+					.await()
+
+		then:
+			'they interoperate with the Stream API'
+			buffers == [[1l, 2l, 3l], [4l, 5l, 6l], [7l]]
+			boxed == [0.5d, 1d, 1.5d, 2d]
+
+		when:
+			'a DoubleStream is reduced and buffered'
+			def doubles = DoubleStream.from(1.5d, 0.5d, 2.5d)
+			def results = [doubles.min(), doubles.max(), doubles.sum()].collect { it.boxed().toList().await() }
+			def count = doubles.count().boxed().toList().await()
+			def doubleBuffers = doubles.buffer(2).map { it as List }.toList().await()
+
+		then:
+			'it shares the same operators'
+			results == [[0.5d], [2.5d], [4.5d]]
+			count == [3l]
+			doubleBuffers == [[1.5d, 0.5d], [2.5d]]
+	}
+
+	def 'A LongStream respects the demand of its subscriber'() {
+		given:
+			'a primitive range'
+			def values = []
+			def subscription = null
+
+		when:
+			'3 longs then 2 more are requested'
+			Streams.longRange(1, 10).subscribe(new LongStream.LongSubscriber() {
+				void onSubscribe(Subscription s) {
+					subscription = s
+					s.request(3)
+				}
+
+				void onNext(long value) {
+					values << value
+					if (value == 3l) {
+						subscription.request(2)
+					}
+				}
+
+				void onError(Throwable t) {
+				}
+
+				void onComplete() {
+					values << 'complete'
+				}
+			})
+
+		then:
+			'only 5 longs are emitted'
+			values == [1l, 2l, 3l, 4l, 5l]
+	}
+
+	def 'Empty primitive streams are subscribed before completing and reduce only on demand'() {
+		given:
+			'a subscriber recording its signals and requesting on demand'
+			def signals = []
+			def subscription = null
+			def subscriber = new LongStream.LongSubscriber() {
+				void onSubscribe(Subscription s) {
+					subscription = s
+					signals << 'subscribe'
+				}
+
+				void onNext(long value) {
+					signals << value
+				}
+
+				void onError(Throwable t) {
+					signals << t
+				}
+
+				void onComplete() {
+					signals << 'complete'
+				}
+			}
+
+		when:
+			'empty sources are subscribed to'
+			LongStream.range(2, 1).subscribe(subscriber)
+			LongStream.from(new long[0]).subscribe(subscriber)
+			DoubleStream.from(new double[0]).count().subscribe(subscriber)
+			subscription.request(1)
+
+		then:
+			'each is subscribed to first and the count waits for a request'
+			signals == ['subscribe', 'complete', 'subscribe', 'complete', 'subscribe', 0l, 'complete']
+
+		when:
+			'an empty sum is subscribed to without requesting'
+			signals.clear()
+			LongStream.from(new long[0]).sum().subscribe(subscriber)
+
+		then:
+			'nothing is emitted until requested'
+			signals == ['subscribe']
+
+		when:
+			'the sum is requested'
+			subscription.request(1)
+
+		then:
+			'the seeded result is emitted'
+			signals == ['subscribe', 0l, 'complete']
+
+		when:
+			'a range wider than Long.MAX_VALUE is requested'
+			signals.clear()
+			LongStream.range(Long.MIN_VALUE, Long.MAX_VALUE).subscribe(subscriber)
+			subscription.request(2)
+
+		then:
+			'it starts from its first value'
+			signals == ['subscribe', Long.MIN_VALUE, Long.MIN_VALUE + 1]
+
+		when:
+			'the last values of a range reaching Long.MAX_VALUE are requested'
+			signals.clear()
+			LongStream.range(Long.MAX_VALUE - 1, Long.MAX_VALUE).subscribe(subscriber)
+			subscription.request(5)
+
+		then:
+			'it completes after Long.MAX_VALUE'
+			signals == ['subscribe', Long.MAX_VALUE - 1, Long.MAX_VALUE, 'complete']
+	}
+
 	def "A Codec output can be streamed"() {
 		given: "A delimiter stripping decoder and a buffer of delimited data"
 			def codec = new DelimitedCodec<String, String>(true, StandardCodecs.STRING_CODEC)